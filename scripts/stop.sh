@@ -15,5 +15,14 @@ then
 else
   echo "> kill -15 $IDLE_PID"   # Nginx에 연결되어 있지는 않지만 현재 실행 중인 jar 를 Kill 합니다.
   kill -15 ${IDLE_PID}
-  sleep 5
+
+  # graceful shutdown (남은 조회수 flush 포함) 이 끝날 때까지 최대 30초 대기
+  for WAIT_COUNT in {1..30}
+  do
+    if ! kill -0 ${IDLE_PID} 2> /dev/null
+    then
+      break
+    fi
+    sleep 1
+  done
 fi
@@ -0,0 +1,76 @@
+package com.community.soob.util;
+
+import com.community.soob.account.service.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// JwtRequestFilter 가 access token 하나를 검사하는 비용
+// legacy : 호출마다 key 와 parser 를 만들고 getAccountEmail, validateToken(getAccountEmail + isTokenExpired) 으로 3번 파싱
+// verify : 만들어둔 key 와 parser 로 한번만 파싱
+// cached : VerifiedTokenCache 로 digest 만 계산하고 캐시된 검증 결과를 사용 (JwtRequestFilter 의 현재 경로)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JwtVerifyBenchmark {
+    private static final String SECRET_KEY = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+    // 실제 회원 email 길이 범위
+    @Param({"20", "64"})
+    private int emailLength;
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    private String token;
+    private String accountEmail;
+
+    @Setup
+    public void setUp() {
+        this.jwtUtil = new JwtUtil(SECRET_KEY);
+        this.accountEmail = "a".repeat(emailLength - "@test.com".length()) + "@test.com";
+        this.token = jwtUtil.generateToken(accountEmail);
+        // 폐기 알림을 보내지 않으므로 RedisUtil 은 필요 없다
+        this.verifiedTokenCache = new VerifiedTokenCache(jwtUtil, null, new SimpleMeterRegistry(), 10000);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String email = legacyExtractAllClaims(token).get(VerifiedToken.ACCOUNT_EMAIL_CLAIM, String.class);
+        boolean emailMatched = legacyExtractAllClaims(token).get(VerifiedToken.ACCOUNT_EMAIL_CLAIM, String.class).equals(email);
+        boolean expired = legacyExtractAllClaims(token).getExpiration().before(new Date());
+        return emailMatched && !expired;
+    }
+
+    @Benchmark
+    public String verify() {
+        return jwtUtil.verify(token).getAccountEmail();
+    }
+
+    @Benchmark
+    public String cached() {
+        return verifiedTokenCache.verify(token).getAccountEmail();
+    }
+
+    private static Claims legacyExtractAllClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -1,10 +1,14 @@
 package com.community.soob.account.config;
 
 import com.community.soob.account.domain.UserAccount;
+import com.community.soob.account.exception.RevokedTokenException;
 import com.community.soob.account.service.CustomUserDetailsService;
+import com.community.soob.account.service.TokenRefreshCoordinator;
+import com.community.soob.account.service.TokenRefreshCoordinator.RefreshedTokens;
+import com.community.soob.account.service.VerifiedTokenCache;
 import com.community.soob.util.CookieUtil;
 import com.community.soob.util.JwtUtil;
-import com.community.soob.util.RedisUtil;
+import com.community.soob.util.VerifiedToken;
 import io.jsonwebtoken.ExpiredJwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +24,7 @@ import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -27,35 +32,26 @@ import java.io.IOException;
 public class JwtRequestFilter extends OncePerRequestFilter {
     // 한 Request 당 한번만 검사
     private final CustomUserDetailsService userDetailsService;
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRefreshCoordinator tokenRefreshCoordinator;
     private final CookieUtil cookieUtil;
-    private final RedisUtil redisUtil;
 
     @Override
     protected void doFilterInternal(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, FilterChain filterChain) throws ServletException, IOException {
         final Cookie accessToken = cookieUtil.getCookie(httpServletRequest, JwtUtil.ACCESS_TOKEN_NAME);
 
-        String accountEmail = null;
-        String jwt = null;
         String refreshJwt = null;
 
         try{
-            // AccessToken 존재시 토큰내에서 accountEmail 을 가져옴
+            // AccessToken 존재시 캐시된 검증 결과가 없을 때만 파싱해서 서명, 만료를 검사하고 accountEmail 을 가져옴
             if (accessToken != null){
-                jwt = accessToken.getValue();
-                accountEmail = jwtUtil.getAccountEmail(jwt);
-            }
-
-            // 가져온 accountEmail 로 UserDetails 생성
-            if (accountEmail != null){
-                UserAccount userAccount = (UserAccount) userDetailsService.loadUserByUsername(accountEmail);
+                VerifiedToken verifiedToken = verifiedTokenCache.verify(accessToken.getValue());
 
-                // 토큰이 유효하다면, SecurityContext 에 인증토큰을 넣어줌
-                if (jwtUtil.validateToken(jwt, userAccount)){
-                    UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(userAccount.getAccount(),null, userAccount.getAuthorities());
-                    usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(httpServletRequest));
-                    SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-                }
+                // 가져온 accountEmail 로 UserDetails 생성해서 SecurityContext 에 인증토큰을 넣어줌
+                UserAccount userAccount = (UserAccount) userDetailsService.loadUserByUsername(verifiedToken.getAccountEmail());
+                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(userAccount.getAccount(),null, userAccount.getAuthorities());
+                usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(httpServletRequest));
+                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
             }
         } catch (ExpiredJwtException e) {
             // AccessToken 기간 만료시
@@ -63,30 +59,24 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             if (refreshToken != null) {
                 refreshJwt = refreshToken.getValue();
             }
+        } catch (RevokedTokenException e) {
+            // 로그아웃한 AccessToken 은 인증하지 않음
+            log.debug("폐기된 토큰으로 요청");
         }
 
-        // AccessToken 의 기간이 만료되어 RefreshToken 을 생성했을때
-        try {
-            if (refreshJwt != null){
-                String refreshAccountEmail = redisUtil.getData(refreshJwt);
-
-                if (refreshAccountEmail.equals(jwtUtil.getAccountEmail(refreshJwt))) {
-                    UserAccount userAccount = (UserAccount) userDetailsService.loadUserByUsername(refreshAccountEmail);
-                    UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(userAccount.getAccount(),null,userAccount.getAuthorities());
-                    usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(httpServletRequest));
-                    SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+        // AccessToken 의 기간이 만료되었을때, 동시에 만료된 요청들은 한번 재발급한 토큰을 같이 사용
+        if (refreshJwt != null) {
+            Optional<RefreshedTokens> refreshedTokens = tokenRefreshCoordinator.refresh(refreshJwt);
+            if (refreshedTokens.isPresent()) {
+                UserAccount userAccount = (UserAccount) userDetailsService.loadUserByUsername(refreshedTokens.get().getAccountEmail());
+                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(userAccount.getAccount(),null,userAccount.getAuthorities());
+                usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(httpServletRequest));
+                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
 
-                    String newToken = jwtUtil.generateToken(refreshAccountEmail);
-
-                    Cookie newAccessToken = cookieUtil.createCookie(JwtUtil.ACCESS_TOKEN_NAME, newToken);
-                    httpServletResponse.addCookie(newAccessToken);
-                }
+                httpServletResponse.addCookie(cookieUtil.createCookie(JwtUtil.ACCESS_TOKEN_NAME, refreshedTokens.get().getAccessToken()));
+                httpServletResponse.addCookie(cookieUtil.createCookie(JwtUtil.REFRESH_TOKEN_NAME, refreshedTokens.get().getRefreshToken()));
             }
-        } catch (ExpiredJwtException e) {
-            // refresh 또한 만료되었을 경우
-            // 다시 로그인을 요청
-//            httpServletResponse.sendRedirect("/api/v1/accounts/logout");
-            log.error(e.getMessage(), e.getCause());
+            // refresh 또한 만료되었거나 폐기된 경우 다시 로그인을 요청
         }
 
         filterChain.doFilter(httpServletRequest,httpServletResponse);
@@ -4,6 +4,7 @@ import com.community.soob.account.config.CurrentAccount;
 import com.community.soob.account.controller.dto.*;
 import com.community.soob.account.domain.Account;
 import com.community.soob.account.service.*;
+import com.community.soob.attachment.AttachmentConfirmRequestDto;
 import com.community.soob.response.ResultResponse;
 import com.community.soob.util.CookieUtil;
 import com.community.soob.util.JwtUtil;
@@ -17,8 +18,10 @@ import org.springframework.web.multipart.MultipartFile;
 import springfox.documentation.annotations.ApiIgnore;
 
 import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @Api(tags = {"1, Account"})
 @RequiredArgsConstructor
@@ -31,6 +34,7 @@ public class AccountController {
     private final AccountUpdateService accountUpdateService;
     private final AccountCheckService accountCheckService;
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final CookieUtil cookieUtil;
     private final RedisUtil redisUtil;
 
@@ -44,28 +48,41 @@ public class AccountController {
 
     @ApiOperation(value = "회원 로그인", notes = "email 과 password 로 로그인한다.")
     @PostMapping("/login")
-    public ResultResponse<Void> login(
+    public CompletableFuture<ResultResponse<Void>> login(
             @ApiParam(value = "로그인DTO", required = true) @Valid @RequestBody final AccountLoginRequestDto loginRequestDto,
             HttpServletResponse response) {
-        Account account = accountLoginService.login(loginRequestDto.getEmail(), loginRequestDto.getPassword());
-        String accountEmail = account.getEmail();
+        // 비밀번호 확인이 끝나면 hash thread 에서 이어서 토큰을 발급
+        return accountLoginService.login(loginRequestDto.getEmail(), loginRequestDto.getPassword())
+                .thenApply(account -> {
+                    String accountEmail = account.getEmail();
 
-        String jwt = jwtUtil.generateToken(accountEmail);
-        String refreshJwt = jwtUtil.generateRefreshToken(accountEmail);
-        Cookie accessToken = cookieUtil.createCookie(JwtUtil.ACCESS_TOKEN_NAME, jwt);
-        Cookie refreshToken = cookieUtil.createCookie(JwtUtil.REFRESH_TOKEN_NAME, refreshJwt);
+                    String jwt = jwtUtil.generateToken(accountEmail);
+                    String refreshJwt = jwtUtil.generateRefreshToken(accountEmail);
+                    Cookie accessToken = cookieUtil.createCookie(JwtUtil.ACCESS_TOKEN_NAME, jwt);
+                    Cookie refreshToken = cookieUtil.createCookie(JwtUtil.REFRESH_TOKEN_NAME, refreshJwt);
 
-        redisUtil.setDataExpire(refreshJwt, accountEmail, JwtUtil.REFRESH_TOKEN_VALIDATION_SECOND);
+                    redisUtil.setDataExpire(refreshJwt, accountEmail, JwtUtil.REFRESH_TOKEN_VALIDATION_SECOND);
 
-        response.addCookie(accessToken);
-        response.addCookie(refreshToken);
+                    response.addCookie(accessToken);
+                    response.addCookie(refreshToken);
 
-        return ResultResponse.of(ResultResponse.SUCCESS);
+                    return ResultResponse.of(ResultResponse.SUCCESS);
+                });
     }
 
     @ApiOperation(value = "회원 로그아웃", notes = "로그아웃한다.")
     @GetMapping("/logout")
-    public ResultResponse<Void> logout(HttpServletResponse response) {
+    public ResultResponse<Void> logout(HttpServletRequest request, HttpServletResponse response) {
+        // RefreshToken 을 Redis 에서 지우고, 아직 만료되지 않은 AccessToken 은 모든 노드에서 폐기
+        Cookie currentRefreshToken = cookieUtil.getCookie(request, JwtUtil.REFRESH_TOKEN_NAME);
+        if (currentRefreshToken != null) {
+            redisUtil.deleteData(currentRefreshToken.getValue());
+        }
+        Cookie currentAccessToken = cookieUtil.getCookie(request, JwtUtil.ACCESS_TOKEN_NAME);
+        if (currentAccessToken != null) {
+            verifiedTokenCache.revoke(currentAccessToken.getValue());
+        }
+
         Cookie accessToken = cookieUtil.createCookie(JwtUtil.ACCESS_TOKEN_NAME, null);
         Cookie refreshToken = cookieUtil.createCookie(JwtUtil.REFRESH_TOKEN_NAME, null);
         accessToken.setMaxAge(0);
@@ -91,8 +108,18 @@ public class AccountController {
             @ApiParam(value = "회원번호", required = true) @PathVariable Long accountId,
             @ApiParam(value = "닉네임DTO")  @Valid @RequestBody final AccountNicknameUpdateRequestDto nicknameUpdateRequestDto,
             @ApiParam(value = "프로필이미지") @RequestPart(required = false, name = "file") MultipartFile file) {
-        accountUpdateService.updateAccount(account, nicknameUpdateRequestDto.getNickname(), file);
-        return ResultResponse.of(ResultResponse.SUCCESS, AccountResponseDto.fromEntity(account));
+        Account updatedAccount = accountUpdateService.updateAccount(account, nicknameUpdateRequestDto.getNickname(), file);
+        return ResultResponse.of(ResultResponse.SUCCESS, AccountResponseDto.fromEntity(updatedAccount));
+    }
+
+    @ApiOperation(value = "회원 프로필이미지 등록", notes = "presigned URL 로 직접 올린 이미지를 프로필이미지로 등록한다.")
+    @PutMapping("/{accountId}/profile-image")
+    public ResultResponse<Void> updateProfileImage(
+            @ApiIgnore(value = "로그인한 유저인지 검사") @CurrentAccount Account account,
+            @ApiParam(value = "회원번호", required = true) @PathVariable Long accountId,
+            @ApiParam(value = "업로드완료DTO", required = true) @Valid @RequestBody final AttachmentConfirmRequestDto confirmRequestDto) {
+        accountUpdateService.updateProfileImage(account, confirmRequestDto.getFileNames());
+        return ResultResponse.of(ResultResponse.SUCCESS);
     }
 
     @ApiOperation(value = "회원 삭제", notes = "회원번호(id) 로 회원정보를 삭제한다.")
@@ -14,6 +14,11 @@ import javax.persistence.*;
 @Table(name = "account")
 @Entity
 public class Account extends AuditedEntity {
+    public static final int POST_POINT = 10;
+    public static final int COMMENT_POINT = 5;
+    public static final int POST_HEART_POINT = 20;
+    public static final int COMMENT_HEART_POINT = 10;
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "account_id", updatable = false)
     private Long id;
@@ -70,38 +75,44 @@ public class Account extends AuditedEntity {
     }
 
     public void increasePostPoint() {
-        this.levelPoint += 10;
+        this.levelPoint += POST_POINT;
     }
 
     public void decreasePostPoint() {
-        this.levelPoint -= 10;
+        this.levelPoint -= POST_POINT;
     }
 
     public void increaseCommentPoint() {
-        this.levelPoint += 5;
+        this.levelPoint += COMMENT_POINT;
     }
 
     public void decreaseCommentPoint() {
-        this.levelPoint -= 5;
+        this.levelPoint -= COMMENT_POINT;
+    }
+
+    public void decreaseCommentPoint(long count) {
+        this.levelPoint -= count * COMMENT_POINT;
     }
 
     public void increasePostHeartPoint() {
-        this.levelPoint += 20;
+        this.levelPoint += POST_HEART_POINT;
     }
 
     public void decreasePostHeartPoint(long count) {
-        this.levelPoint -= count * 20;
+        this.levelPoint -= count * POST_HEART_POINT;
     }
 
     public void increaseCommentHeartPoint() {
-        this.levelPoint += 10;
+        this.levelPoint += COMMENT_HEART_POINT;
     }
 
     public void decreaseCommentHeartPoint(long count) {
-        this.levelPoint -= count * 10;
+        this.levelPoint -= count * COMMENT_HEART_POINT;
     }
 
-    public void updateLevel() {
+    // 등급이 바뀌었으면 true
+    public boolean updateLevel() {
+        Role previousRole = this.role;
         int levelPoint = this.levelPoint;
         int level = this.role.getLevel();
 
@@ -114,5 +125,6 @@ public class Account extends AuditedEntity {
         if (levelPoint >= 750) {
             this.role = Role.LEVEL_3;
         }
+        return this.role != previousRole;
     }
 }
@@ -1,6 +1,10 @@
 package com.community.soob.account.domain;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -8,4 +12,25 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByNickname(String nickname);
+
+    // level_point 를 상대값으로 변경하면서 같은 문장에서 등급도 다시 계산 (Account.updateLevel 과 같은 규칙)
+    // MySQL 은 SET 절을 왼쪽부터 적용하므로 role 을 먼저 계산한다
+    // HeartBatchWriter 가 JDBC batch 로 같은 문장을 사용한다
+    String ADD_LEVEL_POINT_SQL = "UPDATE account SET " +
+            "role = CASE WHEN level_point + :delta >= 750 THEN 'LEVEL_3' " +
+            "WHEN level_point + :delta >= 250 THEN 'LEVEL_2' " +
+            "WHEN role <> 'NOT_PERMITTED' THEN 'LEVEL_1' " +
+            "ELSE role END, " +
+            "level_point = level_point + :delta " +
+            "WHERE account_id = :accountId";
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = ADD_LEVEL_POINT_SQL, nativeQuery = true)
+    int addLevelPoint(@Param("accountId") long accountId, @Param("delta") int delta);
+
+    // 로그인할 때 다시 해시한 비밀번호로 교체, 그 사이 비밀번호가 바뀌었으면 교체하지 않는다
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.password = :password, a.salt = :salt WHERE a.id = :accountId AND a.password = :currentPassword")
+    int updatePasswordIfUnchanged(@Param("accountId") long accountId, @Param("currentPassword") String currentPassword, @Param("salt") String salt, @Param("password") String password);
 }
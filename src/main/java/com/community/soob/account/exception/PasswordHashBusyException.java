@@ -0,0 +1,9 @@
+package com.community.soob.account.exception;
+
+import com.community.soob.common.ServiceUnavailableException;
+
+public class PasswordHashBusyException extends ServiceUnavailableException {
+    public PasswordHashBusyException(long retryAfterSeconds) {
+        super("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+    }
+}
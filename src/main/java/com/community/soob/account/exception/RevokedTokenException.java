@@ -0,0 +1,10 @@
+package com.community.soob.account.exception;
+
+import io.jsonwebtoken.JwtException;
+
+// 로그아웃 등으로 폐기된 토큰, 서명과 만료는 유효하다
+public class RevokedTokenException extends JwtException {
+    public RevokedTokenException() {
+        super("revoked token");
+    }
+}
@@ -1,24 +1,57 @@
 package com.community.soob.account.service;
 
 import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.AccountRepository;
 import com.community.soob.account.exception.AccountPasswordNotMatchedException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.CompletableFuture;
+
+// 비밀번호 확인은 SaltService 의 hash thread 에서 하고, 요청 thread 는 결과를 기다리지 않는다
+@Slf4j
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 @Service
 public class AccountLoginService {
     private final AccountFindService accountFindService;
+    private final AccountRepository accountRepository;
     private final SaltService saltService;
+    private final PrincipalCache principalCache;
 
-    public Account login(String email, String password) {
+    public CompletableFuture<Account> login(String email, String password) {
         Account account = accountFindService.findByEmail(email);
-        boolean matches = saltService.matches(password, account.getPassword());
-        if (!matches) {
-            throw new AccountPasswordNotMatchedException();
+        String encodedPassword = account.getPassword();
+        return saltService.matchesAsync(password, encodedPassword)
+                .thenCompose(matches -> {
+                    if (!matches) {
+                        throw new AccountPasswordNotMatchedException();
+                    }
+                    if (!saltService.needsRehash(encodedPassword)) {
+                        return CompletableFuture.completedFuture(account);
+                    }
+                    return rehash(account, password, encodedPassword);
+                });
+    }
+
+    // BCrypt cost 가 바뀌었으면 새 cost 로 다시 해시, 실패해도 로그인은 성공하고 다음 로그인 때 다시 시도
+    private CompletableFuture<Account> rehash(Account account, String password, String encodedPassword) {
+        String salt = saltService.genSalt();
+        try {
+            return saltService.encodePasswordAsync(salt, password)
+                    .thenApply(rehashedPassword -> {
+                        if (accountRepository.updatePasswordIfUnchanged(account.getId(), encodedPassword, salt, rehashedPassword) > 0) {
+                            principalCache.evict(account.getEmail());
+                        }
+                        return account;
+                    })
+                    .exceptionally(e -> {
+                        log.warn("비밀번호 재해시 실패: " + e.getMessage());
+                        return account;
+                    });
+        } catch (RuntimeException e) {
+            log.warn("비밀번호 재해시 실패: " + e.getMessage());
+            return CompletableFuture.completedFuture(account);
         }
-        return account;
     }
 }
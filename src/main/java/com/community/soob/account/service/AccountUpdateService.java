@@ -4,11 +4,13 @@ import com.community.soob.account.domain.Account;
 import com.community.soob.account.domain.AccountRepository;
 import com.community.soob.account.exception.AccountPasswordNotMatchedException;
 import com.community.soob.attachment.AttachmentService;
+import com.community.soob.common.InvalidValueException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -20,9 +22,12 @@ public class AccountUpdateService {
     private final AccountCheckService accountCheckService;
     private final AttachmentService attachmentService;
     private final SaltService saltService;
+    private final PrincipalCache principalCache;
 
+    // account 는 캐시된 인증 정보이므로 다시 조회한 회원을 변경하고, 커밋 후에 캐시를 지운다
     @Transactional
-    public void updatePassword(Account account, String currentPassword, String newPassword, String confirmNewPassword) {
+    public void updatePassword(Account principal, String currentPassword, String newPassword, String confirmNewPassword) {
+        Account account = accountFindService.findById(principal.getId());
         boolean matches = saltService.matches(currentPassword, account.getPassword());
         if (!matches) {
             throw new AccountPasswordNotMatchedException();
@@ -35,6 +40,7 @@ public class AccountUpdateService {
         String saltingPassword = saltService.encodePassword(salt, newPassword);
         account.updatePassword(salt, saltingPassword);
         accountRepository.save(account);
+        principalCache.evict(account.getEmail());
     }
 
     @Transactional
@@ -51,11 +57,14 @@ public class AccountUpdateService {
 
         account.updatePassword(salt, saltingPassword);
         accountRepository.save(account);
+        principalCache.evict(account.getEmail());
     }
 
+    // 응답은 캐시된 인증 정보가 아니라 반환한 회원으로 만든다
     @Transactional
-    public void updateAccount(Account account, String nickname, MultipartFile file) {
+    public Account updateAccount(Account principal, String nickname, MultipartFile file) {
         accountCheckService.checkNicknameRegex(nickname);
+        Account account = accountFindService.findById(principal.getId());
 
         if (file != null && !file.isEmpty()) {
             if (account.getProfileImage() != null) {
@@ -65,10 +74,28 @@ public class AccountUpdateService {
         }
         account.updateNickname(nickname);
         accountRepository.save(account);
+        principalCache.evict(account.getEmail());
+        return account;
+    }
+
+    // 클라이언트가 presigned URL 로 직접 올린 이미지로 프로필이미지를 바꾼다
+    @Transactional
+    public void updateProfileImage(Account principal, List<String> fileNames) {
+        if (fileNames.size() != 1) {
+            throw new InvalidValueException("프로필이미지는 하나만 등록할 수 있습니다");
+        }
+        Account account = accountFindService.findById(principal.getId());
+        if (account.getProfileImage() != null) {
+            attachmentService.deleteProfileImage(account);
+        }
+        attachmentService.registerProfileImage(account, fileNames.get(0));
+        principalCache.evict(account.getEmail());
     }
 
     @Transactional
     public void deleteAccount(long accountId) {
-        accountRepository.deleteById(accountId);
+        Account account = accountFindService.findById(accountId);
+        accountRepository.delete(account);
+        principalCache.evict(account.getEmail());
     }
 }
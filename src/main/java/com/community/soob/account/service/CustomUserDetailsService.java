@@ -14,11 +14,14 @@ import org.springframework.stereotype.Service;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     private final AccountRepository accountRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String accountEmail) throws UsernameNotFoundException {
-        Account account = accountRepository.findByEmail(accountEmail)
-                .orElseThrow(AccountNotFoundException::new);
-        return new UserAccount(account);
+        return principalCache.get(accountEmail, email -> {
+            Account account = accountRepository.findByEmail(email)
+                    .orElseThrow(AccountNotFoundException::new);
+            return new UserAccount(account);
+        });
     }
 }
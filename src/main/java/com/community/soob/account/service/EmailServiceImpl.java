@@ -1,23 +1,17 @@
 package com.community.soob.account.service;
 
+import com.community.soob.mail.service.MailOutboxService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
-@Slf4j
+// 요청 thread 에서 SMTP 로 보내지 않고 outbox 에 저장, MailOutboxWorker 가 커밋된 메일을 보낸다
 @RequiredArgsConstructor
 @Service
 public class EmailServiceImpl implements EmailService {
-    private final JavaMailSender emailSender;
+    private final MailOutboxService mailOutboxService;
 
     @Override
     public void sendEmail(String to, String subject, String text) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(text);
-        emailSender.send(message);
+        mailOutboxService.enqueue(to, subject, text);
     }
 }
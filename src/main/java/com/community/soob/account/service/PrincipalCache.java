@@ -0,0 +1,76 @@
+package com.community.soob.account.service;
+
+import com.community.soob.account.domain.UserAccount;
+import com.community.soob.util.RedisUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Function;
+
+// 요청마다 회원을 조회하지 않도록 email 별로 인증 정보를 캐시
+// 회원 정보가 바뀌면 이 노드의 캐시를 지우고 Redis pub/sub 으로 다른 노드에도 알린다
+// 캐시된 Account 는 여러 요청이 같이 사용하므로 변경해서 저장하면 안된다
+@Slf4j
+@Component
+public class PrincipalCache implements MessageListener {
+    public static final String EVICT_CHANNEL = "account:principal:evict";
+
+    private final RedisUtil redisUtil;
+    private final Cache<String, UserAccount> cache;
+
+    public PrincipalCache(RedisUtil redisUtil, MeterRegistry meterRegistry, @Value("${account.principal-cache.max-size:10000}") long maxSize, @Value("${account.principal-cache.ttl:30}") long ttl) {
+        this.redisUtil = redisUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttl))
+                .recordStats()
+                .build();
+        // cache.gets(result=hit|miss), cache.evictions 등
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "account.principal");
+    }
+
+    // 없으면 loader 로 조회해서 캐시, loader 가 예외를 던지면 캐시하지 않는다
+    public UserAccount get(String email, Function<String, UserAccount> loader) {
+        return cache.get(email, loader);
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 지운다, 커밋 전에 지우면 다른 요청이 이전 값을 다시 캐시할 수 있다
+    public void evict(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictAndPublish(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictAndPublish(email);
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        cache.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void evictAndPublish(String email) {
+        cache.invalidate(email);
+        try {
+            redisUtil.publish(EVICT_CHANNEL, email);
+        } catch (RuntimeException e) {
+            // 다른 노드는 TTL 이 지나면 다시 조회한다
+            log.warn("인증 정보 캐시 삭제 알림 실패: " + e.getMessage());
+        }
+    }
+}
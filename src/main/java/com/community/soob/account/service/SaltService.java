@@ -1,19 +1,119 @@
 package com.community.soob.account.service;
 
+import com.community.soob.account.exception.PasswordHashBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// BCrypt 는 CPU 를 오래 사용하므로 요청 thread 대신 코어 수 만큼의 전용 thread 에서 계산
+// 대기열이 가득 차면 기다리지 않고 PasswordHashBusyException(503) 으로 바로 거절한다
+@Slf4j
 @Service
 public class SaltService {
+    private final int cost;
+    private final long retryAfter;
+    private final ThreadPoolExecutor hashExecutor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public SaltService(MeterRegistry meterRegistry,
+                       @Value("${account.password.bcrypt-cost:10}") int cost,
+                       @Value("${account.password.hash-threads:0}") int hashThreads,
+                       @Value("${account.password.hash-queue-capacity:100}") int queueCapacity,
+                       @Value("${account.password.retry-after:1}") long retryAfter) {
+        this.cost = cost;
+        this.retryAfter = retryAfter;
+        // 0 이면 코어 수
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.hashExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("account.password.hash.queue.depth", hashExecutor, executor -> executor.getQueue().size())
+                .description("계산을 기다리는 비밀번호 해시 요청 수")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("account.password.hash")
+                .description("비밀번호 해시 계산 시간")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("account.password.hash")
+                .description("비밀번호 해시 계산 시간")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("account.password.hash.rejected")
+                .description("대기열이 가득 차서 거절한 비밀번호 해시 요청 수")
+                .register(meterRegistry);
+    }
+
     public String encodePassword(String salt, String password) {
-        return BCrypt.hashpw(password,salt);
+        return await(encodePasswordAsync(salt, password));
+    }
+
+    public CompletableFuture<String> encodePasswordAsync(String salt, String password) {
+        return submit(() -> encodeTimer.record(() -> BCrypt.hashpw(password, salt)));
     }
 
     public String genSalt() {
-        return BCrypt.gensalt();
+        return BCrypt.gensalt(cost);
     }
 
     public boolean matches(String rawPassword, String encodedPassword) {
-        return BCrypt.checkpw(rawPassword, encodedPassword);
+        return await(matchesAsync(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> BCrypt.checkpw(rawPassword, encodedPassword)));
+    }
+
+    // 저장된 해시의 cost($2a$10$...) 가 설정과 다르면 로그인할 때 다시 해시한다
+    public boolean needsRehash(String encodedPassword) {
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != cost;
+        } catch (RuntimeException e) {
+            log.warn("비밀번호 해시 cost 확인 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, hashExecutor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashBusyException(retryAfter);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 }
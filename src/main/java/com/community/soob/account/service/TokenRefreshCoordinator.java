@@ -0,0 +1,193 @@
+package com.community.soob.account.service;
+
+import com.community.soob.util.JwtUtil;
+import com.community.soob.util.RedisUtil;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// access token 이 만료되면 같은 브라우저의 요청들이 동시에 refresh 를 시도하므로 refresh token 별로 한번만 재발급
+// 이 노드에서는 진행 중인 재발급 결과를 기다리고, 다른 노드와는 Redis lock 과 재발급 결과로 맞춘다
+// 재발급할 때 refresh token 도 새로 발급하고 이전 refresh token 은 삭제한다
+@Slf4j
+@Component
+public class TokenRefreshCoordinator {
+    private static final String LOCK_KEY_PREFIX = "account:refresh:lock:";
+    private static final String RESULT_KEY_PREFIX = "account:refresh:result:";
+    private static final String RESULT_DELIMITER = "\n";
+    private static final long RESULT_POLL_INTERVAL = 50;
+
+    // 값이 같을 때만 삭제, lock-ttl 이 지나서 다른 요청이 가진 lock 은 지우지 않는다
+    private static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0", Long.class);
+
+    // refresh token digest 별로 진행 중인 재발급
+    private final Map<String, CompletableFuture<Optional<RefreshedTokens>>> inFlight = new ConcurrentHashMap<>();
+    private final JwtUtil jwtUtil;
+    private final RedisUtil redisUtil;
+    private final long lockTtl;
+    private final long resultTtl;
+    private final Counter issuedCounter;
+    private final Counter localSuppressedCounter;
+    private final Counter remoteSuppressedCounter;
+
+    public TokenRefreshCoordinator(JwtUtil jwtUtil, RedisUtil redisUtil, MeterRegistry meterRegistry,
+                                   @Value("${account.refresh.lock-ttl:5}") long lockTtl,
+                                   @Value("${account.refresh.result-ttl:10}") long resultTtl) {
+        this.jwtUtil = jwtUtil;
+        this.redisUtil = redisUtil;
+        this.lockTtl = lockTtl;
+        this.resultTtl = resultTtl;
+        this.issuedCounter = Counter.builder("account.token.refresh.issued")
+                .description("재발급한 토큰 수")
+                .register(meterRegistry);
+        this.localSuppressedCounter = Counter.builder("account.token.refresh.suppressed")
+                .description("다른 요청의 재발급 결과를 사용한 요청 수")
+                .tag("scope", "local")
+                .register(meterRegistry);
+        this.remoteSuppressedCounter = Counter.builder("account.token.refresh.suppressed")
+                .description("다른 요청의 재발급 결과를 사용한 요청 수")
+                .tag("scope", "remote")
+                .register(meterRegistry);
+    }
+
+    // 사용할 수 없는 refresh token 이면 empty
+    public Optional<RefreshedTokens> refresh(String refreshJwt) {
+        String digest = JwtUtil.digest(refreshJwt);
+        CompletableFuture<Optional<RefreshedTokens>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<RefreshedTokens>> running = inFlight.putIfAbsent(digest, future);
+        if (running != null) {
+            localSuppressedCounter.increment();
+            return running.join();
+        }
+
+        try {
+            Optional<RefreshedTokens> refreshedTokens = doRefresh(refreshJwt, digest);
+            future.complete(refreshedTokens);
+            return refreshedTokens;
+        } catch (RuntimeException e) {
+            log.warn("토큰 재발급 실패: " + e.getMessage());
+            future.complete(Optional.empty());
+            return Optional.empty();
+        } finally {
+            inFlight.remove(digest, future);
+        }
+    }
+
+    private Optional<RefreshedTokens> doRefresh(String refreshJwt, String digest) {
+        // 다른 노드가 이미 재발급했으면 그 결과를 사용
+        Optional<RefreshedTokens> refreshed = findResult(digest);
+        if (refreshed.isPresent()) {
+            remoteSuppressedCounter.increment();
+            return refreshed;
+        }
+
+        String lockValue = UUID.randomUUID().toString();
+        if (!redisUtil.setDataIfAbsent(LOCK_KEY_PREFIX + digest, lockValue, lockTtl)) {
+            refreshed = awaitResult(digest);
+            if (refreshed.isPresent()) {
+                remoteSuppressedCounter.increment();
+            }
+            return refreshed;
+        }
+
+        // 재발급하지 못했으면 기다리는 요청들이 lock-ttl 동안 기다리지 않도록 바로 lock 을 푼다
+        try {
+            refreshed = issue(refreshJwt, digest);
+        } catch (RuntimeException e) {
+            unlock(digest, lockValue);
+            throw e;
+        }
+        if (refreshed.isEmpty()) {
+            unlock(digest, lockValue);
+        }
+        return refreshed;
+    }
+
+    private Optional<RefreshedTokens> issue(String refreshJwt, String digest) {
+        // 로그아웃 등으로 Redis 에서 삭제된 RefreshToken 은 사용할 수 없음
+        String accountEmail = redisUtil.getData(refreshJwt);
+        if (accountEmail == null || !accountEmail.equals(getAccountEmail(refreshJwt))) {
+            return Optional.empty();
+        }
+
+        RefreshedTokens refreshedTokens = new RefreshedTokens(accountEmail, jwtUtil.generateToken(accountEmail), jwtUtil.generateRefreshToken(accountEmail));
+        redisUtil.setDataExpire(refreshedTokens.getRefreshToken(), accountEmail, JwtUtil.REFRESH_TOKEN_VALIDATION_SECOND);
+        // 이전 refresh token 으로 늦게 도착한 요청은 result-ttl 동안 같은 결과를 받는다
+        redisUtil.setDataExpire(RESULT_KEY_PREFIX + digest, String.join(RESULT_DELIMITER,
+                accountEmail, refreshedTokens.getAccessToken(), refreshedTokens.getRefreshToken()), resultTtl);
+        redisUtil.deleteData(refreshJwt);
+        issuedCounter.increment();
+        return Optional.of(refreshedTokens);
+    }
+
+    private void unlock(String digest, String lockValue) {
+        try {
+            redisUtil.executeScript(UNLOCK_SCRIPT, List.of(LOCK_KEY_PREFIX + digest), lockValue);
+        } catch (RuntimeException e) {
+            log.warn("재발급 lock 해제 실패: " + e.getMessage());
+        }
+    }
+
+    // lock 을 가진 노드가 재발급할 때까지 최대 lock-ttl 동안 기다린다
+    // 재발급에 실패하면 lock 을 바로 풀므로, lock 이 없는데 결과도 없으면 더 기다리지 않는다
+    private Optional<RefreshedTokens> awaitResult(String digest) {
+        long deadline = System.currentTimeMillis() + lockTtl * 1000;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(RESULT_POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+            // 결과는 lock 이 풀리기 전에 저장되므로 lock 을 먼저 확인한다
+            boolean locked = redisUtil.getData(LOCK_KEY_PREFIX + digest) != null;
+            Optional<RefreshedTokens> refreshed = findResult(digest);
+            if (refreshed.isPresent() || !locked) {
+                return refreshed;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<RefreshedTokens> findResult(String digest) {
+        String result = redisUtil.getData(RESULT_KEY_PREFIX + digest);
+        if (result == null) {
+            return Optional.empty();
+        }
+        String[] values = result.split(RESULT_DELIMITER);
+        return Optional.of(new RefreshedTokens(values[0], values[1], values[2]));
+    }
+
+    private String getAccountEmail(String refreshJwt) {
+        try {
+            return jwtUtil.getAccountEmail(refreshJwt);
+        } catch (JwtException e) {
+            // refresh token 도 만료되었으면 다시 로그인해야 한다
+            log.debug("사용할 수 없는 refresh token: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class RefreshedTokens {
+        private final String accountEmail;
+        private final String accessToken;
+        private final String refreshToken;
+    }
+}
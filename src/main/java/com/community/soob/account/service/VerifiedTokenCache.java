@@ -0,0 +1,104 @@
+package com.community.soob.account.service;
+
+import com.community.soob.account.exception.RevokedTokenException;
+import com.community.soob.util.JwtUtil;
+import com.community.soob.util.RedisUtil;
+import com.community.soob.util.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+// 같은 access token 을 요청마다 다시 파싱하지 않도록 검증 결과를 토큰 만료 시각까지 캐시
+// 토큰 원문 대신 SHA-256 digest 를 key 로 사용해서 메모리와 pub/sub 메시지에 토큰이 남지 않게 한다
+// 로그아웃한 토큰은 이 노드의 캐시를 지우고 Redis pub/sub 으로 다른 노드에도 알린다
+@Slf4j
+@Component
+public class VerifiedTokenCache implements MessageListener {
+    public static final String REVOKE_CHANNEL = "account:token:revoke";
+
+    private final JwtUtil jwtUtil;
+    private final RedisUtil redisUtil;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    // 폐기된 토큰은 캐시에 없어도 서명이 유효하므로 access token 최대 유효 기간 동안 기억한다
+    private final Cache<String, Boolean> revokedTokens;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, RedisUtil redisUtil, MeterRegistry meterRegistry, @Value("${account.token-cache.max-size:10000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.redisUtil = redisUtil;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, VerifiedToken verifiedToken, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), verifiedToken.getExpiration()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+                        return expireAfterCreate(digest, verifiedToken, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.revokedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(JwtUtil.TOKEN_VALIDATION_SECOND))
+                .build();
+        // cache.gets(result=hit|miss), cache.evictions 등
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "account.token");
+    }
+
+    // 캐시에 없으면 JwtUtil.verify 로 검사해서 캐시, 만료된 토큰은 JwtUtil.verify 와 같이 ExpiredJwtException
+    public VerifiedToken verify(String token) {
+        String digest = JwtUtil.digest(token);
+        if (revokedTokens.getIfPresent(digest) != null) {
+            throw new RevokedTokenException();
+        }
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.getExpiration().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        VerifiedToken verifiedToken = jwtUtil.verify(token);
+        verifiedTokens.put(digest, verifiedToken);
+        return verifiedToken;
+    }
+
+    public void revoke(String token) {
+        String digest = JwtUtil.digest(token);
+        revokeDigest(digest);
+        try {
+            redisUtil.publish(REVOKE_CHANNEL, digest);
+        } catch (RuntimeException e) {
+            // 다른 노드는 토큰이 만료될 때까지 캐시된 검증 결과를 사용한다
+            log.warn("토큰 폐기 알림 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        revokeDigest(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void revokeDigest(String digest) {
+        revokedTokens.put(digest, Boolean.TRUE);
+        verifiedTokens.invalidate(digest);
+    }
+}
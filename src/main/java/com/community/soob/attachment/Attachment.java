@@ -24,15 +24,29 @@ public class Attachment {
     @Column(name = "file_path", nullable = false)
     private String filePath;
 
+    // 사본을 만들기 전에 올린 첨부파일은 null
+    @Column(name = "medium_path")
+    private String mediumPath;
+
+    @Column(name = "thumbnail_path")
+    private String thumbnailPath;
+
+    // 같은 내용의 첨부파일끼리 공유하는 AttachmentBlob 의 content hash, 중복 제거 전에 올린 첨부파일은 null
+    @Column(name = "content_hash", length = HashedContent.HASH_LENGTH)
+    private String contentHash;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id")
     private Post post;
 
     @Builder
-    public Attachment(Long id, String fileName, String filePath) {
+    public Attachment(Long id, String fileName, String filePath, String mediumPath, String thumbnailPath, String contentHash) {
         this.id = id;
         this.fileName = fileName;
         this.filePath = filePath;
+        this.mediumPath = mediumPath;
+        this.thumbnailPath = thumbnailPath;
+        this.contentHash = contentHash;
     }
 
     public void setPost(Post post) {
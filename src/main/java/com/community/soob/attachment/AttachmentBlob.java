@@ -0,0 +1,67 @@
+package com.community.soob.attachment;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+// 내용이 같은 첨부파일들이 공유하는 저장소의 파일, 참조하는 첨부파일이 없어지면 row 와 파일을 함께 지운다
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "attachment_blob", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attachment_blob_content_hash", columnNames = {"content_hash"})
+})
+@Entity
+public class AttachmentBlob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "attachment_blob_id", updatable = false)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, updatable = false, length = HashedContent.HASH_LENGTH)
+    private String contentHash;
+
+    @Column(name = "file_name", nullable = false, updatable = false)
+    private String fileName;
+
+    @Column(name = "file_path", nullable = false, updatable = false)
+    private String filePath;
+
+    @Column(name = "medium_path", updatable = false)
+    private String mediumPath;
+
+    @Column(name = "thumbnail_path", updatable = false)
+    private String thumbnailPath;
+
+    // 모든 사본의 byte 수
+    @Column(name = "size", nullable = false, updatable = false)
+    private long size;
+
+    @Column(name = "reference_count", nullable = false)
+    private int referenceCount;
+
+    @Builder
+    public AttachmentBlob(Long id, String contentHash, String fileName, String filePath, String mediumPath, String thumbnailPath, long size, int referenceCount) {
+        this.id = id;
+        this.contentHash = contentHash;
+        this.fileName = fileName;
+        this.filePath = filePath;
+        this.mediumPath = mediumPath;
+        this.thumbnailPath = thumbnailPath;
+        this.size = size;
+        this.referenceCount = referenceCount;
+    }
+
+    // 이 파일을 가리키는 저장하지 않은 첨부파일
+    public Attachment toAttachment() {
+        return Attachment.builder()
+                .fileName(fileName)
+                .filePath(filePath)
+                .mediumPath(mediumPath)
+                .thumbnailPath(thumbnailPath)
+                .contentHash(contentHash)
+                .build();
+    }
+}
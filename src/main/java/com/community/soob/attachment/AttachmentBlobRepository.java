@@ -0,0 +1,25 @@
+package com.community.soob.attachment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, Long> {
+    Optional<AttachmentBlob> findByContentHash(String contentHash);
+
+    // row lock 을 잡으므로 마지막 참조를 지우는 트랜잭션과 동시에 실행되면 그 트랜잭션이 끝날 때까지 기다린다
+    @Modifying
+    @Query("update AttachmentBlob b set b.referenceCount = b.referenceCount + 1 where b.contentHash = :contentHash")
+    int addReference(@Param("contentHash") String contentHash);
+
+    @Modifying
+    @Query("update AttachmentBlob b set b.referenceCount = b.referenceCount - 1 where b.contentHash = :contentHash and b.referenceCount > 0")
+    int removeReference(@Param("contentHash") String contentHash);
+
+    @Modifying
+    @Query("delete from AttachmentBlob b where b.contentHash = :contentHash and b.referenceCount = 0")
+    int deleteIfUnreferenced(@Param("contentHash") String contentHash);
+}
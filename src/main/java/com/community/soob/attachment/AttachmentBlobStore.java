@@ -0,0 +1,112 @@
+package com.community.soob.attachment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 같은 내용(SHA-256)의 이미지는 한번만 저장하고 첨부파일들이 attachment_blob 의 참조 수로 공유한다
+// 참조 수는 row 를 update 해서 바꾸므로, 참조를 늘리는 트랜잭션과 마지막 참조를 지우는 트랜잭션은 row lock 으로 순서가 정해진다
+// 호출하는 쪽의 트랜잭션 안에서 실행한다
+@Component
+public class AttachmentBlobStore {
+    private static final String INSERT_BLOB_SQL = "INSERT INTO attachment_blob (content_hash, file_name, file_path, medium_path, thumbnail_path, size, reference_count) " +
+            "VALUES (:contentHash, :fileName, :filePath, :mediumPath, :thumbnailPath, :size, 1)";
+
+    private final AttachmentBlobRepository attachmentBlobRepository;
+    private final AttachmentDeleteQueue attachmentDeleteQueue;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Counter storedCounter;
+    private final Counter reusedCounter;
+    private final Counter savedBytesCounter;
+
+    public AttachmentBlobStore(AttachmentBlobRepository attachmentBlobRepository, AttachmentDeleteQueue attachmentDeleteQueue,
+                               NamedParameterJdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.attachmentBlobRepository = attachmentBlobRepository;
+        this.attachmentDeleteQueue = attachmentDeleteQueue;
+        this.jdbcTemplate = jdbcTemplate;
+
+        this.storedCounter = Counter.builder("attachment.dedup.stored")
+                .description("새로 저장한 이미지 수")
+                .register(meterRegistry);
+        this.reusedCounter = Counter.builder("attachment.dedup.reused")
+                .description("같은 내용이 이미 있어서 저장하지 않은 이미지 수")
+                .register(meterRegistry);
+        this.savedBytesCounter = Counter.builder("attachment.dedup.saved")
+                .description("중복 제거로 올리지 않은 byte 수")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("attachment.dedup.ratio", this, AttachmentBlobStore::getDedupRatio)
+                .description("등록한 이미지 중 이미 있는 내용을 재사용한 비율")
+                .register(meterRegistry);
+    }
+
+    // 이미 저장된 내용이면 참조를 하나 늘리고 그 파일을 가리키는 저장하지 않은 첨부파일을 반환, 없으면 null
+    @Nullable
+    public Attachment acquire(String contentHash) {
+        if (attachmentBlobRepository.addReference(contentHash) == 0) {
+            return null;
+        }
+        AttachmentBlob blob = attachmentBlobRepository.findByContentHash(contentHash)
+                .orElseThrow(() -> new AttachmentException("첨부파일 정보를 찾지 못했습니다 (" + contentHash + ")"));
+        reusedCounter.increment();
+        savedBytesCounter.increment(blob.getSize());
+        return blob.toAttachment();
+    }
+
+    // 새로 올린 사본들을 참조 수 1 로 등록
+    // 같은 내용을 동시에 올린 다른 요청이 먼저 등록했으면 그 파일을 사용하고 이번에 올린 사본은 커밋 후에 지운다
+    public Attachment register(String contentHash, Attachment uploaded, long size) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("contentHash", contentHash)
+                .addValue("fileName", uploaded.getFileName())
+                .addValue("filePath", uploaded.getFilePath())
+                .addValue("mediumPath", uploaded.getMediumPath())
+                .addValue("thumbnailPath", uploaded.getThumbnailPath())
+                .addValue("size", size);
+        try {
+            jdbcTemplate.update(INSERT_BLOB_SQL, params);
+        } catch (DuplicateKeyException e) {
+            Attachment existing = acquire(contentHash);
+            if (existing == null) {
+                throw e;
+            }
+            attachmentDeleteQueue.deleteAfterCommit(ImageRendition.fileNamesOf(uploaded.getFileName()));
+            return existing;
+        }
+        storedCounter.increment();
+        return Attachment.builder()
+                .fileName(uploaded.getFileName())
+                .filePath(uploaded.getFilePath())
+                .mediumPath(uploaded.getMediumPath())
+                .thumbnailPath(uploaded.getThumbnailPath())
+                .contentHash(contentHash)
+                .build();
+    }
+
+    // 첨부파일의 참조를 지우고, 마지막 참조였으면 저장소에서 지워야 할 파일 이름들을 반환
+    // 중복 제거 전에 올린 첨부파일은 공유하지 않으므로 바로 지운다
+    public List<String> release(Attachment attachment) {
+        List<String> fileNames = ImageRendition.fileNamesOf(attachment.getFileName());
+        String contentHash = attachment.getContentHash();
+        if (contentHash == null) {
+            return fileNames;
+        }
+        attachmentBlobRepository.removeReference(contentHash);
+        if (attachmentBlobRepository.deleteIfUnreferenced(contentHash) == 0) {
+            return List.of();
+        }
+        return fileNames;
+    }
+
+    private double getDedupRatio() {
+        double total = storedCounter.count() + reusedCounter.count();
+        return (total == 0) ? 0 : reusedCounter.count() / total;
+    }
+}
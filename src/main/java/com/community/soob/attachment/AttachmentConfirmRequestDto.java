@@ -0,0 +1,12 @@
+package com.community.soob.attachment;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+public class AttachmentConfirmRequestDto {
+    @NotEmpty(message = "업로드한 파일을 입력해주세요.")
+    private List<String> fileNames;
+}
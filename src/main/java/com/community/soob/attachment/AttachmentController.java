@@ -0,0 +1,34 @@
+package com.community.soob.attachment;
+
+import com.community.soob.account.config.CurrentAccount;
+import com.community.soob.account.domain.Account;
+import com.community.soob.response.ResultResponse;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import springfox.documentation.annotations.ApiIgnore;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@Api(tags = {"5, Attachment"})
+@RequestMapping("/api/v1/attachments")
+@RequiredArgsConstructor
+@RestController
+public class AttachmentController {
+    private final PresignedUploadService presignedUploadService;
+
+    @ApiOperation(value = "업로드 URL 발급", notes = "이미지를 S3 에 직접 올릴 presigned URL 을 발급한다. 올린 뒤에는 게시글 또는 프로필이미지 등록을 요청한다.")
+    @PostMapping("/presigned-uploads")
+    public ResultResponse<List<PresignedUploadResponseDto>> presignUploads(
+            @ApiIgnore(value = "로그인한 유저인지 검사") @CurrentAccount Account account,
+            @ApiParam(value = "업로드요청DTO", required = true) @Valid @RequestBody final PresignedUploadRequestDto presignedUploadRequestDto) {
+        List<PresignedUploadResponseDto> uploads = presignedUploadService.presign(account, presignedUploadRequestDto.getTarget(), presignedUploadRequestDto.getFiles());
+        return ResultResponse.of(ResultResponse.SUCCESS, uploads);
+    }
+}
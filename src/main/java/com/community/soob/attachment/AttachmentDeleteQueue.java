@@ -0,0 +1,99 @@
+package com.community.soob.attachment;
+
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// 첨부파일 row 를 지운 트랜잭션이 커밋된 뒤에 저장소의 파일을 한번에 지운다
+// 지우지 못한 파일은 Redis set 에 넣어두고 주기적으로 다시 지운다, 롤백되면 파일은 그대로 남는다
+@Slf4j
+@Component
+public class AttachmentDeleteQueue {
+    private static final String RETRY_KEY = "attachment:delete:retry";
+
+    private final FileStorage fileStorage;
+    private final RedisUtil redisUtil;
+    private final int retryBatchSize;
+    private final Timer deleteTimer;
+    private final Counter deletedCounter;
+    private final Counter failedCounter;
+
+    public AttachmentDeleteQueue(FileStorage fileStorage, RedisUtil redisUtil, MeterRegistry meterRegistry,
+                                 @Value("${attachment.delete.retry-batch-size:1000}") int retryBatchSize) {
+        this.fileStorage = fileStorage;
+        this.redisUtil = redisUtil;
+        this.retryBatchSize = retryBatchSize;
+
+        this.deleteTimer = Timer.builder("attachment.delete")
+                .description("첨부파일을 한번에 지우는 시간")
+                .register(meterRegistry);
+        this.deletedCounter = Counter.builder("attachment.delete.deleted")
+                .description("지운 첨부파일 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("attachment.delete.failed")
+                .description("지우지 못해서 다시 시도할 첨부파일 수")
+                .register(meterRegistry);
+    }
+
+    // 트랜잭션 밖에서 호출하면 바로 지운다
+    public void deleteAfterCommit(Collection<String> fileNames) {
+        if (fileNames.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(fileNames);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            delete(keys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                delete(keys);
+            }
+        });
+    }
+
+    public void delete(List<String> fileNames) {
+        if (fileNames.isEmpty()) {
+            return;
+        }
+        List<String> failedKeys = deleteTimer.record(() -> fileStorage.deleteAll(fileNames));
+        deletedCounter.increment(fileNames.size() - failedKeys.size());
+        if (!failedKeys.isEmpty()) {
+            failedCounter.increment(failedKeys.size());
+            enqueueRetry(failedKeys);
+        }
+    }
+
+    // SPOP 으로 꺼내므로 여러 노드가 동시에 실행해도 같은 파일을 두번 지우지 않는다
+    @Scheduled(fixedDelayString = "${attachment.delete.retry-interval:60000}")
+    public void retry() {
+        List<String> fileNames;
+        try {
+            fileNames = redisUtil.popSetData(RETRY_KEY, retryBatchSize);
+        } catch (RuntimeException e) {
+            log.warn("첨부파일 삭제 재시도 목록 조회 실패: " + e.getMessage());
+            return;
+        }
+        delete(fileNames);
+    }
+
+    private void enqueueRetry(List<String> fileNames) {
+        try {
+            redisUtil.addSetData(RETRY_KEY, fileNames.toArray(new String[0]));
+        } catch (RuntimeException e) {
+            log.error("첨부파일 삭제 재시도 등록 실패: " + fileNames + ", " + e.getMessage(), e);
+        }
+    }
+}
@@ -10,12 +10,16 @@ public class AttachmentDto {
     private Long id;
     private String fileName;
     private String filePath;
+    private String mediumPath;
+    private String thumbnailPath;
 
     @Builder
-    public AttachmentDto(Long id, String fileName, String filePath) {
+    public AttachmentDto(Long id, String fileName, String filePath, String mediumPath, String thumbnailPath) {
         this.id = id;
         this.fileName = fileName;
         this.filePath = filePath;
+        this.mediumPath = mediumPath;
+        this.thumbnailPath = thumbnailPath;
     }
 
     public Attachment toEntity() {
@@ -23,14 +27,20 @@ public class AttachmentDto {
                 .id(id)
                 .fileName(fileName)
                 .filePath(filePath)
+                .mediumPath(mediumPath)
+                .thumbnailPath(thumbnailPath)
                 .build();
     }
 
+    // 사본이 없는 첨부파일은 원본 경로를 대신 사용
     public static AttachmentDto fromEntity(Attachment attachment) {
+        String filePath = attachment.getFilePath();
         return AttachmentDto.builder()
                 .id(attachment.getId())
                 .fileName(attachment.getFileName())
-                .filePath(attachment.getFilePath())
+                .filePath(filePath)
+                .mediumPath(attachment.getMediumPath() != null ? attachment.getMediumPath() : filePath)
+                .thumbnailPath(attachment.getThumbnailPath() != null ? attachment.getThumbnailPath() : filePath)
                 .build();
     }
 }
@@ -1,6 +1,16 @@
 package com.community.soob.attachment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+
+    // 게시글마다 첫번째 첨부파일의 thumbnail 경로, 사본이 없는 첨부파일은 원본 경로
+    @Query("select a.post.id as postId, coalesce(a.thumbnailPath, a.filePath) as thumbnailPath from Attachment a " +
+            "where a.id in (select min(f.id) from Attachment f where f.post.id in :postIds group by f.post.id)")
+    List<PostThumbnail> findFirstThumbnailsByPostIds(@Param("postIds") Collection<Long> postIds);
 }
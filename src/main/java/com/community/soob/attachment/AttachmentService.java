@@ -2,108 +2,318 @@ package com.community.soob.attachment;
 
 import com.community.soob.account.domain.Account;
 import com.community.soob.account.domain.AccountRepository;
+import com.community.soob.attachment.PresignedUploadService.PendingUpload;
 import com.community.soob.post.domain.Post;
 import com.community.soob.post.domain.PostRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Transactional
 @Service
 public class AttachmentService {
+    private static final String INSERT_ATTACHMENT_SQL = "INSERT INTO attachment (file_name, file_path, medium_path, thumbnail_path, content_hash, post_id) " +
+            "VALUES (:fileName, :filePath, :mediumPath, :thumbnailPath, :contentHash, :postId)";
+
     private final AttachmentRepository attachmentRepository;
     private final AccountRepository accountRepository;
     private final PostRepository postRepository;
-    private final S3Service s3Service;
+    private final FileStorage fileStorage;
+    private final ImageProcessor imageProcessor;
+    private final PresignedUploadService presignedUploadService;
+    private final AttachmentBlobStore attachmentBlobStore;
+    private final AttachmentDeleteQueue attachmentDeleteQueue;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
     private final String profileImageDirectory;
     private final String postImageDirectory;
+    // 대기열이 가득 차면 요청 thread 에서 직접 올린다
+    private final ThreadPoolExecutor uploadExecutor;
 
-    public AttachmentService(AttachmentRepository attachmentRepository, AccountRepository accountRepository, PostRepository postRepository, S3Service s3Service, @Value("{attachment.url.profile}") String profileImageDirectory, @Value("{attachment.url.post}") String postImageDirectory) {
+    public AttachmentService(AttachmentRepository attachmentRepository, AccountRepository accountRepository, PostRepository postRepository, FileStorage fileStorage, ImageProcessor imageProcessor,
+                             PresignedUploadService presignedUploadService, AttachmentBlobStore attachmentBlobStore, AttachmentDeleteQueue attachmentDeleteQueue, NamedParameterJdbcTemplate jdbcTemplate,
+                             @Value("${attachment.url.profile:profile/}") String profileImageDirectory, @Value("${attachment.url.post:post/}") String postImageDirectory,
+                             @Value("${attachment.upload.threads:8}") int uploadThreads, @Value("${attachment.upload.queue-capacity:64}") int uploadQueueCapacity) {
         this.attachmentRepository = attachmentRepository;
         this.accountRepository = accountRepository;
         this.postRepository = postRepository;
-        this.s3Service = s3Service;
+        this.fileStorage = fileStorage;
+        this.imageProcessor = imageProcessor;
+        this.presignedUploadService = presignedUploadService;
+        this.attachmentBlobStore = attachmentBlobStore;
+        this.attachmentDeleteQueue = attachmentDeleteQueue;
+        this.jdbcTemplate = jdbcTemplate;
         this.profileImageDirectory = profileImageDirectory;
         this.postImageDirectory = postImageDirectory;
+        this.uploadExecutor = new ThreadPoolExecutor(uploadThreads, uploadThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(uploadQueueCapacity), new CustomizableThreadFactory("attachment-upload-"), new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
     public void uploadProfileImage(Account account, MultipartFile file) {
-        String fileName = profileImageDirectory + createFileName(file.getOriginalFilename());
-        String path = uploadImage(file, fileName);
-        Attachment attachment = Attachment.builder()
-                .fileName(fileName)
-                .filePath(path)
-                .build();
-
-        Attachment savedAttachment = attachmentRepository.save(attachment);
+        storeProfileImage(account, CompletableFuture.completedFuture(readContent(file)), profileImageDirectory + UUID.randomUUID());
+    }
 
-        account.updateProfileImage(savedAttachment);
-        accountRepository.save(account);
+    // 클라이언트가 presigned URL 로 직접 올린 파일을 저장소에서 읽어서 사본을 만들고 프로필이미지로 저장
+    public void registerProfileImage(Account account, String fileName) {
+        PendingUpload upload = presignedUploadService.verify(account, PresignedUploadTarget.PROFILE, List.of(fileName)).get(0);
+        Attachment attachment = storeProfileImage(account, download(upload), removeExtension(fileName));
+        presignedUploadService.complete(List.of(fileName));
+        deleteReplacedUploadsAfterCommit(List.of(fileName), List.of(attachment));
     }
 
     public void uploadPostImage(Post post, MultipartFile file) {
-        String fileName = postImageDirectory + createFileName(file.getOriginalFilename());
-        String path = uploadImage(file, fileName);
-        Attachment attachment = Attachment.builder()
-                .fileName(fileName)
-                .filePath(path)
-                .build();
-
-        Attachment savedAttachment = attachmentRepository.save(attachment);
-
-        savedAttachment.setPost(post);
-        attachmentRepository.save(savedAttachment);
-
-        post.addAttachment(savedAttachment);
-        postRepository.save(post);
+        uploadPostImages(post, List.of(file));
     }
 
     public void uploadPostImages(Post post, List<MultipartFile> files) {
+        List<CompletableFuture<HashedContent>> contents = new ArrayList<>();
+        List<String> fileNames = new ArrayList<>();
         for (MultipartFile file : files) {
-            uploadPostImage(post, file);
+            contents.add(CompletableFuture.completedFuture(readContent(file)));
+            fileNames.add(postImageDirectory + UUID.randomUUID());
         }
+        storePostImages(post, contents, fileNames);
     }
 
+    // 클라이언트가 presigned URL 로 직접 올린 파일들을 저장소에서 읽어서 사본을 만들고 한번에 첨부파일로 저장
+    // 원본은 메타데이터를 지운 사본으로 덮어쓰고, 형식이 바뀌거나 같은 내용이 이미 있어서 key 가 달라지면 커밋 후에 지운다
+    public void registerPostImages(Account account, Post post, List<String> fileNames) {
+        List<PendingUpload> uploads = presignedUploadService.verify(account, PresignedUploadTarget.POST, fileNames);
+        List<CompletableFuture<HashedContent>> contents = new ArrayList<>();
+        List<String> baseFileNames = new ArrayList<>();
+        for (PendingUpload upload : uploads) {
+            contents.add(download(upload));
+            baseFileNames.add(removeExtension(upload.getFileName()));
+        }
+        List<Attachment> attachments = storePostImages(post, contents, baseFileNames);
+        presignedUploadService.complete(fileNames);
+        deleteReplacedUploadsAfterCommit(fileNames, attachments);
+    }
+
+    // 다른 첨부파일이 참조하지 않는 파일만 사본과 함께 커밋된 뒤에 한번에 지운다
     public void deletePostImages(Post post) {
         List<Attachment> attachments = post.getAttachments();
+        List<String> fileNames = new ArrayList<>();
         for (Attachment attachment : attachments) {
-            s3Service.delete(attachment.getFileName());
+            fileNames.addAll(attachmentBlobStore.release(attachment));
             attachmentRepository.delete(attachment);
         }
 
         post.removeAttachments();
         postRepository.save(post);
+        attachmentDeleteQueue.deleteAfterCommit(fileNames);
     }
 
     public void deleteProfileImage(Account account) {
         Attachment profileImage = account.getProfileImage();
         attachmentRepository.delete(profileImage);
-        s3Service.delete(profileImage.getFileName());
+        attachmentDeleteQueue.deleteAfterCommit(attachmentBlobStore.release(profileImage));
+    }
+
+    // 사본을 모두 올리고 저장하지 않은 첨부파일을 반환, 확장자는 사본의 형식을 따른다
+    // 일부 사본만 올라갔다면 지우고 실패한다
+    public Attachment uploadImage(ProcessedImage processedImage, String fileNameWithoutExtension) {
+        String fileName = fileNameWithoutExtension + processedImage.getExtension();
+        List<String> uploadedFileNames = new ArrayList<>();
+        try {
+            for (ImageRendition rendition : ImageRendition.values()) {
+                String renditionFileName = rendition.fileName(fileName);
+                fileStorage.upload(processedImage.getRendition(rendition), processedImage.getContentType(), renditionFileName);
+                uploadedFileNames.add(renditionFileName);
+            }
+        } catch (RuntimeException e) {
+            deleteUploadedImages(uploadedFileNames);
+            throw e;
+        }
+        return Attachment.builder()
+                .fileName(fileName)
+                .filePath(fileStorage.getFileUrl(fileName))
+                .mediumPath(fileStorage.getFileUrl(ImageRendition.MEDIUM.fileName(fileName)))
+                .thumbnailPath(fileStorage.getFileUrl(ImageRendition.THUMBNAIL.fileName(fileName)))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
+    // 첨부파일을 한번의 batch insert 로 저장
+    // JDBC 로 저장하므로 이 트랜잭션에서 읽은 post.attachments 에는 추가되지 않는다
+    private List<Attachment> storePostImages(Post post, List<CompletableFuture<HashedContent>> contents, List<String> fileNames) {
+        List<Attachment> attachments = storeImages(contents, fileNames);
+        MapSqlParameterSource[] batchArgs = new MapSqlParameterSource[attachments.size()];
+        for (int i = 0; i < attachments.size(); i++) {
+            Attachment attachment = attachments.get(i);
+            batchArgs[i] = new MapSqlParameterSource()
+                    .addValue("fileName", attachment.getFileName())
+                    .addValue("filePath", attachment.getFilePath())
+                    .addValue("mediumPath", attachment.getMediumPath())
+                    .addValue("thumbnailPath", attachment.getThumbnailPath())
+                    .addValue("contentHash", attachment.getContentHash())
+                    .addValue("postId", post.getId());
+        }
+        jdbcTemplate.batchUpdate(INSERT_ATTACHMENT_SQL, batchArgs);
+        return attachments;
+    }
+
+    private Attachment storeProfileImage(Account account, CompletableFuture<HashedContent> content, String fileName) {
+        Attachment attachment = storeImages(List.of(content), List.of(fileName)).get(0);
+        Attachment savedAttachment = attachmentRepository.save(attachment);
+
+        account.updateProfileImage(savedAttachment);
+        accountRepository.save(account);
+        return savedAttachment;
+    }
+
+    // 내용이 같은 이미지가 이미 저장되어 있으면 참조만 늘리고, 없는 이미지만 이미지 처리 thread 에서 사본을 만들어 업로드 thread 에서 올린다
+    // 같은 요청 안에서 내용이 같은 이미지는 한번만 올린다, 반환하는 첨부파일은 저장하지 않은 상태
+    // 하나라도 실패하거나 트랜잭션이 롤백되면 이번에 올린 파일을 지운다
+    private List<Attachment> storeImages(List<CompletableFuture<HashedContent>> contents, List<String> fileNames) {
+        List<HashedContent> hashedContents = new ArrayList<>();
+        for (CompletableFuture<HashedContent> content : contents) {
+            hashedContents.add(await(content));
+        }
+
+        Attachment[] attachments = new Attachment[hashedContents.size()];
+        Set<String> contentHashes = new HashSet<>();
+        List<Integer> newImageIndexes = new ArrayList<>();
+        for (int i = 0; i < hashedContents.size(); i++) {
+            String contentHash = hashedContents.get(i).getContentHash();
+            if (!contentHashes.add(contentHash)) {
+                continue;
+            }
+            attachments[i] = attachmentBlobStore.acquire(contentHash);
+            if (attachments[i] == null) {
+                newImageIndexes.add(i);
+            }
+        }
+
+        List<CompletableFuture<UploadedImage>> uploads = new ArrayList<>();
+        for (int index : newImageIndexes) {
+            String fileName = fileNames.get(index);
+            uploads.add(CompletableFuture.completedFuture(hashedContents.get(index).getContent())
+                    .thenCompose(imageProcessor::processAsync)
+                    .thenApplyAsync(processedImage -> new UploadedImage(uploadImage(processedImage, fileName), processedImage.getSize()), uploadExecutor));
+        }
+
+        List<UploadedImage> uploadedImages = new ArrayList<>();
+        List<String> uploadedFileNames = new ArrayList<>();
+        RuntimeException failure = null;
+        for (CompletableFuture<UploadedImage> upload : uploads) {
+            try {
+                UploadedImage uploadedImage = upload.join();
+                uploadedImages.add(uploadedImage);
+                uploadedFileNames.addAll(ImageRendition.fileNamesOf(uploadedImage.getAttachment().getFileName()));
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+        }
+        if (failure != null) {
+            deleteUploadedImages(uploadedFileNames);
+            throw failure;
+        }
+        deleteUploadedImagesOnRollback(uploadedFileNames);
+
+        for (int i = 0; i < newImageIndexes.size(); i++) {
+            int index = newImageIndexes.get(i);
+            UploadedImage uploadedImage = uploadedImages.get(i);
+            attachments[index] = attachmentBlobStore.register(hashedContents.get(index).getContentHash(), uploadedImage.getAttachment(), uploadedImage.getSize());
+        }
+        // 같은 요청 안에서 먼저 나온 이미지와 내용이 같은 이미지
+        for (int i = 0; i < attachments.length; i++) {
+            if (attachments[i] == null) {
+                attachments[i] = attachmentBlobStore.acquire(hashedContents.get(i).getContentHash());
+            }
+        }
+        return Arrays.asList(attachments);
+    }
+
+    // 발급할 때 정한 크기보다 큰 파일은 읽지 않는다
+    private CompletableFuture<HashedContent> download(PendingUpload upload) {
+        return CompletableFuture.supplyAsync(() -> HashedContent.of(fileStorage.download(upload.getFileName(), upload.getContentLength())), uploadExecutor);
+    }
+
+    private void deleteReplacedUploadsAfterCommit(List<String> uploadedFileNames, List<Attachment> attachments) {
+        List<String> replacedFileNames = new ArrayList<>();
+        for (int i = 0; i < uploadedFileNames.size(); i++) {
+            if (!uploadedFileNames.get(i).equals(attachments.get(i).getFileName())) {
+                replacedFileNames.add(uploadedFileNames.get(i));
+            }
+        }
+        attachmentDeleteQueue.deleteAfterCommit(replacedFileNames);
+    }
+
+    private static String removeExtension(String fileName) {
+        int extensionIndex = fileName.lastIndexOf('.');
+        return (extensionIndex > fileName.lastIndexOf('/')) ? fileName.substring(0, extensionIndex) : fileName;
+    }
+
+    private void deleteUploadedImages(List<String> fileNames) {
+        attachmentDeleteQueue.delete(fileNames);
+    }
+
+    private void deleteUploadedImagesOnRollback(List<String> fileNames) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    deleteUploadedImages(fileNames);
+                }
+            }
+        });
     }
 
-    public String uploadImage(MultipartFile file, String fileName) {
+    private HashedContent readContent(MultipartFile file) {
         try {
-            s3Service.upload(file, fileName);
+            return HashedContent.read(file.getInputStream(), file.getSize());
         } catch (IOException e) {
             throw new IllegalArgumentException(String.format("파일 변환 중 에러가 발생하였습니다 (%s)", file.getOriginalFilename()));
         }
-        return s3Service.getFileUrl(fileName);
     }
 
-    private String createFileName(String originalFileName) {
-        return UUID.randomUUID().toString().concat(getFileExtension(originalFileName));
+    // 올린 사본들과 그 byte 수
+    @Getter
+    @RequiredArgsConstructor
+    private static class UploadedImage {
+        private final Attachment attachment;
+        private final long size;
     }
 
-    private String getFileExtension(String fileName) {
+    private static <T> T await(CompletableFuture<T> future) {
         try {
-            return fileName.substring(fileName.lastIndexOf("."));
-        } catch (StringIndexOutOfBoundsException e) {
-            throw new IllegalArgumentException(String.format("잘못된 형식의 파일 (%s) 입니다", fileName));
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
     }
 }
@@ -0,0 +1,32 @@
+package com.community.soob.attachment;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+// 첨부파일을 저장하는 곳, attachment.storage.type 이 s3(기본값) 이면 S3Service, local 이면 LocalFileStorage
+// fileName 은 디렉토리를 포함한 key (post/uuid.jpg)
+public interface FileStorage {
+    void upload(byte[] content, String contentType, String fileName);
+
+    // 클라이언트가 expiration 까지 contentType, contentLength 그대로 PUT 할 수 있는 URL
+    URL generatePresignedPutUrl(String fileName, String contentType, long contentLength, Date expiration);
+
+    // presigned URL 로 PUT 할 때 붙여야 하는 header
+    default Map<String, String> getPresignedPutHeaders(String contentType) {
+        return Map.of("Content-Type", contentType);
+    }
+
+    // maxSize 보다 크면 읽지 않는다
+    byte[] download(String fileName, long maxSize);
+
+    // 없는 파일을 지워도 성공한다
+    void delete(String fileName);
+
+    // 지우지 못한 fileName 을 반환
+    List<String> deleteAll(Collection<String> fileNames);
+
+    String getFileUrl(String fileName);
+}
@@ -0,0 +1,58 @@
+package com.community.soob.attachment;
+
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// 올린 파일의 내용과 SHA-256 (hex), 같은 hash 의 이미지는 AttachmentBlobStore 에서 한번만 저장한다
+@Getter
+public class HashedContent {
+    public static final int HASH_LENGTH = 64;
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final byte[] content;
+    private final String contentHash;
+
+    private HashedContent(byte[] content, String contentHash) {
+        this.content = content;
+        this.contentHash = contentHash;
+    }
+
+    public static HashedContent of(byte[] content) {
+        MessageDigest digest = newDigest();
+        return new HashedContent(content, toHex(digest.digest(content)));
+    }
+
+    // stream 을 읽으면서 hash 를 계산하므로 내용을 다시 읽지 않는다
+    public static HashedContent read(InputStream inputStream, long sizeHint) throws IOException {
+        MessageDigest digest = newDigest();
+        ByteArrayOutputStream output = new ByteArrayOutputStream((int) Math.max(32, Math.min(sizeHint, Integer.MAX_VALUE - 8)));
+        try (DigestInputStream digestInputStream = new DigestInputStream(inputStream, digest)) {
+            digestInputStream.transferTo(output);
+        }
+        return new HashedContent(output.toByteArray(), toHex(digest.digest()));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[hash[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
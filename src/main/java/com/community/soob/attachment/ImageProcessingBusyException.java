@@ -0,0 +1,9 @@
+package com.community.soob.attachment;
+
+import com.community.soob.common.ServiceUnavailableException;
+
+public class ImageProcessingBusyException extends ServiceUnavailableException {
+    public ImageProcessingBusyException(long retryAfterSeconds) {
+        super("요청이 많아 이미지를 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+    }
+}
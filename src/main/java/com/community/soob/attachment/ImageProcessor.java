@@ -0,0 +1,268 @@
+package com.community.soob.attachment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.NodeList;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 업로드한 이미지를 디코딩해서 EXIF 방향대로 돌리고, 메타데이터 없이 크기별 사본(원본, medium, thumbnail)으로 다시 인코딩
+// 디코딩한 이미지는 픽셀 수 만큼 메모리를 사용하므로 전용 thread 수와 대기열로 동시에 처리하는 양을 제한하고
+// 대기열이 가득 차면 ImageProcessingBusyException(503) 으로 바로 거절한다
+@Component
+public class ImageProcessor {
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final String APP1_MARKER = "225";
+    private static final byte[] EXIF_HEADER = {'E', 'x', 'i', 'f', 0, 0};
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private final int thumbnailSize;
+    private final int mediumSize;
+    private final long maxPixels;
+    private final float jpegQuality;
+    private final long retryAfter;
+    private final ThreadPoolExecutor processExecutor;
+    private final Timer processTimer;
+    private final Counter rejectedCounter;
+
+    public ImageProcessor(MeterRegistry meterRegistry,
+                          @Value("${attachment.image.threads:0}") int threads,
+                          @Value("${attachment.image.queue-capacity:32}") int queueCapacity,
+                          @Value("${attachment.image.thumbnail-size:320}") int thumbnailSize,
+                          @Value("${attachment.image.medium-size:1280}") int mediumSize,
+                          @Value("${attachment.image.max-pixels:25000000}") long maxPixels,
+                          @Value("${attachment.image.jpeg-quality:0.82}") float jpegQuality,
+                          @Value("${attachment.image.retry-after:1}") long retryAfter) {
+        this.thumbnailSize = thumbnailSize;
+        this.mediumSize = mediumSize;
+        this.maxPixels = maxPixels;
+        this.jpegQuality = jpegQuality;
+        this.retryAfter = retryAfter;
+        // 0 이면 코어 수
+        int processThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("image-process-");
+        threadFactory.setDaemon(true);
+        this.processExecutor = new ThreadPoolExecutor(processThreads, processThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("attachment.image.queue.depth", processExecutor, executor -> executor.getQueue().size())
+                .description("처리를 기다리는 이미지 수")
+                .register(meterRegistry);
+        this.processTimer = Timer.builder("attachment.image.process")
+                .description("이미지 하나의 사본을 모두 만드는 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("attachment.image.rejected")
+                .description("대기열이 가득 차서 거절한 이미지 수")
+                .register(meterRegistry);
+    }
+
+    // 거절되면 예외를 던지지 않고 실패한 future 를 반환한다, 함께 올린 다른 파일을 정리할 수 있도록
+    public CompletableFuture<ProcessedImage> processAsync(byte[] content) {
+        try {
+            return CompletableFuture.supplyAsync(() -> processTimer.record(() -> process(content)), processExecutor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(new ImageProcessingBusyException(retryAfter));
+        }
+    }
+
+    public ProcessedImage process(byte[] content) {
+        BufferedImage image;
+        int orientation;
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("이미지 파일이 아닙니다");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, false);
+                // 디코딩 하기 전에 헤더의 크기로 너무 큰 이미지를 거절한다
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw new IllegalArgumentException(String.format("이미지가 너무 큽니다 (%dx%d)", reader.getWidth(0), reader.getHeight(0)));
+                }
+                orientation = readOrientation(reader.getImageMetadata(0));
+                image = reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("이미지를 읽을 수 없습니다", e);
+        }
+
+        image = orient(image, orientation);
+        boolean hasAlpha = image.getColorModel().hasAlpha();
+        ProcessedImage processedImage = hasAlpha ? new ProcessedImage(".png", "image/png") : new ProcessedImage(".jpg", "image/jpeg");
+        BufferedImage original = convert(image, hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        BufferedImage medium = resize(original, mediumSize);
+        BufferedImage thumbnail = resize(medium, thumbnailSize);
+
+        processedImage.addRendition(ImageRendition.ORIGINAL, encode(original, hasAlpha));
+        processedImage.addRendition(ImageRendition.MEDIUM, encode(medium, hasAlpha));
+        processedImage.addRendition(ImageRendition.THUMBNAIL, encode(thumbnail, hasAlpha));
+        return processedImage;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        processExecutor.shutdown();
+    }
+
+    // 긴 변이 maxSize 를 넘으면 비율을 유지하며 줄인다, 한번에 많이 줄이면 계단 현상이 생기므로 절반씩 나눠서 줄인다
+    private static BufferedImage resize(BufferedImage image, int maxSize) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (Math.max(width, height) <= maxSize) {
+            return image;
+        }
+        double scale = (double) maxSize / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage resized = image;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, image.getType());
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(resized, 0, 0, width, height, null);
+            graphics.dispose();
+            resized = step;
+        } while (width != targetWidth || height != targetHeight);
+        return resized;
+    }
+
+    private static BufferedImage convert(BufferedImage image, int type) {
+        if (image.getType() == type) {
+            return image;
+        }
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), type);
+        Graphics2D graphics = converted.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return converted;
+    }
+
+    // 메타데이터를 넘기지 않으므로 EXIF(위치, 기기 정보) 없이 저장된다
+    private byte[] encode(BufferedImage image, boolean png) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            if (png) {
+                ImageIO.write(image, "png", output);
+                return output.toByteArray();
+            }
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(imageOutput);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    // JPEG APP1(EXIF) 의 orientation 태그, 없으면 1 (회전 없음)
+    private static int readOrientation(IIOMetadata metadata) {
+        if (metadata == null || !Arrays.asList(metadata.getMetadataFormatNames()).contains(JPEG_METADATA_FORMAT)) {
+            return 1;
+        }
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(JPEG_METADATA_FORMAT);
+        NodeList markers = root.getElementsByTagName("unknown");
+        for (int i = 0; i < markers.getLength(); i++) {
+            IIOMetadataNode marker = (IIOMetadataNode) markers.item(i);
+            if (APP1_MARKER.equals(marker.getAttribute("MarkerTag")) && marker.getUserObject() instanceof byte[]) {
+                int orientation = readExifOrientation((byte[]) marker.getUserObject());
+                if (orientation > 0) {
+                    return orientation;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // "Exif\0\0" 뒤의 TIFF header 에서 첫번째 IFD 의 orientation 을 찾는다, 없거나 잘못된 값이면 0
+    private static int readExifOrientation(byte[] app1) {
+        if (app1.length < EXIF_HEADER.length + 8 || !Arrays.equals(app1, 0, EXIF_HEADER.length, EXIF_HEADER, 0, EXIF_HEADER.length)) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(app1, EXIF_HEADER.length, app1.length - EXIF_HEADER.length).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        try {
+            int ifdOffset = tiff.getInt(4);
+            int entryCount = tiff.getShort(ifdOffset) & 0xFFFF;
+            for (int i = 0; i < entryCount; i++) {
+                int entryOffset = ifdOffset + 2 + i * 12;
+                if ((tiff.getShort(entryOffset) & 0xFFFF) == ORIENTATION_TAG) {
+                    int orientation = tiff.getShort(entryOffset + 8) & 0xFFFF;
+                    return (orientation >= 1 && orientation <= 8) ? orientation : 0;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            return 0;
+        }
+        return 0;
+    }
+
+    // EXIF orientation 2 ~ 8 을 픽셀에 적용한다, 5 ~ 8 은 가로 세로가 바뀐다
+    private static BufferedImage orient(BufferedImage image, int orientation) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        AffineTransform transform;
+        switch (orientation) {
+            case 2: transform = new AffineTransform(-1, 0, 0, 1, width, 0); break;
+            case 3: transform = new AffineTransform(-1, 0, 0, -1, width, height); break;
+            case 4: transform = new AffineTransform(1, 0, 0, -1, 0, height); break;
+            case 5: transform = new AffineTransform(0, 1, 1, 0, 0, 0); break;
+            case 6: transform = new AffineTransform(0, 1, -1, 0, height, 0); break;
+            case 7: transform = new AffineTransform(0, -1, -1, 0, height, width); break;
+            case 8: transform = new AffineTransform(0, -1, 1, 0, 0, width); break;
+            default: return image;
+        }
+        boolean swap = orientation >= 5;
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage oriented = new BufferedImage(swap ? height : width, swap ? width : height, type);
+        Graphics2D graphics = oriented.createGraphics();
+        graphics.drawImage(image, transform, null);
+        graphics.dispose();
+        return oriented;
+    }
+}
@@ -0,0 +1,34 @@
+package com.community.soob.attachment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 업로드한 이미지마다 만드는 크기별 사본, 원본 key 에 suffix 를 붙인 key 에 저장한다 (post/uuid.jpg -> post/uuid_thumb.jpg)
+public enum ImageRendition {
+    ORIGINAL(""),
+    MEDIUM("_medium"),
+    THUMBNAIL("_thumb");
+
+    private final String suffix;
+
+    ImageRendition(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String fileName(String originalFileName) {
+        int extensionIndex = originalFileName.lastIndexOf('.');
+        if (extensionIndex <= originalFileName.lastIndexOf('/')) {
+            return originalFileName + suffix;
+        }
+        return originalFileName.substring(0, extensionIndex) + suffix + originalFileName.substring(extensionIndex);
+    }
+
+    // 원본 key 로 모든 사본의 key 를 구한다, 사본이 없던 첨부파일도 없는 key 를 지우는 것이므로 문제 없다
+    public static List<String> fileNamesOf(String originalFileName) {
+        List<String> fileNames = new ArrayList<>();
+        for (ImageRendition rendition : values()) {
+            fileNames.add(rendition.fileName(originalFileName));
+        }
+        return fileNames;
+    }
+}
@@ -0,0 +1,88 @@
+package com.community.soob.attachment;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// attachment.storage.type 이 local 일때 LocalFileStorage 의 파일을 내려주고, presigned URL 로 올리는 파일을 받는다
+@Api(tags = {"5, Attachment"})
+@ConditionalOnProperty(name = "attachment.storage.type", havingValue = "local")
+@RequestMapping(LocalFileStorage.FILE_PATH)
+@RequiredArgsConstructor
+@RestController
+public class LocalFileController {
+    // Tomcat NIO connector 가 응답을 sendfile 로 보내도록 하는 request attribute
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalFileStorage localFileStorage;
+
+    @ApiOperation(value = "첨부파일 조회", notes = "로컬 저장소의 파일을 내려준다.")
+    @GetMapping("/{directory}/{fileName:.+}")
+    public void getFile(
+            @ApiParam(value = "디렉토리", required = true) @PathVariable String directory,
+            @ApiParam(value = "파일이름", required = true) @PathVariable String fileName,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = directory + "/" + fileName;
+        Path file = localFileStorage.getFile(key);
+        if (file == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        long size = Files.size(file);
+        response.setContentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(size);
+        // key 에 UUID 가 들어가고 같은 key 로 다른 내용을 올리지 않으므로 오래 캐시해도 된다
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue());
+
+        // sendfile 을 지원하면 서블릿이 반환된 뒤 Tomcat 이 파일을 socket 으로 바로 보낸다
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        localFileStorage.transferTo(key, Channels.newChannel(response.getOutputStream()));
+    }
+
+    @ApiOperation(value = "첨부파일 업로드", notes = "presigned URL 로 발급받은 주소에 파일을 올린다.")
+    @PutMapping("/{directory}/{fileName:.+}")
+    public ResponseEntity<Void> putFile(
+            @ApiParam(value = "디렉토리", required = true) @PathVariable String directory,
+            @ApiParam(value = "파일이름", required = true) @PathVariable String fileName,
+            @ApiParam(value = "만료시간", required = true) @RequestParam long expires,
+            @ApiParam(value = "서명", required = true) @RequestParam String signature,
+            HttpServletRequest request) throws IOException {
+        String key = directory + "/" + fileName;
+        long contentLength = request.getContentLengthLong();
+        if (!localFileStorage.verifyPresignedPut(key, request.getContentType(), contentLength, expires, signature)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        localFileStorage.store(key, Channels.newChannel(request.getInputStream()), contentLength);
+        return ResponseEntity.ok().build();
+    }
+}
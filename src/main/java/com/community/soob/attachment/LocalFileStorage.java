@@ -0,0 +1,237 @@
+package com.community.soob.attachment;
+
+import com.community.soob.common.InvalidValueException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+// 한 대로 운영하거나 S3 없이 저장소 성능을 잴 때 쓰는 로컬 디스크 저장소
+// 파일은 root-directory 아래 임시 파일에 FileChannel 로 쓴 뒤 rename 하므로 읽는 쪽은 완성된 파일만 본다
+// 읽기는 LocalFileController 가 transferTo(sendfile) 로 내려주고, presigned URL 은 HMAC 으로 서명한 LocalFileController 의 PUT 주소
+@Slf4j
+@ConditionalOnProperty(name = "attachment.storage.type", havingValue = "local")
+@Service
+public class LocalFileStorage implements FileStorage {
+    public static final String FILE_PATH = "/api/v1/attachments/files/";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Path rootDirectory;
+    private final String baseUrl;
+    private final byte[] secret;
+
+    public LocalFileStorage(@Value("${attachment.storage.local.root-directory:attachments}") String rootDirectory,
+                            @Value("${attachment.storage.local.base-url:http://localhost:8080}") String baseUrl,
+                            @Value("${attachment.storage.local.secret}") String secret) {
+        this.rootDirectory = Paths.get(rootDirectory).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        try {
+            Files.createDirectories(this.rootDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("첨부파일 디렉토리를 만들지 못했습니다 (" + this.rootDirectory + ")", e);
+        }
+    }
+
+    @Override
+    public void upload(byte[] content, String contentType, String fileName) {
+        Path file = resolve(fileName);
+        Path temporaryFile = createTemporaryFile(file);
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            deleteQuietly(temporaryFile);
+            throw new AttachmentException("파일을 저장하지 못했습니다 (" + fileName + ")", e);
+        }
+        moveInto(temporaryFile, file, fileName);
+    }
+
+    // 요청 body 를 메모리에 모으지 않고 바로 파일로 옮긴다, contentLength 와 크기가 다르면 저장하지 않는다
+    public void store(String fileName, ReadableByteChannel source, long contentLength) {
+        Path file = resolve(fileName);
+        Path temporaryFile = createTemporaryFile(file);
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+            long position = 0;
+            while (position < contentLength) {
+                long transferred = channel.transferFrom(source, position, contentLength - position);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            if (position != contentLength || source.read(ByteBuffer.allocate(1)) != -1) {
+                throw new InvalidValueException(String.format("업로드한 파일 크기가 다릅니다 (%s, %d bytes)", fileName, contentLength));
+            }
+        } catch (IOException e) {
+            deleteQuietly(temporaryFile);
+            throw new AttachmentException("파일을 저장하지 못했습니다 (" + fileName + ")", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temporaryFile);
+            throw e;
+        }
+        moveInto(temporaryFile, file, fileName);
+    }
+
+    @Override
+    public URL generatePresignedPutUrl(String fileName, String contentType, long contentLength, Date expiration) {
+        resolve(fileName);
+        long expires = expiration.getTime() / 1000;
+        String signature = sign(fileName, contentType, contentLength, expires);
+        try {
+            return new URL(getFileUrl(fileName) + "?expires=" + expires + "&signature=" + URLEncoder.encode(signature, StandardCharsets.UTF_8));
+        } catch (MalformedURLException e) {
+            throw new AttachmentException("업로드 URL 을 만들지 못했습니다 (" + fileName + ")", e);
+        }
+    }
+
+    // 만료되지 않았고 발급할 때와 같은 형식, 크기로 올리는지 확인
+    public boolean verifyPresignedPut(String fileName, String contentType, long contentLength, long expires, String signature) {
+        if (expires * 1000 < System.currentTimeMillis() || signature == null) {
+            return false;
+        }
+        byte[] expected = sign(fileName, contentType, contentLength, expires).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public byte[] download(String fileName, long maxSize) {
+        try (FileChannel channel = FileChannel.open(resolve(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > maxSize) {
+                throw new AttachmentException(String.format("파일이 너무 큽니다 (%s, %d bytes)", fileName, size));
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            return buffer.array();
+        } catch (NoSuchFileException e) {
+            throw new AttachmentException("업로드되지 않은 파일입니다 (" + fileName + ")", e);
+        } catch (IOException e) {
+            throw new AttachmentException("파일을 읽지 못했습니다 (" + fileName + ")", e);
+        }
+    }
+
+    // 파일 내용을 user space 로 복사하지 않고 target 으로 보낸다, target 이 socket 이면 sendfile 을 사용한다
+    public long transferTo(String fileName, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            return size;
+        }
+    }
+
+    // 없으면 null
+    public Path getFile(String fileName) {
+        Path file = resolve(fileName);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    @Override
+    public void delete(String fileName) {
+        try {
+            Files.deleteIfExists(resolve(fileName));
+        } catch (IOException e) {
+            throw new AttachmentException("파일을 지우지 못했습니다 (" + fileName + ")", e);
+        }
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> fileNames) {
+        List<String> failedFileNames = new ArrayList<>();
+        for (String fileName : fileNames) {
+            try {
+                delete(fileName);
+            } catch (AttachmentException | InvalidValueException e) {
+                log.warn("파일 삭제 실패: " + e.getMessage());
+                failedFileNames.add(fileName);
+            }
+        }
+        return failedFileNames;
+    }
+
+    @Override
+    public String getFileUrl(String fileName) {
+        return baseUrl + FILE_PATH + fileName;
+    }
+
+    // root-directory 밖을 가리키는 fileName 은 거절
+    private Path resolve(String fileName) {
+        Path file = rootDirectory.resolve(fileName).normalize();
+        if (fileName.isEmpty() || !file.startsWith(rootDirectory) || file.equals(rootDirectory)) {
+            throw new InvalidValueException("잘못된 파일 이름입니다 (" + fileName + ")");
+        }
+        return file;
+    }
+
+    private Path createTemporaryFile(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            return Files.createTempFile(file.getParent(), ".upload-", ".tmp");
+        } catch (IOException e) {
+            throw new AttachmentException("파일을 저장하지 못했습니다 (" + file + ")", e);
+        }
+    }
+
+    private void moveInto(Path temporaryFile, Path file, String fileName) {
+        try {
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temporaryFile);
+            throw new AttachmentException("파일을 저장하지 못했습니다 (" + fileName + ")", e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: " + file + ", " + e.getMessage());
+        }
+    }
+
+    private String sign(String fileName, String contentType, long contentLength, long expires) {
+        String payload = String.join("\n", "PUT", fileName, contentType, String.valueOf(contentLength), String.valueOf(expires));
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.community.soob.attachment;
+
+public interface PostThumbnail {
+    Long getPostId();
+
+    String getThumbnailPath();
+}
@@ -0,0 +1,9 @@
+package com.community.soob.attachment;
+
+import com.community.soob.common.InvalidValueException;
+
+public class PresignedUploadNotFoundException extends InvalidValueException {
+    public PresignedUploadNotFoundException(String fileName) {
+        super("업로드 요청이 만료되었거나 올바르지 않습니다 (" + fileName + ")");
+    }
+}
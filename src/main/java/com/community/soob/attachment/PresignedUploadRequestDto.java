@@ -0,0 +1,33 @@
+package com.community.soob.attachment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.util.List;
+
+@Data
+public class PresignedUploadRequestDto {
+    @NotNull(message = "업로드 대상을 선택해주세요.")
+    private PresignedUploadTarget target;
+
+    @Valid
+    @NotEmpty(message = "업로드할 파일을 선택해주세요.")
+    private List<UploadFile> files;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Data
+    public static class UploadFile {
+        @NotBlank(message = "파일 형식을 입력해주세요.")
+        private String contentType;
+
+        @Positive(message = "파일 크기를 입력해주세요.")
+        private long contentLength;
+    }
+}
@@ -0,0 +1,24 @@
+package com.community.soob.attachment;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// 클라이언트는 uploadUrl 로 headers 를 붙여서 PUT 한 뒤 fileName 으로 업로드 완료를 요청한다
+@Data
+public class PresignedUploadResponseDto {
+    private String fileName;
+    private String uploadUrl;
+    private Map<String, String> headers;
+    private LocalDateTime expiresAt;
+
+    @Builder
+    public PresignedUploadResponseDto(String fileName, String uploadUrl, Map<String, String> headers, LocalDateTime expiresAt) {
+        this.fileName = fileName;
+        this.uploadUrl = uploadUrl;
+        this.headers = headers;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,147 @@
+package com.community.soob.attachment;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.common.InvalidValueException;
+import com.community.soob.util.RedisLeaderLock;
+import com.community.soob.util.RedisUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// 클라이언트가 파일을 저장소(FileStorage)에 직접 올리도록 presigned PUT URL 을 발급하고, 업로드 완료 요청이 오면 발급한 업로드인지 확인한다
+// 발급한 업로드는 Redis 에 (회원, 대상, 크기) 로 기록하고, 만료될 때까지 완료되지 않은 파일은 leader 노드가 지운다
+@Service
+public class PresignedUploadService {
+    private static final String UPLOAD_KEY_PREFIX = "attachment:upload:";
+    private static final String PENDING_KEY = "attachment:upload:pending";
+    private static final String SWEEPER_LEADER_KEY = "attachment:upload:sweeper";
+    private static final int SWEEP_BATCH_SIZE = 1000;
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/gif", ".gif");
+
+    private final FileStorage fileStorage;
+    private final RedisUtil redisUtil;
+    private final AttachmentDeleteQueue attachmentDeleteQueue;
+    private final RedisLeaderLock leaderLock;
+    private final String profileImageDirectory;
+    private final String postImageDirectory;
+    private final long expiry;
+    private final long confirmGrace;
+    private final long maxSize;
+    private final int maxFiles;
+
+    public PresignedUploadService(FileStorage fileStorage, RedisUtil redisUtil, AttachmentDeleteQueue attachmentDeleteQueue,
+                                  @Value("${attachment.url.profile:profile/}") String profileImageDirectory, @Value("${attachment.url.post:post/}") String postImageDirectory,
+                                  @Value("${attachment.presign.expiry:300}") long expiry,
+                                  @Value("${attachment.presign.confirm-grace:600}") long confirmGrace,
+                                  @Value("${attachment.presign.max-size:10485760}") long maxSize,
+                                  @Value("${attachment.presign.max-files:10}") int maxFiles,
+                                  @Value("${attachment.presign.sweep-interval:60000}") long sweepInterval) {
+        this.fileStorage = fileStorage;
+        this.redisUtil = redisUtil;
+        this.attachmentDeleteQueue = attachmentDeleteQueue;
+        this.leaderLock = new RedisLeaderLock(redisUtil, SWEEPER_LEADER_KEY, Math.max(30, sweepInterval * 3 / 1000));
+        this.profileImageDirectory = profileImageDirectory;
+        this.postImageDirectory = postImageDirectory;
+        this.expiry = expiry;
+        this.confirmGrace = confirmGrace;
+        this.maxSize = maxSize;
+        this.maxFiles = maxFiles;
+    }
+
+    public List<PresignedUploadResponseDto> presign(Account account, PresignedUploadTarget target, List<PresignedUploadRequestDto.UploadFile> files) {
+        int limit = (target == PresignedUploadTarget.PROFILE) ? 1 : maxFiles;
+        if (files.size() > limit) {
+            throw new InvalidValueException(String.format("파일은 %d 개까지 올릴 수 있습니다", limit));
+        }
+        for (PresignedUploadRequestDto.UploadFile file : files) {
+            if (!EXTENSIONS.containsKey(file.getContentType())) {
+                throw new InvalidValueException(String.format("지원하지 않는 이미지 형식입니다 (%s)", file.getContentType()));
+            }
+            if (file.getContentLength() <= 0 || file.getContentLength() > maxSize) {
+                throw new InvalidValueException(String.format("파일은 %d bytes 까지 올릴 수 있습니다", maxSize));
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        Date expiration = new Date(now + expiry * 1000);
+        String directory = (target == PresignedUploadTarget.PROFILE) ? profileImageDirectory : postImageDirectory;
+        List<PresignedUploadResponseDto> uploads = new ArrayList<>();
+        for (PresignedUploadRequestDto.UploadFile file : files) {
+            String fileName = directory + UUID.randomUUID() + EXTENSIONS.get(file.getContentType());
+            String uploadUrl = fileStorage.generatePresignedPutUrl(fileName, file.getContentType(), file.getContentLength(), expiration).toString();
+
+            redisUtil.setDataExpire(UPLOAD_KEY_PREFIX + fileName, account.getId() + ":" + target + ":" + file.getContentLength(), expiry + confirmGrace);
+            redisUtil.addZSetData(PENDING_KEY, fileName, now + (expiry + confirmGrace) * 1000);
+
+            uploads.add(PresignedUploadResponseDto.builder()
+                    .fileName(fileName)
+                    .uploadUrl(uploadUrl)
+                    .headers(fileStorage.getPresignedPutHeaders(file.getContentType()))
+                    .expiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()))
+                    .build());
+        }
+        return uploads;
+    }
+
+    // 요청한 회원이 같은 대상으로 발급받은 업로드인지 확인하고, 발급할 때 정한 크기와 함께 반환
+    public List<PendingUpload> verify(Account account, PresignedUploadTarget target, List<String> fileNames) {
+        if (new HashSet<>(fileNames).size() != fileNames.size()) {
+            throw new InvalidValueException("같은 파일을 여러번 요청할 수 없습니다");
+        }
+        List<PendingUpload> uploads = new ArrayList<>();
+        for (String fileName : fileNames) {
+            String data = redisUtil.getData(UPLOAD_KEY_PREFIX + fileName);
+            String[] fields = (data == null) ? new String[0] : data.split(":");
+            if (fields.length != 3 || !fields[0].equals(String.valueOf(account.getId())) || !fields[1].equals(target.name())) {
+                throw new PresignedUploadNotFoundException(fileName);
+            }
+            uploads.add(new PendingUpload(fileName, Long.parseLong(fields[2])));
+        }
+        return uploads;
+    }
+
+    // 첨부파일로 저장한 업로드는 만료되어도 지우지 않도록 기록을 지운다
+    // 트랜잭션 안에서 호출하므로 Redis 에 실패하면 저장도 롤백된다
+    public void complete(List<String> fileNames) {
+        for (String fileName : fileNames) {
+            redisUtil.deleteData(UPLOAD_KEY_PREFIX + fileName);
+        }
+        redisUtil.removeZSetData(PENDING_KEY, fileNames.toArray());
+    }
+
+    @Scheduled(fixedDelayString = "${attachment.presign.sweep-interval:60000}")
+    public void deleteExpiredUploads() {
+        if (!leaderLock.acquire()) {
+            return;
+        }
+        Set<String> expired = redisUtil.getZSetRangeByScore(PENDING_KEY, 0, System.currentTimeMillis(), SWEEP_BATCH_SIZE);
+        if (expired.isEmpty()) {
+            return;
+        }
+        // 지우지 못한 파일은 AttachmentDeleteQueue 가 다시 시도한다
+        attachmentDeleteQueue.delete(new ArrayList<>(expired));
+        redisUtil.removeZSetData(PENDING_KEY, expired.toArray());
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class PendingUpload {
+        private final String fileName;
+        private final long contentLength;
+    }
+}
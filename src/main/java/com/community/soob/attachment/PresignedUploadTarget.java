@@ -0,0 +1,6 @@
+package com.community.soob.attachment;
+
+public enum PresignedUploadTarget {
+    POST,
+    PROFILE
+}
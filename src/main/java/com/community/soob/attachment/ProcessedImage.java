@@ -0,0 +1,36 @@
+package com.community.soob.attachment;
+
+import lombok.Getter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// 메타데이터를 지우고 다시 인코딩한 사본들, 모든 사본은 같은 형식 (투명도가 있으면 png, 없으면 jpg)
+@Getter
+public class ProcessedImage {
+    private final String extension;
+    private final String contentType;
+    private final Map<ImageRendition, byte[]> renditions = new EnumMap<>(ImageRendition.class);
+
+    public ProcessedImage(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public void addRendition(ImageRendition rendition, byte[] content) {
+        renditions.put(rendition, content);
+    }
+
+    public byte[] getRendition(ImageRendition rendition) {
+        return renditions.get(rendition);
+    }
+
+    // 저장소에 올리는 모든 사본의 byte 수
+    public long getSize() {
+        long size = 0;
+        for (byte[] content : renditions.values()) {
+            size += content.length;
+        }
+        return size;
+    }
+}
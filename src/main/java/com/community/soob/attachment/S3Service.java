@@ -1,56 +1,139 @@
 package com.community.soob.attachment;
 
-import com.amazonaws.auth.AWSCredentials;
-import com.amazonaws.auth.AWSStaticCredentialsProvider;
-import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.HttpMethod;
+import com.amazonaws.SdkClientException;
 import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.util.IOUtils;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
-import javax.annotation.PostConstruct;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
+@Slf4j
+@ConditionalOnProperty(name = "attachment.storage.type", havingValue = "s3", matchIfMissing = true)
 @Service
-public class S3Service {
-    private AmazonS3 s3Client;
+public class S3Service implements FileStorage {
+    private static final int MAX_DELETE_KEYS = 1000;
 
-    @Value("${cloud.aws.credentials.accessKey}")
-    private String accessKey;
+    private final AmazonS3 s3Client;
+    private final TransferManager transferManager;
+    private final String bucket;
+    private final long multipartThreshold;
 
-    @Value("${cloud.aws.credentials.secretKey}")
-    private String secretKey;
+    public S3Service(AmazonS3 s3Client, TransferManager transferManager,
+                     @Value("${cloud.aws.s3.bucket}") String bucket,
+                     @Value("${attachment.upload.multipart-threshold:16777216}") long multipartThreshold) {
+        this.s3Client = s3Client;
+        this.transferManager = transferManager;
+        this.bucket = bucket;
+        this.multipartThreshold = multipartThreshold;
+    }
 
-    @Value("${cloud.aws.s3.bucket}")
-    private String bucket;
+    // content length 를 알려줘야 SDK 가 stream 전체를 다시 버퍼링하지 않고 바로 보낸다
+    @Override
+    public void upload(byte[] content, String contentType, String fileName) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(content.length);
+        metadata.setContentType(contentType);
 
-    @Value("${cloud.aws.region.static}")
-    private String region;
+        PutObjectRequest request = new PutObjectRequest(bucket, fileName, new ByteArrayInputStream(content), metadata)
+                .withCannedAcl(CannedAccessControlList.PublicRead);
+        if (content.length < multipartThreshold) {
+            s3Client.putObject(request);
+            return;
+        }
+        try {
+            transferManager.upload(request).waitForCompletion();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AttachmentException("파일 업로드가 중단되었습니다 (" + fileName + ")", e);
+        }
+    }
 
-    @PostConstruct
-    public void setS3Client() {
-        AWSCredentials credentials = new BasicAWSCredentials(this.accessKey, this.secretKey);
-        s3Client = AmazonS3ClientBuilder.standard()
-                .withCredentials(new AWSStaticCredentialsProvider(credentials))
-                .withRegion(this.region)
-                .build();
+    // content type 과 content length 를 서명에 포함하므로 클라이언트는 발급받은 값 그대로 올려야 한다
+    @Override
+    public URL generatePresignedPutUrl(String fileName, String contentType, long contentLength, Date expiration) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, fileName, HttpMethod.PUT)
+                .withExpiration(expiration)
+                .withContentType(contentType);
+        request.putCustomRequestHeader(Headers.CONTENT_LENGTH, String.valueOf(contentLength));
+        request.putCustomRequestHeader(Headers.S3_CANNED_ACL, CannedAccessControlList.PublicRead.toString());
+        return s3Client.generatePresignedUrl(request);
     }
 
-    public void upload(MultipartFile file, String fileName) throws IOException {
-        s3Client.putObject(new PutObjectRequest(bucket, fileName, file.getInputStream(), null)
-                .withCannedAcl(CannedAccessControlList.PublicRead));
+    @Override
+    public Map<String, String> getPresignedPutHeaders(String contentType) {
+        return Map.of(Headers.CONTENT_TYPE, contentType, Headers.S3_CANNED_ACL, CannedAccessControlList.PublicRead.toString());
     }
 
+    // 클라이언트가 직접 올린 파일을 읽는다, maxSize 보다 크면 읽지 않는다
+    @Override
+    public byte[] download(String fileName, long maxSize) {
+        try (S3Object object = s3Client.getObject(bucket, fileName)) {
+            long contentLength = object.getObjectMetadata().getContentLength();
+            if (contentLength > maxSize) {
+                throw new AttachmentException(String.format("파일이 너무 큽니다 (%s, %d bytes)", fileName, contentLength));
+            }
+            return IOUtils.toByteArray(object.getObjectContent());
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                throw new AttachmentException("업로드되지 않은 파일입니다 (" + fileName + ")", e);
+            }
+            throw e;
+        } catch (IOException e) {
+            throw new AttachmentException("파일을 읽지 못했습니다 (" + fileName + ")", e);
+        }
+    }
+
+    // 없는 object 를 지워도 성공하므로 존재 여부를 먼저 확인하지 않는다
+    @Override
     public void delete(String fileName){
-        boolean isExistObject = s3Client.doesObjectExist(bucket, fileName);
-        if (isExistObject) {
-            s3Client.deleteObject(bucket, fileName);
+        s3Client.deleteObject(bucket, fileName);
+    }
+
+    // multi-object delete 한번에 최대 1,000 개씩 지우고, 지우지 못한 key 를 반환
+    @Override
+    public List<String> deleteAll(Collection<String> fileNames) {
+        List<String> keys = new ArrayList<>(fileNames);
+        List<String> failedKeys = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += MAX_DELETE_KEYS) {
+            List<String> chunk = keys.subList(from, Math.min(from + MAX_DELETE_KEYS, keys.size()));
+            DeleteObjectsRequest request = new DeleteObjectsRequest(bucket)
+                    .withKeys(chunk.toArray(new String[0]))
+                    .withQuiet(true);
+            try {
+                s3Client.deleteObjects(request);
+            } catch (MultiObjectDeleteException e) {
+                e.getErrors().forEach(error -> failedKeys.add(error.getKey()));
+            } catch (SdkClientException e) {
+                log.warn("파일 삭제 요청 실패: " + e.getMessage());
+                failedKeys.addAll(chunk);
+            }
         }
+        return failedKeys;
     }
 
+    @Override
     public String getFileUrl(String fileName) {
         return String.valueOf(s3Client.getUrl(bucket, fileName));
     }
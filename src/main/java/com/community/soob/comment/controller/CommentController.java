@@ -6,6 +6,8 @@ import com.community.soob.comment.controller.dto.CommentRequestDto;
 import com.community.soob.comment.controller.dto.CommentResponseDto;
 import com.community.soob.comment.domain.Comment;
 import com.community.soob.comment.service.CommentService;
+import com.community.soob.common.Cursor;
+import com.community.soob.response.CursorResponse;
 import com.community.soob.response.ResultResponse;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -13,10 +15,12 @@ import io.swagger.annotations.ApiParam;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
 import springfox.documentation.annotations.ApiIgnore;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @Api(tags = {"4, Comment"})
 @RequiredArgsConstructor
@@ -35,6 +39,24 @@ public class CommentController {
         return ResultResponse.of(ResultResponse.SUCCESS, pagingComments);
     }
 
+    @ApiOperation(value = "댓글 커서 조회", notes = "특정 게시글의 댓글을 작성순으로 커서 기반 조회한다.")
+    @GetMapping("/{postId}/scroll")
+    public ResultResponse<CursorResponse<CommentResponseDto>> getCommentScroll(
+            @ApiParam(value = "게시글번호", required = true) @PathVariable Long postId,
+            @ApiParam(value = "이전 응답의 nextCursor") @RequestParam(required = false) String after,
+            @ApiParam(value = "조회 갯수") @RequestParam(defaultValue = "10") int size) {
+        Cursor cursor = (after == null || after.isEmpty()) ? null : Cursor.decode(after);
+        Slice<Comment> comments = commentService.getComments(postId, cursor, size);
+
+        List<CommentResponseDto> content = comments.map(CommentResponseDto::fromEntity).getContent();
+        String nextCursor = null;
+        if (comments.hasNext()) {
+            Comment last = comments.getContent().get(comments.getNumberOfElements() - 1);
+            nextCursor = Cursor.of(last.getId()).encode();
+        }
+        return ResultResponse.of(ResultResponse.SUCCESS, CursorResponse.of(content, nextCursor));
+    }
+
     @ApiOperation(value = "댓글 작성", notes = "특정 게시글에 댓글을 작성한다.")
     @PostMapping("/{postId}")
     public ResultResponse<Void> createComment(
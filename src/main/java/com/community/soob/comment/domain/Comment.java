@@ -12,7 +12,9 @@ import javax.persistence.*;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "comment")
+@Table(name = "comment", indexes = {
+        @Index(name = "idx_comment_post", columnList = "post_id, comment_id")
+})
 @Entity
 public class Comment extends AuditedEntity {
     @Id
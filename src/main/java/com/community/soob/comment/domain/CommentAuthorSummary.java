@@ -0,0 +1,19 @@
+package com.community.soob.comment.domain;
+
+import lombok.Getter;
+
+// 게시글 삭제시 작성자별로 차감할 댓글 수와 댓글에 받은 하트 수
+@Getter
+public class CommentAuthorSummary {
+    private final Long authorId;
+    private final String authorEmail;
+    private final long commentCount;
+    private final long heartCount;
+
+    public CommentAuthorSummary(Long authorId, String authorEmail, long commentCount, long heartCount) {
+        this.authorId = authorId;
+        this.authorEmail = authorEmail;
+        this.commentCount = commentCount;
+        this.heartCount = heartCount;
+    }
+}
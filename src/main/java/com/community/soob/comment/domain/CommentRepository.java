@@ -3,11 +3,52 @@ package com.community.soob.comment.domain;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    Page<Comment> findAllByPostId(long postId, Pageable pageable);
+    // 작성자, 작성자 프로필이미지를 함께 조회, post 는 FK(post_id) 만 사용하므로 초기화하지 않는다
+    @Query(value = "select c from Comment c join fetch c.author a left join fetch a.profileImage " +
+            "where c.post.id = :postId and c.post.deleted = false " +
+            "order by c.id asc",
+            countQuery = "select count(c) from Comment c where c.post.id = :postId and c.post.deleted = false")
+    Page<Comment> findAllByPostId(@Param("postId") long postId, Pageable pageable);
+
     List<Comment> findAllByPostId(long postId);
     Long countByPostId(long postId);
+
+    // 댓글을 로딩하지 않고 작성자 번호만 조회
+    @Query("select c.author.id from Comment c where c.id = :commentId and c.post.deleted = false")
+    Optional<Long> findAuthorIdById(@Param("commentId") long commentId);
+
+    @Query("select c.heartCount from Comment c where c.id = :commentId and c.post.deleted = false")
+    Optional<Integer> findHeartCountById(@Param("commentId") long commentId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Comment c set c.heartCount = c.heartCount + :delta where c.id = :commentId")
+    int addHeartCount(@Param("commentId") long commentId, @Param("delta") int delta);
+
+    @Query("select c.id from Comment c where c.post.id = :postId order by c.id asc")
+    List<Long> findIdsByPostId(@Param("postId") long postId, Pageable pageable);
+
+    // 댓글을 작성자별로 묶어서 댓글 수와 댓글에 받은 하트 수를 한번에 조회
+    @Query("select new com.community.soob.comment.domain.CommentAuthorSummary(c.author.id, c.author.email, count(distinct c.id), count(h.id)) " +
+            "from Comment c left join Heart h on h.comment = c " +
+            "where c.id in :ids " +
+            "group by c.author.id, c.author.email")
+    List<CommentAuthorSummary> summarizeByAuthor(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("delete from Comment c where c.id in :ids")
+    int deleteAllByIdInBulk(@Param("ids") List<Long> ids);
+
+    // (post_id, comment_id) 커서 이후의 댓글을 작성순으로 조회 (작성자, 작성자 프로필이미지 함께 조회)
+    @Query("select c from Comment c join fetch c.author a left join fetch a.profileImage " +
+            "where c.post.id = :postId and c.post.deleted = false and c.id > :id " +
+            "order by c.id asc")
+    List<Comment> findSliceByPostIdAfter(@Param("postId") long postId, @Param("id") long id, Pageable pageable);
 }
@@ -2,21 +2,28 @@ package com.community.soob.comment.service;
 
 import com.community.soob.account.domain.Account;
 import com.community.soob.account.domain.AccountRepository;
+import com.community.soob.account.service.PrincipalCache;
 import com.community.soob.comment.domain.Comment;
+import com.community.soob.comment.domain.CommentAuthorSummary;
 import com.community.soob.comment.domain.CommentRepository;
 import com.community.soob.comment.exception.CommentNotFoundException;
+import com.community.soob.common.Cursor;
 import com.community.soob.heart.service.HeartService;
 import com.community.soob.post.domain.Post;
 import com.community.soob.post.domain.PostRepository;
 import com.community.soob.post.exception.AuthorNotMatchedException;
 import com.community.soob.post.exception.PostNotFoundException;
+import com.community.soob.util.SliceUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -27,10 +34,12 @@ public class CommentService {
     private final PostRepository postRepository;
     private final AccountRepository accountRepository;
     private final HeartService heartService;
+    private final PrincipalCache principalCache;
 
     @Transactional
     public void createComment(Account account, long postId, String content) {
         Post post = postRepository.findById(postId)
+                .filter(foundPost -> !foundPost.isDeleted())
                 .orElseThrow(PostNotFoundException::new);
         Comment comment = Comment.builder()
                 .post(post)
@@ -40,9 +49,9 @@ public class CommentService {
 
         commentRepository.save(comment);
 
-        account.increaseCommentPoint();
-        account.updateLevel();
-        accountRepository.save(account);
+        // account 는 캐시된 인증 정보이므로 저장하지 않고 포인트를 상대값으로 반영
+        accountRepository.addLevelPoint(account.getId(), Account.COMMENT_POINT);
+        principalCache.evict(account.getEmail());
     }
 
     public Page<Comment> getComments(long postId, Pageable pageable) {
@@ -50,6 +59,14 @@ public class CommentService {
         return commentRepository.findAllByPostId(postId, pageable);
     }
 
+    // 게시글의 댓글을 commentId 커서 기반으로 조회, count 쿼리 없음
+    public Slice<Comment> getComments(long postId, @Nullable Cursor cursor, int size) {
+        size = SliceUtil.limitSize(size);
+        long after = (cursor == null) ? 0 : cursor.getId();
+        List<Comment> comments = commentRepository.findSliceByPostIdAfter(postId, after, SliceUtil.lookAhead(size));
+        return SliceUtil.toSlice(comments, size);
+    }
+
     public Comment getComment(long commentId) {
         return commentRepository.findById(commentId)
                 .orElseThrow(CommentNotFoundException::new);
@@ -73,16 +90,16 @@ public class CommentService {
             throw new AuthorNotMatchedException();
         }
 
+        int point = Account.COMMENT_POINT;
         Long heartCount = heartService.getHeartCountForComment(commentId);
         if (heartCount != null && heartCount != 0) {
             heartService.deleteAllHeartForComment(commentId);
-            account.decreaseCommentHeartPoint(heartCount);
+            point += heartCount * Account.COMMENT_HEART_POINT;
         }
         commentRepository.deleteById(commentId);
 
-        account.decreaseCommentPoint();
-        account.updateLevel();
-        accountRepository.save(account);
+        accountRepository.addLevelPoint(account.getId(), -point);
+        principalCache.evict(account.getEmail());
     }
 
     public boolean isAuthorMatched(Account account, long commentId) {
@@ -95,11 +112,25 @@ public class CommentService {
         return commentRepository.countByPostId(postId);
     }
 
-    public void deleteAllCommentForPost(long postId) {
-        List<Comment> comments = commentRepository.findAllByPostId(postId);
-        for (Comment comment : comments) {
-            Account author = comment.getAuthor();
-            this.deleteComment(author, comment.getId());
+    // 게시글의 댓글을 오래된 순으로 최대 chunkSize 개 삭제, 댓글 하트도 함께 bulk 로 삭제하고
+    // 작성자별 포인트는 집계 쿼리 한번으로 계산해서 상대값으로 차감한다. 삭제한 댓글의 작성자별 집계를 반환
+    @Transactional
+    public List<CommentAuthorSummary> deleteCommentsForPost(long postId, int chunkSize) {
+        List<Long> commentIds = commentRepository.findIdsByPostId(postId, PageRequest.of(0, chunkSize));
+        if (commentIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<CommentAuthorSummary> summaries = commentRepository.summarizeByAuthor(commentIds);
+        heartService.deleteAllHeartForComments(commentIds);
+        commentRepository.deleteAllByIdInBulk(commentIds);
+
+        // 정리하는 동안 눌린 하트의 포인트가 유실되지 않도록 작성자를 로딩해서 저장하지 않는다
+        for (CommentAuthorSummary summary : summaries) {
+            long point = summary.getCommentCount() * Account.COMMENT_POINT + summary.getHeartCount() * Account.COMMENT_HEART_POINT;
+            accountRepository.addLevelPoint(summary.getAuthorId(), (int) -point);
+            principalCache.evict(summary.getAuthorEmail());
         }
+        return summaries;
     }
 }
@@ -0,0 +1,49 @@
+package com.community.soob.common;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// keyset 페이징에서 마지막으로 조회한 행의 위치, 클라이언트에는 opaque 한 문자열로 전달
+@EqualsAndHashCode
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class Cursor {
+    private static final String DELIMITER = "|";
+
+    @Nullable
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    public static Cursor of(@Nullable LocalDateTime createdAt, long id) {
+        return new Cursor(createdAt, id);
+    }
+
+    public static Cursor of(long id) {
+        return new Cursor(null, id);
+    }
+
+    public String encode() {
+        String value = (createdAt == null ? "" : createdAt.toString()) + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String encoded) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int index = value.indexOf(DELIMITER);
+            String createdAt = value.substring(0, index);
+            long id = Long.parseLong(value.substring(index + 1));
+            return new Cursor(createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.community.soob.common;
 import com.community.soob.response.ErrorResponse;
 import com.community.soob.response.ResultResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -38,6 +41,15 @@ public class GlobalExceptionHandler {
         return ResultResponse.of(ResultResponse.ERROR, errorResponse);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    protected ResponseEntity<ResultResponse<ErrorResponse>> handleServiceUnavailableException(final ServiceUnavailableException e) {
+        log.warn("handleServiceUnavailableException: " + e.getMessage());
+        final ErrorResponse errorResponse = ErrorResponse.of("ServiceUnavailableException", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ResultResponse.of(ResultResponse.ERROR, errorResponse));
+    }
+
     @ExceptionHandler(Exception.class)
     protected ResultResponse<ErrorResponse> handleException(final Exception e) {
         log.error("handleException: " + e.getClass() + ", " + e.getMessage());
@@ -0,0 +1,7 @@
+package com.community.soob.common;
+
+public class InvalidCursorException extends InvalidValueException {
+    public InvalidCursorException() {
+        super();
+    }
+}
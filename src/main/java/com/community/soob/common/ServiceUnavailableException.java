@@ -0,0 +1,14 @@
+package com.community.soob.common;
+
+import lombok.Getter;
+
+// 서버가 바빠서 처리하지 못한 요청, GlobalExceptionHandler 가 503 과 Retry-After 로 응답한다
+@Getter
+public class ServiceUnavailableException extends BusinessException {
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
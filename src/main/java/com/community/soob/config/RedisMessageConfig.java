@@ -0,0 +1,23 @@
+package com.community.soob.config;
+
+import com.community.soob.account.service.PrincipalCache;
+import com.community.soob.account.service.VerifiedTokenCache;
+import com.community.soob.post.service.PostCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisMessageConfig {
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory, PrincipalCache principalCache, VerifiedTokenCache verifiedTokenCache, PostCache postCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(principalCache, new ChannelTopic(PrincipalCache.EVICT_CHANNEL));
+        container.addMessageListener(verifiedTokenCache, new ChannelTopic(VerifiedTokenCache.REVOKE_CHANNEL));
+        container.addMessageListener(postCache, new ChannelTopic(PostCache.EVICT_CHANNEL));
+        return container;
+    }
+}
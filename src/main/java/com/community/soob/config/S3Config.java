@@ -0,0 +1,58 @@
+package com.community.soob.config;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+// S3 client 는 thread-safe 하고 connection pool 을 가지므로 하나만 만들어서 공유
+// endpoint 를 지정하면 로컬 S3 호환 서버를 사용한다 (path-style)
+// attachment.storage.type 이 local 이면 만들지 않으므로 AWS credential 이 없어도 된다
+@ConditionalOnProperty(name = "attachment.storage.type", havingValue = "s3", matchIfMissing = true)
+@Configuration
+public class S3Config {
+    @Primary
+    @Bean
+    public AmazonS3 amazonS3Client(@Value("${cloud.aws.credentials.accessKey}") String accessKey,
+                                   @Value("${cloud.aws.credentials.secretKey}") String secretKey,
+                                   @Value("${cloud.aws.region.static}") String region,
+                                   @Value("${cloud.aws.s3.endpoint:}") String endpoint) {
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials(accessKey, secretKey)));
+        if (StringUtils.hasText(endpoint)) {
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                    .withPathStyleAccessEnabled(true);
+        } else {
+            builder.withRegion(region);
+        }
+        return builder.build();
+    }
+
+    // multipart-threshold 이상인 파일은 part-size 단위로 나눠서 올린다
+    @Bean(destroyMethod = "")
+    public TransferManager transferManager(AmazonS3 amazonS3Client,
+                                           @Value("${attachment.upload.multipart-threshold:16777216}") long multipartThreshold,
+                                           @Value("${attachment.upload.part-size:8388608}") long partSize) {
+        return TransferManagerBuilder.standard()
+                .withS3Client(amazonS3Client)
+                .withMultipartUploadThreshold(multipartThreshold)
+                .withMinimumUploadPartSize(partSize)
+                .build();
+    }
+
+    // 종료시 TransferManager 의 thread pool 만 정리한다, shutdownNow() 는 공유하는 S3 client 까지 종료한다
+    @Bean
+    public DisposableBean transferManagerShutdown(TransferManager transferManager) {
+        return () -> transferManager.shutdownNow(false);
+    }
+}
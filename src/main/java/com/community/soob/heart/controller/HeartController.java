@@ -2,7 +2,8 @@ package com.community.soob.heart.controller;
 
 import com.community.soob.account.config.CurrentAccount;
 import com.community.soob.account.domain.Account;
-import com.community.soob.heart.service.HeartService;
+import com.community.soob.heart.service.HeartCountService;
+import com.community.soob.heart.service.HeartIngestionService;
 import com.community.soob.response.ResultResponse;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -11,42 +12,59 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import springfox.documentation.annotations.ApiIgnore;
 
+import java.util.List;
+
 @Api(tags = {"5, Heart"})
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/hearts")
 @RestController
 public class HeartController {
-    private final HeartService heartService;
+    private final HeartIngestionService heartIngestionService;
+    private final HeartCountService heartCountService;
 
     @ApiOperation(value = "게시글 하트", notes = "특정 게시글 하트 클릭")
     @PostMapping("/posts/{postId}")
-    public ResultResponse<Void> putHeartToPost(
+    public ResultResponse<Boolean> putHeartToPost(
             @ApiIgnore(value = "로그인한 유저인지 검사") @CurrentAccount Account account,
             @ApiParam(value = "게시글번호", required = true) @PathVariable Long postId) {
-        heartService.toggleHeartToPost(account, postId);
-        return ResultResponse.of(ResultResponse.SUCCESS);
+        return ResultResponse.of(ResultResponse.SUCCESS, heartIngestionService.toggleHeartToPost(account, postId));
     }
 
     @ApiOperation(value = "댓글 하트", notes = "특정 댓글 하트 클릭")
     @PostMapping("/comments/{commentId}")
-    public ResultResponse<Void> putHeartToComment(
+    public ResultResponse<Boolean> putHeartToComment(
             @ApiIgnore(value = "로그인한 유저인지 검사") @CurrentAccount Account account,
             @ApiParam(value = "댓글번호", required = true) @PathVariable Long commentId) {
-        heartService.toggleHeartToComment(account, commentId);
-        return ResultResponse.of(ResultResponse.SUCCESS);
+        return ResultResponse.of(ResultResponse.SUCCESS, heartIngestionService.toggleHeartToComment(account, commentId));
+    }
+
+    @ApiOperation(value = "게시글 하트 여부 조회", notes = "요청한 게시글 중 하트를 누른 게시글 번호 조회, 최대 100개")
+    @GetMapping("/posts")
+    public ResultResponse<List<Long>> getHeartedPostIds(
+            @ApiIgnore(value = "로그인한 유저인지 검사") @CurrentAccount Account account,
+            @ApiParam(value = "게시글번호 목록", required = true) @RequestParam List<Long> ids) {
+        return ResultResponse.of(ResultResponse.SUCCESS, heartIngestionService.getHeartedPostIds(account, ids));
+    }
+
+    @ApiOperation(value = "댓글 하트 여부 조회", notes = "요청한 댓글 중 하트를 누른 댓글 번호 조회, 최대 100개")
+    @GetMapping("/comments")
+    public ResultResponse<List<Long>> getHeartedCommentIds(
+            @ApiIgnore(value = "로그인한 유저인지 검사") @CurrentAccount Account account,
+            @ApiParam(value = "댓글번호 목록", required = true) @RequestParam List<Long> ids) {
+        return ResultResponse.of(ResultResponse.SUCCESS, heartIngestionService.getHeartedCommentIds(account, ids));
     }
 
     @ApiOperation(value = "게시글 하트 갯수 조회", notes = "특정 게시글 하트 갯수 조회")
     @GetMapping("/posts/{postId}")
     public ResultResponse<Long> getHeartCountForPost(
             @ApiParam(value = "게시글번호", required = true) @PathVariable Long postId) {
-        return ResultResponse.of(ResultResponse.SUCCESS, heartService.getHeartCountForPost(postId));
+        return ResultResponse.of(ResultResponse.SUCCESS, heartCountService.getHeartCountForPost(postId));
     }
 
     @ApiOperation(value = "댓글 하트 갯수 조회", notes = "특정 댓글 하트 갯수 조회")
     @GetMapping("/comments/{commentId}")
     public ResultResponse<Long> getHeartCountForComment(
             @ApiParam(value = "댓글번호", required = true) @PathVariable Long commentId) {
-        return ResultResponse.of(ResultResponse.SUCCESS, heartService.getHeartCountForComment(commentId));
+        return ResultResponse.of(ResultResponse.SUCCESS, heartCountService.getHeartCountForComment(commentId));
     }
 }
@@ -12,7 +12,10 @@ import javax.persistence.*;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "heart")
+@Table(name = "heart", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_heart_post_account", columnNames = {"post_id", "account_id"}),
+        @UniqueConstraint(name = "uk_heart_comment_account", columnNames = {"comment_id", "account_id"})
+})
 @Entity
 public class Heart {
     @Id
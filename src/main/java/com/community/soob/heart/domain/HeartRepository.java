@@ -1,13 +1,66 @@
 package com.community.soob.heart.domain;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface HeartRepository extends JpaRepository<Heart, Long> {
     Heart findByPostIdAndAccountId(Long postId, Long accountId);
     Heart findByCommentIdAndAccountId(Long commentId, Long accountId);
     Long countByPostId(Long postId);
     Long countByCommentId(Long commentId);
+    boolean existsByPostIdAndAccountId(Long postId, Long accountId);
+    boolean existsByCommentIdAndAccountId(Long commentId, Long accountId);
+
+    // 요청한 게시글, 댓글 중 회원이 하트를 누른 번호만 조회, (post_id, account_id) 와 (comment_id, account_id) unique index 를 사용한다
+    @Query("select h.post.id from Heart h where h.account.id = :accountId and h.post.id in :postIds")
+    List<Long> findHeartedPostIds(@Param("accountId") long accountId, @Param("postIds") Collection<Long> postIds);
+
+    @Query("select h.comment.id from Heart h where h.account.id = :accountId and h.comment.id in :commentIds")
+    List<Long> findHeartedCommentIds(@Param("accountId") long accountId, @Param("commentIds") Collection<Long> commentIds);
+
+    // (post_id, account_id), (comment_id, account_id) unique 제약으로 중복 하트는 무시된다
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO heart (post_id, account_id) VALUES (:postId, :accountId)", nativeQuery = true)
+    int insertIgnoreForPost(@Param("postId") long postId, @Param("accountId") long accountId);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO heart (comment_id, account_id) VALUES (:commentId, :accountId)", nativeQuery = true)
+    int insertIgnoreForComment(@Param("commentId") long commentId, @Param("accountId") long accountId);
+
+    @Modifying
+    @Query("delete from Heart h where h.post.id = :postId and h.account.id = :accountId")
+    int deleteByPostIdAndAccountId(@Param("postId") long postId, @Param("accountId") long accountId);
+
+    @Modifying
+    @Query("delete from Heart h where h.comment.id = :commentId and h.account.id = :accountId")
+    int deleteByCommentIdAndAccountId(@Param("commentId") long commentId, @Param("accountId") long accountId);
+
+    // 한 건씩 조회해서 지우지 않고 delete 쿼리 한번으로 삭제
+    @Modifying
+    @Query("delete from Heart h where h.post.id = :postId")
+    void deleteAllByPostId(@Param("postId") long postId);
+
+    @Modifying
+    @Query("delete from Heart h where h.comment.id = :commentId")
+    void deleteAllByCommentId(@Param("commentId") long commentId);
+
+    @Query("select count(h) from Heart h where h.comment.id in (select c.id from Comment c where c.post.id = :postId)")
+    long countForCommentsOfPost(@Param("postId") long postId);
+
+    @Query("select h.id from Heart h where h.post.id = :postId order by h.id asc")
+    List<Long> findIdsByPostId(@Param("postId") long postId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Heart h where h.comment.id in :commentIds")
+    int deleteAllByCommentIds(@Param("commentIds") List<Long> commentIds);
 
-    void deleteAllByPostId(long postId);
-    void deleteAllByCommentId(long commentId);
+    @Modifying
+    @Query("delete from Heart h where h.id in :ids")
+    int deleteAllByIdInBulk(@Param("ids") List<Long> ids);
 }
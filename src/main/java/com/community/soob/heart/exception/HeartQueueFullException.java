@@ -0,0 +1,9 @@
+package com.community.soob.heart.exception;
+
+import com.community.soob.common.BusinessException;
+
+public class HeartQueueFullException extends BusinessException {
+    public HeartQueueFullException() {
+        super("하트 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
@@ -0,0 +1,9 @@
+package com.community.soob.heart.exception;
+
+import com.community.soob.common.InvalidValueException;
+
+public class TooManyHeartTargetsException extends InvalidValueException {
+    public TooManyHeartTargetsException() {
+        super();
+    }
+}
@@ -0,0 +1,132 @@
+package com.community.soob.heart.service;
+
+import com.community.soob.account.domain.AccountRepository;
+import com.community.soob.post.service.PostCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// 하트 이벤트를 JDBC batch 로 반영
+// 기존 하트를 먼저 잠금 조회해서 실제로 바뀌는 하트만 반영하므로 같은 이벤트를 다시 적용해도 결과가 같다
+@RequiredArgsConstructor
+@Component
+public class HeartBatchWriter {
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final PostCache postCache;
+
+    // 반영된(실제로 추가, 삭제된) 하트 수를 반환
+    @Transactional
+    public int write(List<HeartEvent> events) {
+        Map<HeartEvent.Target, List<HeartEvent>> eventsByTarget = events.stream()
+                .collect(Collectors.groupingBy(HeartEvent::getTarget));
+
+        int written = 0;
+        for (Map.Entry<HeartEvent.Target, List<HeartEvent>> entry : eventsByTarget.entrySet()) {
+            written += write(entry.getKey(), entry.getValue());
+        }
+        return written;
+    }
+
+    private int write(HeartEvent.Target target, List<HeartEvent> events) {
+        Set<Long> targetIds = events.stream().map(HeartEvent::getTargetId).collect(Collectors.toSet());
+        Set<Long> accountIds = events.stream().map(HeartEvent::getAccountId).collect(Collectors.toSet());
+        Map<Long, Long> authorIds = findAuthorIds(target, targetIds);
+        Set<String> existingHearts = findExistingHearts(target, targetIds, accountIds);
+
+        List<SqlParameterSource> inserts = new ArrayList<>();
+        List<SqlParameterSource> deletes = new ArrayList<>();
+        Map<Long, Integer> heartCountDeltas = new TreeMap<>();
+        Map<Long, Integer> levelPointDeltas = new TreeMap<>();
+        for (HeartEvent event : events) {
+            // 삭제된 게시글, 댓글의 하트는 버린다
+            Long authorId = authorIds.get(event.getTargetId());
+            if (authorId == null) {
+                continue;
+            }
+
+            boolean exists = existingHearts.contains(event.getTargetId() + ":" + event.getAccountId());
+            SqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("targetId", event.getTargetId())
+                    .addValue("accountId", event.getAccountId());
+            int delta;
+            if (event.isHearted() && !exists) {
+                inserts.add(params);
+                delta = 1;
+            } else if (!event.isHearted() && exists) {
+                deletes.add(params);
+                delta = -1;
+            } else {
+                continue;
+            }
+            heartCountDeltas.merge(event.getTargetId(), delta, Integer::sum);
+            levelPointDeltas.merge(authorId, delta * target.getPoint(), Integer::sum);
+        }
+
+        if (!inserts.isEmpty()) {
+            namedParameterJdbcTemplate.batchUpdate(
+                    "INSERT IGNORE INTO heart (" + target.getIdColumn() + ", account_id) VALUES (:targetId, :accountId)",
+                    inserts.toArray(new SqlParameterSource[0]));
+        }
+        if (!deletes.isEmpty()) {
+            namedParameterJdbcTemplate.batchUpdate(
+                    "DELETE FROM heart WHERE " + target.getIdColumn() + " = :targetId AND account_id = :accountId",
+                    deletes.toArray(new SqlParameterSource[0]));
+        }
+        // 잠금 순서가 항상 같도록 번호순으로 반영
+        namedParameterJdbcTemplate.batchUpdate(
+                "UPDATE " + target.getTable() + " SET heart_count = heart_count + :delta WHERE " + target.getIdColumn() + " = :targetId",
+                toParams(heartCountDeltas, "targetId"));
+        namedParameterJdbcTemplate.batchUpdate(AccountRepository.ADD_LEVEL_POINT_SQL, toParams(levelPointDeltas, "accountId"));
+        if (target == HeartEvent.Target.POST) {
+            postCache.evictAll(heartCountDeltas.entrySet().stream()
+                    .filter(entry -> entry.getValue() != 0)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList()));
+        }
+        return inserts.size() + deletes.size();
+    }
+
+    private Map<Long, Long> findAuthorIds(HeartEvent.Target target, Set<Long> targetIds) {
+        String sql = (target == HeartEvent.Target.POST)
+                ? "SELECT post_id AS target_id, account_id FROM post WHERE post_id IN (:targetIds) AND deleted = false"
+                : "SELECT c.comment_id AS target_id, c.account_id FROM comment c JOIN post p ON p.post_id = c.post_id " +
+                  "WHERE c.comment_id IN (:targetIds) AND p.deleted = false";
+        Map<Long, Long> authorIds = new HashMap<>();
+        namedParameterJdbcTemplate.query(sql, new MapSqlParameterSource("targetIds", targetIds),
+                rs -> { authorIds.put(rs.getLong("target_id"), rs.getLong("account_id")); });
+        return authorIds;
+    }
+
+    private Set<String> findExistingHearts(HeartEvent.Target target, Set<Long> targetIds, Set<Long> accountIds) {
+        String sql = "SELECT " + target.getIdColumn() + " AS target_id, account_id FROM heart " +
+                "WHERE " + target.getIdColumn() + " IN (:targetIds) AND account_id IN (:accountIds) FOR UPDATE";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("targetIds", targetIds)
+                .addValue("accountIds", accountIds);
+        Set<String> existingHearts = new HashSet<>();
+        namedParameterJdbcTemplate.query(sql, params,
+                rs -> { existingHearts.add(rs.getLong("target_id") + ":" + rs.getLong("account_id")); });
+        return existingHearts;
+    }
+
+    private static SqlParameterSource[] toParams(Map<Long, Integer> deltas, String idName) {
+        return deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue(idName, entry.getKey())
+                        .addValue("delta", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+    }
+}
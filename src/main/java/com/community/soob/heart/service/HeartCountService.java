@@ -0,0 +1,64 @@
+package com.community.soob.heart.service;
+
+import com.community.soob.comment.domain.CommentRepository;
+import com.community.soob.comment.exception.CommentNotFoundException;
+import com.community.soob.post.domain.PostRepository;
+import com.community.soob.post.exception.PostNotFoundException;
+import com.community.soob.util.RedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Supplier;
+
+// 하트 수 조회, heart 테이블을 세지 않고 게시글, 댓글의 비정규화된 하트 수를 짧은 TTL 로 캐시해서 응답
+// 비정규화된 하트 수가 어긋나면 HeartCountVerifier 가 바로잡는다
+@Slf4j
+@Service
+public class HeartCountService {
+    private static final String POST_KEY_PREFIX = "heart:count:post:";
+    private static final String COMMENT_KEY_PREFIX = "heart:count:comment:";
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final RedisUtil redisUtil;
+    private final long cacheTtl;
+
+    public HeartCountService(PostRepository postRepository, CommentRepository commentRepository, RedisUtil redisUtil, @Value("${heart.count.cache-ttl:5}") long cacheTtl) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.redisUtil = redisUtil;
+        this.cacheTtl = cacheTtl;
+    }
+
+    public long getHeartCountForPost(long postId) {
+        return getCachedCount(POST_KEY_PREFIX + postId, () -> postRepository.findHeartCountById(postId)
+                .orElseThrow(PostNotFoundException::new));
+    }
+
+    public long getHeartCountForComment(long commentId) {
+        return getCachedCount(COMMENT_KEY_PREFIX + commentId, () -> commentRepository.findHeartCountById(commentId)
+                .orElseThrow(CommentNotFoundException::new));
+    }
+
+    private long getCachedCount(String key, Supplier<Integer> loader) {
+        String cachedCount = null;
+        try {
+            cachedCount = redisUtil.getData(key);
+        } catch (RuntimeException e) {
+            // Redis 장애시에는 DB 에서 조회
+            log.warn("하트 수 캐시 조회 실패: " + e.getMessage());
+        }
+        if (cachedCount != null) {
+            return Long.parseLong(cachedCount);
+        }
+
+        long count = loader.get();
+        try {
+            redisUtil.setDataExpire(key, String.valueOf(count), cacheTtl);
+        } catch (RuntimeException e) {
+            log.warn("하트 수 캐시 저장 실패: " + e.getMessage());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,95 @@
+package com.community.soob.heart.service;
+
+import com.community.soob.util.RedisLeaderLock;
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// 비정규화된 하트 수를 heart 테이블의 COUNT(*) 와 비교해서 어긋난 값을 바로잡는다
+// 한번에 chunk-size 개씩 번호순으로 검사하고, 끝까지 검사하면 처음부터 다시 검사한다
+@Slf4j
+@Component
+public class HeartCountVerifier {
+    private static final String LEADER_KEY = "heart:count:verifier:leader";
+    // 삭제된 게시글(과 그 댓글)은 purge 중에 하트를 먼저 지우므로 검사하지 않는다
+    private static final String NOT_DELETED_POST_JOIN = "JOIN post p ON p.post_id = t.post_id AND p.deleted = false ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisLeaderLock leaderLock;
+    private final int chunkSize;
+    // 대상별로 마지막으로 검사한 번호
+    private final Map<HeartEvent.Target, Long> lastIds = new EnumMap<>(HeartEvent.Target.class);
+    private final Map<HeartEvent.Target, Counter> driftCounters = new EnumMap<>(HeartEvent.Target.class);
+
+    public HeartCountVerifier(JdbcTemplate jdbcTemplate, RedisUtil redisUtil, MeterRegistry meterRegistry, @Value("${heart.count.verify-interval:60000}") long verifyInterval, @Value("${heart.count.verify-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaderLock = new RedisLeaderLock(redisUtil, LEADER_KEY, Math.max(1, verifyInterval * 3 / 1000));
+        this.chunkSize = chunkSize;
+        for (HeartEvent.Target target : HeartEvent.Target.values()) {
+            lastIds.put(target, 0L);
+            driftCounters.put(target, Counter.builder("heart.count.drift")
+                    .description("비정규화된 하트 수가 실제 하트 수와 달라서 바로잡은 행 수")
+                    .tag("target", target.getTable())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${heart.count.verify-interval:60000}")
+    public void verify() {
+        if (!leaderLock.acquire()) {
+            return;
+        }
+
+        for (HeartEvent.Target target : HeartEvent.Target.values()) {
+            try {
+                verifyChunk(target);
+            } catch (RuntimeException e) {
+                log.error("하트 수 검사 실패: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    // 바로잡은 행 수를 반환
+    public int verifyChunk(HeartEvent.Target target) {
+        String idColumn = target.getIdColumn();
+        String sql = "SELECT t." + idColumn + " AS target_id, t.heart_count, " +
+                "(SELECT COUNT(*) FROM heart h WHERE h." + idColumn + " = t." + idColumn + ") AS actual_count " +
+                "FROM " + target.getTable() + " t " + NOT_DELETED_POST_JOIN +
+                "WHERE t." + idColumn + " > ? ORDER BY t." + idColumn + " LIMIT ?";
+
+        List<Object[]> driftedIds = new ArrayList<>();
+        long[] lastId = {lastIds.get(target)};
+        int[] checked = {0};
+        jdbcTemplate.query(sql, rs -> {
+            long targetId = rs.getLong("target_id");
+            if (rs.getLong("heart_count") != rs.getLong("actual_count")) {
+                driftedIds.add(new Object[]{targetId, targetId});
+            }
+            lastId[0] = targetId;
+            checked[0]++;
+        }, lastIds.get(target), chunkSize);
+
+        // 마지막까지 검사했으면 처음부터 다시
+        lastIds.put(target, (checked[0] < chunkSize) ? 0L : lastId[0]);
+        if (driftedIds.isEmpty()) {
+            return 0;
+        }
+
+        // 검사한 뒤 바뀐 하트를 덮어쓰지 않도록 저장한 값이 아니라 반영하는 시점에 다시 센 값으로 바로잡는다
+        jdbcTemplate.batchUpdate("UPDATE " + target.getTable() + " SET heart_count = " +
+                "(SELECT COUNT(*) FROM heart h WHERE h." + idColumn + " = ?) WHERE " + idColumn + " = ?", driftedIds);
+        driftCounters.get(target).increment(driftedIds.size());
+        log.warn(target.getTable() + " 하트 수 " + driftedIds.size() + "건 보정");
+        return driftedIds.size();
+    }
+}
@@ -0,0 +1,64 @@
+package com.community.soob.heart.service;
+
+import com.community.soob.account.domain.Account;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 하트 토글 요청, 토글이 아니라 요청 시점에 기대한 최종 상태를 담으므로 여러번 적용해도 결과가 같다
+@EqualsAndHashCode
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class HeartEvent {
+    private static final String DELIMITER = ":";
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Target {
+        POST("P", "post", "post_id", Account.POST_HEART_POINT),
+        COMMENT("C", "comment", "comment_id", Account.COMMENT_HEART_POINT),
+        ;
+
+        private final String code;
+        private final String table;
+        private final String idColumn;
+        private final int point;
+
+        public static Target fromCode(String code) {
+            for (Target target : values()) {
+                if (target.code.equals(code)) {
+                    return target;
+                }
+            }
+            throw new IllegalArgumentException("잘못된 하트 대상: " + code);
+        }
+    }
+
+    private final Target target;
+    private final long targetId;
+    private final long accountId;
+    private final boolean hearted;
+
+    public static HeartEvent of(Target target, long targetId, long accountId, boolean hearted) {
+        return new HeartEvent(target, targetId, accountId, hearted);
+    }
+
+    // 같은 key 의 이벤트는 마지막 이벤트만 적용하면 된다
+    public static String key(Target target, long targetId, long accountId) {
+        return target.code + DELIMITER + targetId + DELIMITER + accountId;
+    }
+
+    public String key() {
+        return key(target, targetId, accountId);
+    }
+
+    public String encode() {
+        return key() + DELIMITER + (hearted ? "1" : "0");
+    }
+
+    public static HeartEvent decode(String encoded) {
+        String[] values = encoded.split(DELIMITER);
+        return new HeartEvent(Target.fromCode(values[0]), Long.parseLong(values[1]), Long.parseLong(values[2]), "1".equals(values[3]));
+    }
+}
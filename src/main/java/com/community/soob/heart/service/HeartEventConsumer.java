@@ -0,0 +1,130 @@
+package com.community.soob.heart.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// window 마다 큐에 모인 하트 이벤트를 (대상, 회원) 별로 합쳐서 한번에 반영
+@Slf4j
+@ConditionalOnExpression("'${heart.ingestion.mode:direct}' != 'direct'")
+@Component
+public class HeartEventConsumer {
+    private final HeartEventQueue heartEventQueue;
+    private final HeartBatchWriter heartBatchWriter;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter deadLetterCounter;
+    // 큐 앞의 batch 가 연속으로 실패한 횟수, 스케줄러 스레드 하나에서만 바꾼다
+    private int failedAttempts;
+
+    public HeartEventConsumer(HeartEventQueue heartEventQueue, HeartBatchWriter heartBatchWriter, MeterRegistry meterRegistry,
+                              @Value("${heart.ingestion.batch-size:500}") int batchSize,
+                              @Value("${heart.ingestion.max-attempts:5}") int maxAttempts) {
+        this.heartEventQueue = heartEventQueue;
+        this.heartBatchWriter = heartBatchWriter;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+
+        Gauge.builder("heart.ingestion.queue.depth", heartEventQueue, HeartEventQueue::size)
+                .description("반영을 기다리는 하트 이벤트 수")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("heart.ingestion.batch.size")
+                .description("한번에 반영한 하트 이벤트 수 (합친 뒤)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("heart.ingestion.dead-letter")
+                .description("계속 반영에 실패해서 버린 하트 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${heart.ingestion.window:200}")
+    public void consume() {
+        if (!heartEventQueue.isConsumer()) {
+            return;
+        }
+
+        List<HeartEvent> events = heartEventQueue.poll(batchSize);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<HeartEvent> coalesced = coalesce(events);
+        try {
+            heartBatchWriter.write(coalesced);
+        } catch (RuntimeException e) {
+            log.error("하트 반영 실패: " + e.getMessage(), e);
+            if (++failedAttempts < maxAttempts || !writeEach(coalesced)) {
+                heartEventQueue.release(events);
+                return;
+            }
+        }
+        failedAttempts = 0;
+        heartEventQueue.acknowledge(events);
+        batchSizeSummary.record(coalesced.size());
+    }
+
+    // 종료(kill -15) 시 메모리에 남아있는 이벤트를 모두 반영
+    @PreDestroy
+    public void consumeOnShutdown() {
+        while (heartEventQueue.isConsumer() && heartEventQueue.size() > 0) {
+            long before = heartEventQueue.size();
+            consume();
+            if (heartEventQueue.size() >= before) {
+                return;
+            }
+        }
+    }
+
+    // 같은 batch 가 max-attempts 번 실패하면 하나씩 반영해서 실패하는 이벤트만 dead letter 로 옮긴다
+    // 하나도 반영하지 못했으면 DB 장애일 수 있으므로, 제약조건 위반으로 실패한 게 아니면 옮기지 않고 다시 시도한다
+    // 모든 이벤트를 반영하거나 옮겼으면 true
+    private boolean writeEach(List<HeartEvent> events) {
+        List<HeartEvent> failed = new ArrayList<>();
+        boolean written = false;
+        boolean rejected = true;
+        for (HeartEvent event : events) {
+            try {
+                heartBatchWriter.write(List.of(event));
+                written = true;
+            } catch (DataIntegrityViolationException e) {
+                failed.add(event);
+            } catch (RuntimeException e) {
+                failed.add(event);
+                rejected = false;
+            }
+        }
+        if (!written && !rejected) {
+            return false;
+        }
+        if (!failed.isEmpty()) {
+            failed.forEach(event -> log.error("하트 이벤트를 반영하지 못해서 버림: " + event.encode()));
+            heartEventQueue.deadLetter(failed);
+            deadLetterCounter.increment(failed.size());
+        }
+        return true;
+    }
+
+    // 같은 (대상, 회원) 의 이벤트는 마지막 상태만 남긴다
+    static List<HeartEvent> coalesce(List<HeartEvent> events) {
+        Map<String, HeartEvent> lastEvents = new LinkedHashMap<>();
+        for (HeartEvent event : events) {
+            lastEvents.remove(event.key());
+            lastEvents.put(event.key(), event);
+        }
+        return new ArrayList<>(lastEvents.values());
+    }
+}
@@ -0,0 +1,51 @@
+package com.community.soob.heart.service;
+
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// heart.ingestion.mode 가 queue(메모리) 또는 redis 일때 하트 이벤트를 모아두는 큐
+// 아직 DB 에 반영되지 않은 key 별 마지막 상태도 함께 관리한다
+public interface HeartEventQueue {
+    // 큐가 가득 차면 false
+    boolean offer(HeartEvent event);
+
+    // 아직 반영되지 않은 상태, 없으면 null
+    @Nullable
+    Boolean getPendingState(String key);
+
+    // 여러 key 의 반영되지 않은 상태, 상태가 없는 key 는 포함하지 않는다
+    default Map<String, Boolean> getPendingStates(List<String> keys) {
+        Map<String, Boolean> pendingStates = new HashMap<>();
+        for (String key : keys) {
+            Boolean pendingState = getPendingState(key);
+            if (pendingState != null) {
+                pendingStates.put(key, pendingState);
+            }
+        }
+        return pendingStates;
+    }
+
+    // 앞에서부터 최대 max 개를 가져온다, acknowledge 또는 release 로 처리 결과를 알려야 한다
+    List<HeartEvent> poll(int max);
+
+    // poll 한 이벤트를 DB 에 반영함
+    void acknowledge(List<HeartEvent> events);
+
+    // poll 한 이벤트의 반영에 실패함, 다음 poll 때 다시 가져온다
+    void release(List<HeartEvent> events);
+
+    // 계속 반영에 실패해서 버리는 이벤트를 따로 남긴다, 큐에서는 acknowledge 로 제거한다
+    // 메모리 큐는 HeartEventConsumer 의 로그와 metric 으로만 남긴다
+    default void deadLetter(List<HeartEvent> events) {
+    }
+
+    long size();
+
+    // 이 노드가 이벤트를 반영해도 되는지
+    default boolean isConsumer() {
+        return true;
+    }
+}
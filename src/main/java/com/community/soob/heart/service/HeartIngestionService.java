@@ -0,0 +1,120 @@
+package com.community.soob.heart.service;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.comment.domain.CommentRepository;
+import com.community.soob.comment.exception.CommentNotFoundException;
+import com.community.soob.heart.domain.HeartRepository;
+import com.community.soob.heart.exception.HeartQueueFullException;
+import com.community.soob.post.domain.PostRepository;
+import com.community.soob.post.exception.PostNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 하트 토글 요청을 받는 곳
+// 큐가 설정되어 있으면 요청 시점에 기대한 상태를 큐에 넣고 바로 응답하고, HeartEventConsumer 가 모아서 반영한다
+@Service
+public class HeartIngestionService {
+    private final HeartService heartService;
+    private final HeartRepository heartRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final HeartEventQueue heartEventQueue;
+    private final Counter rejectedCounter;
+
+    public HeartIngestionService(HeartService heartService, HeartRepository heartRepository, PostRepository postRepository, CommentRepository commentRepository, ObjectProvider<HeartEventQueue> heartEventQueue, MeterRegistry meterRegistry) {
+        this.heartService = heartService;
+        this.heartRepository = heartRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.heartEventQueue = heartEventQueue.getIfAvailable();
+        this.rejectedCounter = Counter.builder("heart.ingestion.rejected")
+                .description("큐가 가득 차서 거절한 하트 요청 수")
+                .register(meterRegistry);
+    }
+
+    // 하트를 누른 상태가 되면 true
+    public boolean toggleHeartToPost(Account account, long postId) {
+        if (heartEventQueue == null) {
+            return heartService.toggleHeartToPost(account, postId);
+        }
+
+        postRepository.findAuthorIdById(postId)
+                .orElseThrow(PostNotFoundException::new);
+        String key = HeartEvent.key(HeartEvent.Target.POST, postId, account.getId());
+        Boolean pendingState = heartEventQueue.getPendingState(key);
+        boolean hearted = (pendingState != null) ? pendingState : heartRepository.existsByPostIdAndAccountId(postId, account.getId());
+        return offer(HeartEvent.of(HeartEvent.Target.POST, postId, account.getId(), !hearted));
+    }
+
+    public boolean toggleHeartToComment(Account account, long commentId) {
+        if (heartEventQueue == null) {
+            return heartService.toggleHeartToComment(account, commentId);
+        }
+
+        commentRepository.findAuthorIdById(commentId)
+                .orElseThrow(CommentNotFoundException::new);
+        String key = HeartEvent.key(HeartEvent.Target.COMMENT, commentId, account.getId());
+        Boolean pendingState = heartEventQueue.getPendingState(key);
+        boolean hearted = (pendingState != null) ? pendingState : heartRepository.existsByCommentIdAndAccountId(commentId, account.getId());
+        return offer(HeartEvent.of(HeartEvent.Target.COMMENT, commentId, account.getId(), !hearted));
+    }
+
+    // 아직 반영되지 않은 하트 상태까지 합쳐서 하트를 누른 번호를 반환, 로그인하지 않았으면 빈 목록
+    public List<Long> getHeartedPostIds(@Nullable Account account, List<Long> postIds) {
+        if (account == null) {
+            return List.of();
+        }
+        return applyPendingStates(HeartEvent.Target.POST, account, postIds, heartService.getHeartedPostIds(account, postIds));
+    }
+
+    public List<Long> getHeartedCommentIds(@Nullable Account account, List<Long> commentIds) {
+        if (account == null) {
+            return List.of();
+        }
+        return applyPendingStates(HeartEvent.Target.COMMENT, account, commentIds, heartService.getHeartedCommentIds(account, commentIds));
+    }
+
+    private List<Long> applyPendingStates(HeartEvent.Target target, Account account, List<Long> targetIds, List<Long> heartedIds) {
+        if (heartEventQueue == null || targetIds.isEmpty()) {
+            return heartedIds;
+        }
+
+        List<String> keys = targetIds.stream()
+                .map(targetId -> HeartEvent.key(target, targetId, account.getId()))
+                .collect(Collectors.toList());
+        Map<String, Boolean> pendingStates = heartEventQueue.getPendingStates(keys);
+        if (pendingStates.isEmpty()) {
+            return heartedIds;
+        }
+
+        Set<Long> hearted = new LinkedHashSet<>(heartedIds);
+        for (int i = 0; i < targetIds.size(); i++) {
+            Boolean pendingState = pendingStates.get(keys.get(i));
+            if (Boolean.TRUE.equals(pendingState)) {
+                hearted.add(targetIds.get(i));
+            } else if (Boolean.FALSE.equals(pendingState)) {
+                hearted.remove(targetIds.get(i));
+            }
+        }
+        return new ArrayList<>(hearted);
+    }
+
+    // 큐가 가득 차면 요청을 쌓지 않고 거절한다
+    private boolean offer(HeartEvent event) {
+        if (!heartEventQueue.offer(event)) {
+            rejectedCounter.increment();
+            throw new HeartQueueFullException();
+        }
+        return event.isHearted();
+    }
+}
@@ -2,79 +2,94 @@ package com.community.soob.heart.service;
 
 import com.community.soob.account.domain.Account;
 import com.community.soob.account.domain.AccountRepository;
-import com.community.soob.comment.domain.Comment;
 import com.community.soob.comment.domain.CommentRepository;
 import com.community.soob.comment.exception.CommentNotFoundException;
-import com.community.soob.heart.domain.Heart;
 import com.community.soob.heart.domain.HeartRepository;
-import com.community.soob.post.domain.Post;
+import com.community.soob.heart.exception.TooManyHeartTargetsException;
 import com.community.soob.post.domain.PostRepository;
 import com.community.soob.post.exception.PostNotFoundException;
+import com.community.soob.post.service.PostCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @Service
 public class HeartService {
+    // 한번에 하트 여부를 조회할 수 있는 게시글, 댓글 수
+    public static final int MAX_HEARTED_LOOKUP_SIZE = 100;
+
     private final HeartRepository heartRepository;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
     private final AccountRepository accountRepository;
+    private final PostCache postCache;
 
+    // 엔티티를 로딩하지 않고 삭제를 먼저 시도해서 삭제된 행이 없으면 하트를 추가한다
+    // 하트 수와 작성자 포인트는 상대값 update 로 반영하므로 동시에 눌러도 유실되지 않는다
+    // 하트를 누른 상태가 되면 true
     @Transactional
-    public void toggleHeartToPost(Account account, long postId) {
-        Post post = postRepository.findById(postId)
+    public boolean toggleHeartToPost(Account account, long postId) {
+        long authorId = postRepository.findAuthorIdById(postId)
                 .orElseThrow(PostNotFoundException::new);
-        Heart heart = Heart.builder()
-                .account(account)
-                .post(post)
-                .build();
-        Account author = post.getAuthor();
-
-        Heart foundHeart = heartRepository.findByPostIdAndAccountId(postId, account.getId());
-        if (foundHeart == null) {
-            heartRepository.save(heart);
-            post.increaseHeart();
-            author.increasePostHeartPoint();
+
+        int delta;
+        if (heartRepository.deleteByPostIdAndAccountId(postId, account.getId()) > 0) {
+            delta = -1;
         } else {
-            heartRepository.delete(foundHeart);
-            post.decreaseHeart();
-            author.decreasePostHeartPoint(1);
+            delta = heartRepository.insertIgnoreForPost(postId, account.getId());
         }
 
-        author.updateLevel();
-
-        postRepository.save(post);
-        accountRepository.save(author);
+        if (delta != 0) {
+            postRepository.addHeartCount(postId, delta);
+            accountRepository.addLevelPoint(authorId, delta * Account.POST_HEART_POINT);
+            postCache.evict(postId);
+        }
+        return delta >= 0;
     }
 
     @Transactional
-    public void toggleHeartToComment(Account account, long commentId) {
-        Comment comment = commentRepository.findById(commentId)
+    public boolean toggleHeartToComment(Account account, long commentId) {
+        long authorId = commentRepository.findAuthorIdById(commentId)
                 .orElseThrow(CommentNotFoundException::new);
-        Heart heart = Heart.builder()
-                .account(account)
-                .comment(comment)
-                .build();
-        Account author = comment.getAuthor();
-
-        Heart foundHeart = heartRepository.findByCommentIdAndAccountId(commentId, account.getId());
-        if (foundHeart == null) {
-            heartRepository.save(heart);
-            comment.increaseHeart();
-            author.increaseCommentHeartPoint();
+
+        int delta;
+        if (heartRepository.deleteByCommentIdAndAccountId(commentId, account.getId()) > 0) {
+            delta = -1;
         } else {
-            heartRepository.delete(foundHeart);
-            comment.decreaseHeart();
-            author.decreaseCommentHeartPoint(1);
+            delta = heartRepository.insertIgnoreForComment(commentId, account.getId());
         }
 
-        author.updateLevel();
+        if (delta != 0) {
+            commentRepository.addHeartCount(commentId, delta);
+            accountRepository.addLevelPoint(authorId, delta * Account.COMMENT_HEART_POINT);
+        }
+        return delta >= 0;
+    }
+
+    // 요청한 게시글 중 하트를 누른 게시글 번호
+    public List<Long> getHeartedPostIds(Account account, List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        if (postIds.size() > MAX_HEARTED_LOOKUP_SIZE) {
+            throw new TooManyHeartTargetsException();
+        }
+        return heartRepository.findHeartedPostIds(account.getId(), postIds);
+    }
 
-        commentRepository.save(comment);
-        accountRepository.save(author);
+    public List<Long> getHeartedCommentIds(Account account, List<Long> commentIds) {
+        if (commentIds.isEmpty()) {
+            return List.of();
+        }
+        if (commentIds.size() > MAX_HEARTED_LOOKUP_SIZE) {
+            throw new TooManyHeartTargetsException();
+        }
+        return heartRepository.findHeartedCommentIds(account.getId(), commentIds);
     }
 
     public Long getHeartCountForPost(long postId) {
@@ -86,12 +101,26 @@ public class HeartService {
     }
 
     @Transactional
-    public void deleteAllHeartForPost(long postId) {
-        heartRepository.deleteAllByPostId(postId);
+    public void deleteAllHeartForComment(long commentId) {
+        heartRepository.deleteAllByCommentId(commentId);
+    }
+
+    public long getHeartCountForCommentsOfPost(long postId) {
+        return heartRepository.countForCommentsOfPost(postId);
+    }
+
+    @Transactional
+    public int deleteAllHeartForComments(List<Long> commentIds) {
+        return heartRepository.deleteAllByCommentIds(commentIds);
     }
 
+    // 게시글 하트를 최대 chunkSize 개 삭제하고 삭제한 갯수를 반환
     @Transactional
-    public void deleteAllHeartForComment(long commentId) {
-        heartRepository.deleteAllByCommentId(commentId);
+    public int deleteHeartsForPost(long postId, int chunkSize) {
+        List<Long> heartIds = heartRepository.findIdsByPostId(postId, PageRequest.of(0, chunkSize));
+        if (heartIds.isEmpty()) {
+            return 0;
+        }
+        return heartRepository.deleteAllByIdInBulk(heartIds);
     }
 }
@@ -0,0 +1,80 @@
+package com.community.soob.heart.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+// 노드 메모리의 bounded 큐, 종료시 HeartEventConsumer 가 남은 이벤트를 모두 반영한다
+@ConditionalOnProperty(name = "heart.ingestion.mode", havingValue = "queue")
+@Component
+public class InMemoryHeartEventQueue implements HeartEventQueue {
+    private final BlockingDeque<HeartEvent> events;
+    // 반영에 실패해서 되돌린 이벤트, 큐가 가득 차 있어도 버리지 않도록 capacity 와 따로 보관한다
+    // 한번에 하나의 batch 만 반영하므로 batch 크기를 넘지 않는다
+    private final Deque<HeartEvent> released = new ConcurrentLinkedDeque<>();
+    private final Map<String, Boolean> pendingStates = new ConcurrentHashMap<>();
+
+    public InMemoryHeartEventQueue(@Value("${heart.ingestion.capacity:10000}") int capacity) {
+        this.events = new LinkedBlockingDeque<>(capacity);
+    }
+
+    @Override
+    public boolean offer(HeartEvent event) {
+        if (!events.offerLast(event)) {
+            return false;
+        }
+        pendingStates.put(event.key(), event.isHearted());
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public Boolean getPendingState(String key) {
+        return pendingStates.get(key);
+    }
+
+    @Override
+    public List<HeartEvent> poll(int max) {
+        // 되돌린 이벤트가 먼저 들어온 이벤트이므로 먼저 가져온다
+        List<HeartEvent> polled = new ArrayList<>();
+        while (polled.size() < max && !released.isEmpty()) {
+            polled.add(released.pollFirst());
+        }
+        events.drainTo(polled, max - polled.size());
+        return polled;
+    }
+
+    @Override
+    public void acknowledge(List<HeartEvent> polled) {
+        // key 별 마지막 상태와 같을 때만 지워서 반영하는 동안 새로 들어온 이벤트의 상태는 남겨둔다
+        Map<String, Boolean> lastStates = new LinkedHashMap<>();
+        for (HeartEvent event : polled) {
+            lastStates.put(event.key(), event.isHearted());
+        }
+        lastStates.forEach(pendingStates::remove);
+    }
+
+    @Override
+    public void release(List<HeartEvent> polled) {
+        // 순서를 유지하도록 역순으로 앞에 다시 넣는다
+        for (int i = polled.size() - 1; i >= 0; i--) {
+            released.offerFirst(polled.get(i));
+        }
+    }
+
+    @Override
+    public long size() {
+        return events.size() + released.size();
+    }
+}
@@ -0,0 +1,126 @@
+package com.community.soob.heart.service;
+
+import com.community.soob.util.RedisLeaderLock;
+import com.community.soob.util.RedisUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Redis list 를 사용하는 큐, 반영이 끝난 뒤에 list 에서 제거하므로 노드가 죽어도 이벤트가 남는다
+// 순서대로 반영하도록 leader 노드 하나만 소비한다
+@ConditionalOnProperty(name = "heart.ingestion.mode", havingValue = "redis")
+@Component
+public class RedisHeartEventQueue implements HeartEventQueue {
+    private static final String EVENTS_KEY = "heart:events";
+    private static final String PENDING_KEY = "heart:pending";
+    private static final String LEADER_KEY = "heart:events:leader";
+    private static final String DEAD_LETTER_KEY = "heart:events:dead";
+
+    // 큐가 가득 차지 않았으면 이벤트를 넣고 key 의 상태를 기록
+    private static final RedisScript<Long> OFFER_SCRIPT = RedisScript.of(
+            "if redis.call('LLEN', KEYS[1]) >= tonumber(ARGV[1]) then return 0 end " +
+            "redis.call('RPUSH', KEYS[1], ARGV[2]) " +
+            "redis.call('HSET', KEYS[2], ARGV[3], ARGV[4]) " +
+            "return 1", Long.class);
+
+    // 반영한 갯수만큼 list 에서 제거하고, 그 사이 바뀌지 않은 상태만 삭제
+    private static final RedisScript<Long> ACKNOWLEDGE_SCRIPT = RedisScript.of(
+            "redis.call('LTRIM', KEYS[1], tonumber(ARGV[1]), -1) " +
+            "for i = 2, #ARGV, 2 do " +
+            "  if redis.call('HGET', KEYS[2], ARGV[i]) == ARGV[i + 1] then redis.call('HDEL', KEYS[2], ARGV[i]) end " +
+            "end " +
+            "return 1", Long.class);
+
+    private final RedisUtil redisUtil;
+    private final RedisLeaderLock leaderLock;
+    private final int capacity;
+
+    public RedisHeartEventQueue(RedisUtil redisUtil, @Value("${heart.ingestion.capacity:10000}") int capacity, @Value("${heart.ingestion.window:200}") long window) {
+        this.redisUtil = redisUtil;
+        this.leaderLock = new RedisLeaderLock(redisUtil, LEADER_KEY, Math.max(5, window * 10 / 1000));
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean offer(HeartEvent event) {
+        Long offered = redisUtil.executeScript(OFFER_SCRIPT, List.of(EVENTS_KEY, PENDING_KEY),
+                String.valueOf(capacity), event.encode(), event.key(), event.isHearted() ? "1" : "0");
+        return offered != null && offered == 1;
+    }
+
+    @Nullable
+    @Override
+    public Boolean getPendingState(String key) {
+        String state = redisUtil.getHashData(PENDING_KEY, key);
+        return (state == null) ? null : "1".equals(state);
+    }
+
+    // HMGET 한번으로 조회
+    @Override
+    public Map<String, Boolean> getPendingStates(List<String> keys) {
+        Map<String, Boolean> pendingStates = new HashMap<>();
+        if (keys.isEmpty()) {
+            return pendingStates;
+        }
+
+        List<String> states = redisUtil.getHashValues(PENDING_KEY, keys);
+        for (int i = 0; i < keys.size(); i++) {
+            if (states.get(i) != null) {
+                pendingStates.put(keys.get(i), "1".equals(states.get(i)));
+            }
+        }
+        return pendingStates;
+    }
+
+    @Override
+    public List<HeartEvent> poll(int max) {
+        return redisUtil.getListRange(EVENTS_KEY, 0, max - 1).stream()
+                .map(HeartEvent::decode)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void acknowledge(List<HeartEvent> polled) {
+        Map<String, String> lastStates = new LinkedHashMap<>();
+        for (HeartEvent event : polled) {
+            lastStates.put(event.key(), event.isHearted() ? "1" : "0");
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(polled.size()));
+        lastStates.forEach((key, state) -> {
+            args.add(key);
+            args.add(state);
+        });
+        redisUtil.executeScript(ACKNOWLEDGE_SCRIPT, List.of(EVENTS_KEY, PENDING_KEY), args.toArray());
+    }
+
+    @Override
+    public void release(List<HeartEvent> polled) {
+        // 반영에 성공해야 list 에서 제거하므로 그대로 두면 된다
+    }
+
+    @Override
+    public void deadLetter(List<HeartEvent> events) {
+        redisUtil.addListData(DEAD_LETTER_KEY, events.stream().map(HeartEvent::encode).collect(Collectors.toList()));
+    }
+
+    @Override
+    public long size() {
+        return redisUtil.getListSize(EVENTS_KEY);
+    }
+
+    @Override
+    public boolean isConsumer() {
+        return leaderLock.acquire();
+    }
+}
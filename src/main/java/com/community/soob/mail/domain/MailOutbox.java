@@ -0,0 +1,87 @@
+package com.community.soob.mail.domain;
+
+import com.community.soob.common.AuditedEntity;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// 보낼 메일, 요청 트랜잭션에서 저장하고 MailOutboxWorker 가 커밋된 메일만 보낸다
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_status", columnList = "status, mail_outbox_id")
+})
+@Entity
+public class MailOutbox extends AuditedEntity {
+    private static final int LAST_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "mail_outbox_id", updatable = false)
+    private Long id;
+
+    @Column(name = "recipient", nullable = false, updatable = false)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false, updatable = false)
+    private String subject;
+
+    // 임시 비밀번호 같은 내용이 남지 않도록 보내거나 포기하면 비운다
+    @Lob
+    @Column(name = "text", nullable = false)
+    private String text;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private MailOutboxStatus status;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = LAST_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Builder
+    public MailOutbox(Long id, String recipient, String subject, String text) {
+        this.id = id;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.text = text;
+        this.status = MailOutboxStatus.PENDING;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    // 받는 사람 email 의 도메인, 도메인별로 보내는 속도를 제한한다
+    public String getRecipientDomain() {
+        return recipient.substring(recipient.lastIndexOf('@') + 1).toLowerCase();
+    }
+
+    // 실패할 때마다 다음 시도까지의 간격을 두배로 늘리고, maxAttempts 번 실패하면 더 이상 보내지 않는다
+    public void fail(String error, Duration backoff, Duration maxBackoff, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > LAST_ERROR_LENGTH ? error.substring(0, LAST_ERROR_LENGTH) : error;
+        if (attempts >= maxAttempts) {
+            this.status = MailOutboxStatus.FAILED;
+            this.text = "";
+            return;
+        }
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        this.nextAttemptAt = LocalDateTime.now().plus(delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay);
+    }
+
+    // 도메인별 속도 제한에 걸린 메일은 실패 횟수를 늘리지 않고 보낼 수 있는 시점으로 미룬다
+    public void defer(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
@@ -0,0 +1,22 @@
+package com.community.soob.mail.domain;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+    List<MailOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(MailOutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    Optional<MailOutbox> findFirstByStatusOrderByIdAsc(MailOutboxStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update MailOutbox m set m.status = com.community.soob.mail.domain.MailOutboxStatus.SENT, m.sentAt = :sentAt, m.text = '' where m.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+}
@@ -0,0 +1,8 @@
+package com.community.soob.mail.domain;
+
+public enum MailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED,
+    ;
+}
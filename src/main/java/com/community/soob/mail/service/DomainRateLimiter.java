@@ -0,0 +1,44 @@
+package com.community.soob.mail.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// 받는 사람 도메인별 token bucket, 한 도메인에 한번에 많이 보내면 상대 메일 서버가 거절하거나 스팸으로 분류한다
+public class DomainRateLimiter {
+    private final double permitsPerNano;
+    private final double capacity;
+    private final Map<String, Bucket> buckets = new HashMap<>();
+
+    public DomainRateLimiter(int permitsPerMinute) {
+        this.permitsPerNano = permitsPerMinute / 60_000_000_000.0;
+        this.capacity = permitsPerMinute;
+    }
+
+    // 요청한 수 중 지금 보낼 수 있는 수
+    public synchronized int tryAcquire(String domain, int requested, long nowNanos) {
+        Bucket bucket = buckets.computeIfAbsent(domain, key -> new Bucket(capacity, nowNanos));
+        bucket.tokens = Math.min(capacity, bucket.tokens + (nowNanos - bucket.refilledAt) * permitsPerNano);
+        bucket.refilledAt = nowNanos;
+
+        int granted = (int) Math.min(requested, Math.floor(bucket.tokens));
+        bucket.tokens -= granted;
+        return granted;
+    }
+
+    // count 개를 더 보낼 수 있게 될 때까지 남은 시간, tryAcquire 로 남은 token 을 먼저 가져간 뒤에 호출한다
+    public synchronized long nanosUntilAvailable(String domain, int count, long nowNanos) {
+        Bucket bucket = buckets.get(domain);
+        double tokens = (bucket == null) ? capacity : Math.min(capacity, bucket.tokens + (nowNanos - bucket.refilledAt) * permitsPerNano);
+        return (long) Math.ceil(Math.max(0, count - tokens) / permitsPerNano);
+    }
+
+    private static class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
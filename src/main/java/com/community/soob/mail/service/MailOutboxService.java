@@ -0,0 +1,82 @@
+package com.community.soob.mail.service;
+
+import com.community.soob.mail.domain.MailOutbox;
+import com.community.soob.mail.domain.MailOutboxRepository;
+import com.community.soob.mail.domain.MailOutboxStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+@Service
+public class MailOutboxService {
+    private final MailOutboxRepository mailOutboxRepository;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    public MailOutboxService(MailOutboxRepository mailOutboxRepository,
+                             @Value("${mail.outbox.backoff:30}") long backoff,
+                             @Value("${mail.outbox.max-backoff:3600}") long maxBackoff,
+                             @Value("${mail.outbox.max-attempts:8}") int maxAttempts) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.backoff = Duration.ofSeconds(backoff);
+        this.maxBackoff = Duration.ofSeconds(maxBackoff);
+        this.maxAttempts = maxAttempts;
+    }
+
+    // 요청 트랜잭션에 참여해서 저장, 트랜잭션이 롤백되면 메일도 보내지 않는다
+    @Transactional
+    public MailOutbox enqueue(String to, String subject, String text) {
+        return mailOutboxRepository.save(MailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .text(text)
+                .build());
+    }
+
+    public List<MailOutbox> findDue(int limit) {
+        return mailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                MailOutboxStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    public Optional<LocalDateTime> findOldestPendingCreatedAt() {
+        return mailOutboxRepository.findFirstByStatusOrderByIdAsc(MailOutboxStatus.PENDING)
+                .map(MailOutbox::getCreatedAt);
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            mailOutboxRepository.markSent(ids, LocalDateTime.now());
+        }
+    }
+
+    // id 별 다음 발송 시각
+    @Transactional
+    public void defer(Map<Long, LocalDateTime> nextAttemptAts) {
+        if (nextAttemptAts.isEmpty()) {
+            return;
+        }
+        mailOutboxRepository.findAllById(nextAttemptAts.keySet())
+                .forEach(mailOutbox -> mailOutbox.defer(nextAttemptAts.get(mailOutbox.getId())));
+    }
+
+    // id 별 실패 사유
+    @Transactional
+    public void markFailed(Map<Long, String> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        mailOutboxRepository.findAllById(failures.keySet())
+                .forEach(mailOutbox -> mailOutbox.fail(failures.get(mailOutbox.getId()), backoff, maxBackoff, maxAttempts));
+    }
+}
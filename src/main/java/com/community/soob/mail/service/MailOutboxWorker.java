@@ -0,0 +1,187 @@
+package com.community.soob.mail.service;
+
+import com.community.soob.mail.domain.MailOutbox;
+import com.community.soob.util.RedisLeaderLock;
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// leader 노드만 outbox 의 메일을 보낸다, 도메인별로 묶어서 SMTP 연결 한번으로 보내고 결과는 outbox 에 기록
+// 보낸 뒤 결과를 기록하기 전에 종료되면 다시 보낼 수 있다 (at-least-once)
+@Slf4j
+@Component
+public class MailOutboxWorker {
+    private static final String LEADER_KEY = "mail:outbox:leader";
+
+    private final MailOutboxService mailOutboxService;
+    private final JavaMailSender mailSender;
+    private final RedisLeaderLock leaderLock;
+    private final DomainRateLimiter rateLimiter;
+    private final ExecutorService sendExecutor;
+    private final int batchSize;
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private volatile LocalDateTime oldestPendingCreatedAt;
+
+    public MailOutboxWorker(MailOutboxService mailOutboxService, JavaMailSender mailSender, RedisUtil redisUtil, MeterRegistry meterRegistry,
+                            @Value("${mail.outbox.poll-interval:1000}") long pollInterval,
+                            @Value("${mail.outbox.batch-size:100}") int batchSize,
+                            @Value("${mail.outbox.workers:4}") int workers,
+                            @Value("${mail.outbox.domain-rate-per-minute:60}") int domainRatePerMinute) {
+        this.mailOutboxService = mailOutboxService;
+        this.mailSender = mailSender;
+        this.leaderLock = new RedisLeaderLock(redisUtil, LEADER_KEY, Math.max(30, pollInterval * 3 / 1000));
+        this.rateLimiter = new DomainRateLimiter(domainRatePerMinute);
+        this.sendExecutor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("mail-sender-"));
+        this.batchSize = batchSize;
+
+        this.sendTimer = Timer.builder("mail.outbox.send")
+                .description("SMTP 연결 한번으로 메일을 보내는 시간")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("mail.outbox.sent")
+                .description("보낸 메일 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.outbox.failed")
+                .description("보내지 못한 메일 수")
+                .register(meterRegistry);
+        TimeGauge.builder("mail.outbox.oldest.age", this, TimeUnit.MILLISECONDS, MailOutboxWorker::getOldestPendingAge)
+                .description("보내지 않은 가장 오래된 메일의 대기 시간, leader 노드만 기록")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:1000}")
+    public void send() {
+        if (!leaderLock.acquire()) {
+            oldestPendingCreatedAt = null;
+            return;
+        }
+        oldestPendingCreatedAt = mailOutboxService.findOldestPendingCreatedAt().orElse(null);
+
+        List<MailOutbox> dueMails = mailOutboxService.findDue(batchSize);
+        if (dueMails.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<MailOutbox>> mailsByDomain = new LinkedHashMap<>();
+        dueMails.forEach(mail -> mailsByDomain.computeIfAbsent(mail.getRecipientDomain(), domain -> new ArrayList<>()).add(mail));
+
+        // 도메인별 속도 제한을 넘는 메일은 token 이 생기는 시점으로 하나씩 미룬다
+        // 미루지 않으면 한 도메인의 메일이 id 순으로 앞에 쌓여 있을 때 다른 도메인의 메일을 가져오지 못한다
+        List<Callable<Map<Long, String>>> tasks = new ArrayList<>();
+        Map<Long, LocalDateTime> deferred = new HashMap<>();
+        long now = System.nanoTime();
+        LocalDateTime nowDateTime = LocalDateTime.now();
+        mailsByDomain.forEach((domain, mails) -> {
+            int granted = rateLimiter.tryAcquire(domain, mails.size(), now);
+            if (granted > 0) {
+                List<MailOutbox> batch = mails.subList(0, granted);
+                tasks.add(() -> sendBatch(batch));
+            }
+            for (int i = granted; i < mails.size(); i++) {
+                long delay = rateLimiter.nanosUntilAvailable(domain, i - granted + 1, now);
+                deferred.put(mails.get(i).getId(), nowDateTime.plusNanos(delay));
+            }
+        });
+        mailOutboxService.defer(deferred);
+
+        List<Long> sentIds = new ArrayList<>();
+        Map<Long, String> failures = new HashMap<>();
+        List<Future<Map<Long, String>>> results;
+        try {
+            results = sendExecutor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (Future<Map<Long, String>> result : results) {
+            try {
+                result.get().forEach((id, error) -> {
+                    if (error == null) {
+                        sentIds.add(id);
+                    } else {
+                        failures.put(id, error);
+                    }
+                });
+            } catch (InterruptedException | ExecutionException e) {
+                // 결과를 알 수 없는 메일은 PENDING 으로 남아서 다음 주기에 다시 보낸다
+                log.error("메일 발송 결과 확인 실패: " + e.getMessage(), e);
+            }
+        }
+
+        mailOutboxService.markSent(sentIds);
+        mailOutboxService.markFailed(failures);
+        sentCounter.increment(sentIds.size());
+        failedCounter.increment(failures.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdown();
+    }
+
+    // 한 도메인의 메일을 SMTP 연결 한번으로 보낸다, id 별 실패 사유 (성공하면 null)
+    private Map<Long, String> sendBatch(List<MailOutbox> mails) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[mails.size()];
+        for (int i = 0; i < mails.size(); i++) {
+            MailOutbox mail = mails.get(i);
+            messages[i] = new SimpleMailMessage();
+            messages[i].setTo(mail.getRecipient());
+            messages[i].setSubject(mail.getSubject());
+            messages[i].setText(mail.getText());
+        }
+
+        Map<Long, String> results = new HashMap<>();
+        mails.forEach(mail -> results.put(mail.getId(), null));
+
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            // 메일별 실패 사유가 없으면 연결 실패이므로 모두 실패
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            for (int i = 0; i < mails.size(); i++) {
+                Exception failure = failedMessages.get(messages[i]);
+                if (failure != null || failedMessages.isEmpty()) {
+                    results.put(mails.get(i).getId(), failure != null ? failure.toString() : e.toString());
+                }
+            }
+        } catch (MailException e) {
+            mails.forEach(mail -> results.put(mail.getId(), e.toString()));
+        } finally {
+            sample.stop(sendTimer);
+        }
+        return results;
+    }
+
+    private double getOldestPendingAge() {
+        LocalDateTime createdAt = oldestPendingCreatedAt;
+        return createdAt == null ? 0 : Duration.between(createdAt, LocalDateTime.now()).toMillis();
+    }
+}
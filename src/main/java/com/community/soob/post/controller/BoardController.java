@@ -1,9 +1,11 @@
 package com.community.soob.post.controller;
 
+import com.community.soob.common.Cursor;
 import com.community.soob.post.controller.dto.PostResponseDto;
+import com.community.soob.post.controller.dto.PostSummaryResponseDto;
 import com.community.soob.post.domain.Post;
-import com.community.soob.post.domain.PostRepository;
 import com.community.soob.post.service.BoardService;
+import com.community.soob.response.CursorResponse;
 import com.community.soob.response.ResultResponse;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -11,42 +13,62 @@ import io.swagger.annotations.ApiParam;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.stereotype.Controller;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Api(tags = {"2, Board"})
 @RequestMapping("/api/v1/boards")
 @RequiredArgsConstructor
-@Controller
+@RestController
 public class BoardController {
-    private final PostRepository postRepository;
     private final BoardService boardService;
 
-    @ApiOperation(value = "전체 게시판 전체 게시글 조회", notes = "전체 게시판의 게시글 전체를 조회한다.")
+    @ApiOperation(value = "전체 게시판 전체 게시글 조회", notes = "전체 게시판의 게시글을 최신순으로 커서 기반 조회한다.")
     @GetMapping
-    public ResultResponse<List<PostResponseDto>> getAllPosts() {
-        List<PostResponseDto> posts = toPostResponseDtos(postRepository.findAll());
-        return ResultResponse.of(ResultResponse.SUCCESS, posts);
+    public ResultResponse<CursorResponse<PostResponseDto>> getAllPosts(
+            @ApiParam(value = "이전 응답의 nextCursor") @RequestParam(required = false) String after,
+            @ApiParam(value = "조회 갯수") @RequestParam(defaultValue = "10") int size) {
+        Cursor cursor = (after == null || after.isEmpty()) ? null : Cursor.decode(after);
+        Slice<Post> posts = boardService.getAllPosts(cursor, size);
+
+        List<PostResponseDto> content = posts.map(PostResponseDto::fromEntity).getContent();
+        String nextCursor = null;
+        if (posts.hasNext()) {
+            Post last = posts.getContent().get(posts.getNumberOfElements() - 1);
+            nextCursor = Cursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+        return ResultResponse.of(ResultResponse.SUCCESS, CursorResponse.of(content, nextCursor));
     }
 
     @ApiOperation(value = "일정 게시판 전체 게시글 조회", notes = "게시판 번호로 게시글 전체를 조회한다.")
     @GetMapping("/{boardId}")
-    public ResultResponse<Page<PostResponseDto>> getPostsOfBoard(
+    public ResultResponse<Page<PostSummaryResponseDto>> getPostsOfBoard(
             @ApiParam(value = "게시판번호", required = true) @PathVariable Long boardId,
             @ApiParam(value = "페이징") Pageable pageable) {
-        Page<Post> postsByBoardId = boardService.getPostsByBoardId(boardId, pageable);
-        Page<PostResponseDto> pagingPosts = postsByBoardId.map(PostResponseDto::fromEntity);
+        Page<PostSummaryResponseDto> pagingPosts = boardService.getPostsByBoardId(boardId, pageable);
         return ResultResponse.of(ResultResponse.SUCCESS, pagingPosts);
     }
 
-    public static List<PostResponseDto> toPostResponseDtos(List<Post> posts) {
-        return posts.stream()
-                .map(PostResponseDto::fromEntity)
-                .collect(Collectors.toList());
+    @ApiOperation(value = "일정 게시판 게시글 커서 조회", notes = "게시판 번호로 게시글을 최신순으로 커서 기반 조회한다.")
+    @GetMapping("/{boardId}/scroll")
+    public ResultResponse<CursorResponse<PostSummaryResponseDto>> getPostScrollOfBoard(
+            @ApiParam(value = "게시판번호", required = true) @PathVariable Long boardId,
+            @ApiParam(value = "이전 응답의 nextCursor") @RequestParam(required = false) String after,
+            @ApiParam(value = "조회 갯수") @RequestParam(defaultValue = "10") int size) {
+        Cursor cursor = (after == null || after.isEmpty()) ? null : Cursor.decode(after);
+        Slice<PostSummaryResponseDto> posts = boardService.getPostsByBoardId(boardId, cursor, size);
+
+        String nextCursor = null;
+        if (posts.hasNext()) {
+            PostSummaryResponseDto last = posts.getContent().get(posts.getNumberOfElements() - 1);
+            nextCursor = Cursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+        return ResultResponse.of(ResultResponse.SUCCESS, CursorResponse.of(posts.getContent(), nextCursor));
     }
 }
@@ -2,28 +2,34 @@ package com.community.soob.post.controller;
 
 import com.community.soob.account.config.CurrentAccount;
 import com.community.soob.account.domain.Account;
+import com.community.soob.attachment.AttachmentConfirmRequestDto;
+import com.community.soob.post.controller.dto.PostPurgeResponseDto;
 import com.community.soob.post.controller.dto.PostRequestDto;
 import com.community.soob.post.controller.dto.PostResponseDto;
+import com.community.soob.post.service.PostPurgeService;
 import com.community.soob.post.service.PostService;
+import com.community.soob.post.service.ReadCountAggregator;
 import com.community.soob.response.ResultResponse;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import springfox.documentation.annotations.ApiIgnore;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.util.List;
 
 @Api(tags = {"3, Post"})
 @RequestMapping("/api/v1/boards/{boardId}/posts")
 @RequiredArgsConstructor
-@Controller
+@RestController
 public class PostController {
     private final PostService postService;
+    private final ReadCountAggregator readCountAggregator;
+    private final PostPurgeService postPurgeService;
 
     @ApiOperation(value = "게시글 작성", notes = "회원이 게시글을 작성한다.")
     @PostMapping
@@ -41,8 +47,15 @@ public class PostController {
     public ResultResponse<PostResponseDto> getPost(
             @ApiIgnore(value = "로그인한 유저인지 검사") @CurrentAccount Account account,
             @ApiParam(value = "게시판번호", required = true) @PathVariable Long boardId,
-            @ApiParam(value = "게시글번호", required = true) @PathVariable Long postId) {
-        return ResultResponse.of(ResultResponse.SUCCESS, PostResponseDto.fromEntity(postService.getPost(postId)));
+            @ApiParam(value = "게시글번호", required = true) @PathVariable Long postId,
+            @ApiIgnore HttpServletRequest request) {
+        // 로그인한 유저는 회원번호, 아니면 IP 로 중복 조회를 거른다
+        String viewerKey = (account != null) ? "account:" + account.getId() : "ip:" + request.getRemoteAddr();
+        PostResponseDto postResponseDto = postService.getPostResponse(postId, viewerKey);
+
+        // 아직 DB 에 반영되지 않은 조회수를 합쳐서 응답
+        postResponseDto.setReadCount(postResponseDto.getReadCount() + (int) readCountAggregator.getPendingCount(postId));
+        return ResultResponse.of(ResultResponse.SUCCESS, postResponseDto);
     }
 
     @ApiOperation(value = "게시글 수정", notes = "게시글번호로 게시글을 수정한다.")
@@ -57,7 +70,18 @@ public class PostController {
         return ResultResponse.of(ResultResponse.SUCCESS, PostResponseDto.fromEntity(postService.getPost(postId)));
     }
 
-    @ApiOperation(value = "게시글 삭제", notes = "게시글번호로 게시글을 삭제한다.")
+    @ApiOperation(value = "게시글 이미지 등록", notes = "presigned URL 로 직접 올린 이미지를 게시글에 추가한다.")
+    @PostMapping("/{postId}/attachments")
+    public ResultResponse<Void> registerPostImages(
+            @ApiIgnore(value = "로그인한 유저인지 검사") @CurrentAccount Account account,
+            @ApiParam(value = "게시판번호", required = true) @PathVariable Long boardId,
+            @ApiParam(value = "게시글번호", required = true) @PathVariable Long postId,
+            @ApiParam(value = "업로드완료DTO", required = true) @Valid @RequestBody final AttachmentConfirmRequestDto confirmRequestDto) {
+        postService.registerPostImages(account, postId, confirmRequestDto.getFileNames());
+        return ResultResponse.of(ResultResponse.SUCCESS);
+    }
+
+    @ApiOperation(value = "게시글 삭제", notes = "게시글번호로 게시글을 삭제한다. 댓글, 하트, 첨부파일은 백그라운드에서 정리한다.")
     @DeleteMapping("/{postId}")
     public ResultResponse<Void> deletePost(
             @ApiIgnore(value = "로그인한 유저인지 검사") @CurrentAccount Account account,
@@ -66,4 +90,12 @@ public class PostController {
         postService.deletePost(account, postId);
         return ResultResponse.of(ResultResponse.SUCCESS);
     }
+
+    @ApiOperation(value = "게시글 삭제 진행상황 조회", notes = "삭제된 게시글의 댓글, 하트 정리 진행상황을 조회한다.")
+    @GetMapping("/{postId}/purge")
+    public ResultResponse<PostPurgeResponseDto> getPostPurge(
+            @ApiParam(value = "게시판번호", required = true) @PathVariable Long boardId,
+            @ApiParam(value = "게시글번호", required = true) @PathVariable Long postId) {
+        return ResultResponse.of(ResultResponse.SUCCESS, PostPurgeResponseDto.fromEntity(postPurgeService.getPurge(postId)));
+    }
 }
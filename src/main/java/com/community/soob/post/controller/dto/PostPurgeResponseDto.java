@@ -0,0 +1,44 @@
+package com.community.soob.post.controller.dto;
+
+import com.community.soob.post.domain.PostPurge;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class PostPurgeResponseDto {
+    private Long postId;
+    private String status;
+    private long totalComments;
+    private long purgedComments;
+    private long totalHearts;
+    private long purgedHearts;
+    private LocalDateTime requestedAt;
+    private LocalDateTime completedAt;
+
+    @Builder
+    public PostPurgeResponseDto(Long postId, String status, long totalComments, long purgedComments, long totalHearts, long purgedHearts, LocalDateTime requestedAt, LocalDateTime completedAt) {
+        this.postId = postId;
+        this.status = status;
+        this.totalComments = totalComments;
+        this.purgedComments = purgedComments;
+        this.totalHearts = totalHearts;
+        this.purgedHearts = purgedHearts;
+        this.requestedAt = requestedAt;
+        this.completedAt = completedAt;
+    }
+
+    public static PostPurgeResponseDto fromEntity(PostPurge postPurge) {
+        return PostPurgeResponseDto.builder()
+                .postId(postPurge.getPostId())
+                .status(postPurge.getStatus().name())
+                .totalComments(postPurge.getTotalComments())
+                .purgedComments(postPurge.getPurgedComments())
+                .totalHearts(postPurge.getTotalHearts())
+                .purgedHearts(postPurge.getPurgedHearts())
+                .requestedAt(postPurge.getCreatedAt())
+                .completedAt(postPurge.getCompletedAt())
+                .build();
+    }
+}
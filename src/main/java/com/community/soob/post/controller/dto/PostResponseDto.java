@@ -1,12 +1,13 @@
 package com.community.soob.post.controller.dto;
 
-import com.community.soob.attachment.Attachment;
+import com.community.soob.attachment.AttachmentDto;
 import com.community.soob.post.domain.Post;
 import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Data
 public class PostResponseDto {
@@ -16,14 +17,14 @@ public class PostResponseDto {
     private String author;
     private String title;
     private String content;
-    private List<Attachment> attachments;
+    private List<AttachmentDto> attachments;
     private int readCount;
     private int heartCount;
     private LocalDateTime createdAt;
     private LocalDateTime lastModifiedAt;
 
     @Builder
-    public PostResponseDto(Long id, Long boardId, String boardName, String author, String title, String content, List<Attachment> attachments, int readCount, int heartCount, LocalDateTime createdAt, LocalDateTime lastModifiedAt) {
+    public PostResponseDto(Long id, Long boardId, String boardName, String author, String title, String content, List<AttachmentDto> attachments, int readCount, int heartCount, LocalDateTime createdAt, LocalDateTime lastModifiedAt) {
         this.id = id;
         this.boardId = boardId;
         this.boardName = boardName;
@@ -45,7 +46,9 @@ public class PostResponseDto {
                 .author(post.getAuthor().getNickname())
                 .title(post.getTitle())
                 .content(post.getContent())
-                .attachments(post.getAttachments())
+                .attachments(post.getAttachments().stream()
+                        .map(AttachmentDto::fromEntity)
+                        .collect(Collectors.toList()))
                 .readCount(post.getReadCount())
                 .heartCount(post.getHeartCount())
                 .createdAt(post.getCreatedAt())
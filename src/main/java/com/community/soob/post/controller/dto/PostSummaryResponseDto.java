@@ -0,0 +1,41 @@
+package com.community.soob.post.controller.dto;
+
+import com.community.soob.post.domain.PostSummary;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// 게시글 목록 조회용 DTO
+@Data
+public class PostSummaryResponseDto {
+    private Long id;
+    private Long boardId;
+    private String boardName;
+    private String author;
+    private String title;
+    private String excerpt;
+    // 첫번째 첨부파일의 thumbnail, 첨부파일이 없으면 null
+    private String thumbnailPath;
+    private int readCount;
+    private int heartCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastModifiedAt;
+
+    public PostSummaryResponseDto(Long id, Long boardId, String boardName, String author, String title, String excerpt, int readCount, int heartCount, LocalDateTime createdAt, LocalDateTime lastModifiedAt) {
+        this.id = id;
+        this.boardId = boardId;
+        this.boardName = boardName;
+        this.author = author;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.readCount = readCount;
+        this.heartCount = heartCount;
+        this.createdAt = createdAt;
+        this.lastModifiedAt = lastModifiedAt;
+    }
+
+    public static PostSummaryResponseDto fromSummary(PostSummary summary) {
+        return new PostSummaryResponseDto(summary.getId(), summary.getBoardId(), summary.getBoardName(), summary.getAuthor(), summary.getTitle(),
+                summary.getExcerpt(), summary.getReadCount(), summary.getHeartCount(), summary.getCreatedAt(), summary.getLastModifiedAt());
+    }
+}
@@ -7,6 +7,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -14,7 +15,10 @@ import java.util.List;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "post")
+@Table(name = "post", indexes = {
+        @Index(name = "idx_post_created_at", columnList = "created_at, post_id"),
+        @Index(name = "idx_post_board_created_at", columnList = "board_id, created_at, post_id")
+})
 @Entity
 public class Post extends AuditedEntity {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -35,6 +39,7 @@ public class Post extends AuditedEntity {
     @Column(name = "content")
     private String content;
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Attachment> attachments = new ArrayList<>();
 
@@ -44,6 +49,10 @@ public class Post extends AuditedEntity {
     @Column(name = "heart_count")
     private int heartCount;
 
+    // 삭제 요청된 게시글, 조회에서 제외되고 PostPurgeWorker 가 정리한 뒤 실제로 삭제한다
+    @Column(name = "deleted", nullable = false, columnDefinition = "boolean default false")
+    private boolean deleted;
+
     @Builder
     public Post(Long id, Board board, Account author, String title, String content, List<Attachment> attachments, int readCount, int heartCount) {
         this.id = id;
@@ -51,7 +60,7 @@ public class Post extends AuditedEntity {
         this.author = author;
         this.title = title;
         this.content = content;
-        this.attachments = attachments;
+        this.attachments = attachments != null ? attachments : new ArrayList<>();
         this.readCount = readCount;
         this.heartCount = heartCount;
     }
@@ -61,8 +70,8 @@ public class Post extends AuditedEntity {
         this.content = content;
     }
 
-    public void increaseReadCount() {
-        this.readCount++;
+    public void markDeleted() {
+        this.deleted = true;
     }
 
     public void increaseHeart() {
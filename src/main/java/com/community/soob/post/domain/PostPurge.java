@@ -0,0 +1,70 @@
+package com.community.soob.post.domain;
+
+import com.community.soob.common.AuditedEntity;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 삭제된 게시글의 댓글, 하트, 첨부파일 정리 작업, chunk 마다 진행상황을 기록해서 재시작시 이어서 진행
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "post_purge", indexes = {
+        @Index(name = "idx_post_purge_status", columnList = "status, post_purge_id")
+})
+@Entity
+public class PostPurge extends AuditedEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "post_purge_id", updatable = false)
+    private Long id;
+
+    // 게시글은 정리가 끝나면 삭제되므로 연관관계 없이 번호만 저장
+    @Column(name = "post_id", nullable = false, unique = true, updatable = false)
+    private Long postId;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private PostPurgeStatus status;
+
+    @Column(name = "total_comments")
+    private long totalComments;
+
+    @Column(name = "purged_comments")
+    private long purgedComments;
+
+    @Column(name = "total_hearts")
+    private long totalHearts;
+
+    @Column(name = "purged_hearts")
+    private long purgedHearts;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Builder
+    public PostPurge(Long id, Long postId, long totalComments, long totalHearts) {
+        this.id = id;
+        this.postId = postId;
+        this.status = PostPurgeStatus.PENDING;
+        this.totalComments = totalComments;
+        this.totalHearts = totalHearts;
+    }
+
+    public void addPurged(long comments, long hearts) {
+        this.purgedComments += comments;
+        this.purgedHearts += hearts;
+    }
+
+    public void complete() {
+        this.status = PostPurgeStatus.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public boolean isCompleted() {
+        return status == PostPurgeStatus.COMPLETED;
+    }
+}
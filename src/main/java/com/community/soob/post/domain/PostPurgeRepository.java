@@ -0,0 +1,21 @@
+package com.community.soob.post.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+
+public interface PostPurgeRepository extends JpaRepository<PostPurge, Long> {
+    Optional<PostPurge> findByPostId(long postId);
+
+    List<PostPurge> findTop10ByStatusOrderByIdAsc(PostPurgeStatus status);
+
+    // 여러 노드가 같은 작업의 chunk 를 동시에 처리하지 않도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from PostPurge p where p.id = :id")
+    Optional<PostPurge> findByIdForUpdate(@Param("id") long id);
+}
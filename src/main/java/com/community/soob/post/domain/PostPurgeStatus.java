@@ -0,0 +1,7 @@
+package com.community.soob.post.domain;
+
+public enum PostPurgeStatus {
+    PENDING,
+    COMPLETED,
+    ;
+}
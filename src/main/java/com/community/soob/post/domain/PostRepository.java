@@ -3,14 +3,82 @@ package com.community.soob.post.domain;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
 
-    // 파라미터로 받아오는 보드번호에 해당하는 게시글 전체 조회
-    Page<Post> findAllByBoardId(long boardId, Pageable pageable);
+    // 파라미터로 받아오는 보드번호에 해당하는 게시글 목록 조회, 목록에 필요한 컬럼과 본문 앞부분만 조회
+    @Query(value = "select new com.community.soob.post.domain.PostSummary(" +
+            "p.id, b.id, b.name, a.nickname, p.title, substring(p.content, 1, " + PostSummary.EXCERPT_LENGTH + "), " +
+            "p.readCount, p.heartCount, p.createdAt, p.lastModifiedAt) " +
+            "from Post p join p.board b join p.author a " +
+            "where b.id = :boardId and p.deleted = false " +
+            "order by p.id desc",
+            countQuery = "select count(p) from Post p where p.board.id = :boardId and p.deleted = false")
+    Page<PostSummary> findSummariesByBoardId(@Param("boardId") long boardId, Pageable pageable);
+
+    // 게시판 게시글 커서 조회, (board_id, created_at, post_id) 인덱스를 따라 읽는다
+    @Query("select new com.community.soob.post.domain.PostSummary(" +
+            "p.id, b.id, b.name, a.nickname, p.title, substring(p.content, 1, " + PostSummary.EXCERPT_LENGTH + "), " +
+            "p.readCount, p.heartCount, p.createdAt, p.lastModifiedAt) " +
+            "from Post p join p.board b join p.author a " +
+            "where b.id = :boardId and p.deleted = false " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummary> findSummarySlice(@Param("boardId") long boardId, Pageable pageable);
+
+    // createdAt 이 기록되지 않은 게시글은 정렬시 가장 뒤에 오므로 createdAt 이 있는 커서 뒤에 이어서 조회
+    @Query("select new com.community.soob.post.domain.PostSummary(" +
+            "p.id, b.id, b.name, a.nickname, p.title, substring(p.content, 1, " + PostSummary.EXCERPT_LENGTH + "), " +
+            "p.readCount, p.heartCount, p.createdAt, p.lastModifiedAt) " +
+            "from Post p join p.board b join p.author a " +
+            "where b.id = :boardId and p.deleted = false and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id) or p.createdAt is null) " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummary> findSummarySliceAfter(@Param("boardId") long boardId, @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Pageable pageable);
+
+    @Query("select new com.community.soob.post.domain.PostSummary(" +
+            "p.id, b.id, b.name, a.nickname, p.title, substring(p.content, 1, " + PostSummary.EXCERPT_LENGTH + "), " +
+            "p.readCount, p.heartCount, p.createdAt, p.lastModifiedAt) " +
+            "from Post p join p.board b join p.author a " +
+            "where b.id = :boardId and p.deleted = false and p.createdAt is null and p.id < :id " +
+            "order by p.id desc")
+    List<PostSummary> findSummarySliceAfterWithoutCreatedAt(@Param("boardId") long boardId, @Param("id") long id, Pageable pageable);
 
     // 파라미터로 받아오는 보드번호에 해당하는 게시글 5개 조회
-    List<Post> findTop5ByBoardIdOrderByLastModifiedAt(long boardId);
+    List<Post> findTop5ByBoardIdAndDeletedFalseOrderByLastModifiedAt(long boardId);
+
+    // 게시글을 로딩하지 않고 작성자 번호만 조회
+    @Query("select p.author.id from Post p where p.id = :postId and p.deleted = false")
+    Optional<Long> findAuthorIdById(@Param("postId") long postId);
+
+    // heart 테이블을 세지 않고 비정규화된 하트 수를 조회
+    @Query("select p.heartCount from Post p where p.id = :postId and p.deleted = false")
+    Optional<Integer> findHeartCountById(@Param("postId") long postId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Post p set p.heartCount = p.heartCount + :delta where p.id = :postId")
+    int addHeartCount(@Param("postId") long postId, @Param("delta") int delta);
+
+    // 전체 게시판 최신 게시글 조회 (게시판, 작성자, 작성자 프로필이미지 함께 조회)
+    @Query("select p from Post p join fetch p.board join fetch p.author a left join fetch a.profileImage " +
+            "where p.deleted = false " +
+            "order by p.createdAt desc, p.id desc")
+    List<Post> findFeed(Pageable pageable);
+
+    // (createdAt, id) 커서 이후의 게시글 조회, createdAt 이 기록되지 않은 게시글은 가장 뒤에 이어서 조회
+    @Query("select p from Post p join fetch p.board join fetch p.author a left join fetch a.profileImage " +
+            "where p.deleted = false and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id) or p.createdAt is null) " +
+            "order by p.createdAt desc, p.id desc")
+    List<Post> findFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Pageable pageable);
+
+    // createdAt 이 기록되지 않은 게시글은 정렬시 가장 뒤에 오므로 id 로만 이어서 조회
+    @Query("select p from Post p join fetch p.board join fetch p.author a left join fetch a.profileImage " +
+            "where p.deleted = false and p.createdAt is null and p.id < :id " +
+            "order by p.id desc")
+    List<Post> findFeedAfterWithoutCreatedAt(@Param("id") long id, Pageable pageable);
 }
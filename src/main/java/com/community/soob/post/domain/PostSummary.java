@@ -0,0 +1,35 @@
+package com.community.soob.post.domain;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 게시글 목록에 필요한 컬럼과 본문 앞부분, PostRepository 의 constructor expression 으로 조회
+@Getter
+public class PostSummary {
+    public static final int EXCERPT_LENGTH = 100;
+
+    private final Long id;
+    private final Long boardId;
+    private final String boardName;
+    private final String author;
+    private final String title;
+    private final String excerpt;
+    private final int readCount;
+    private final int heartCount;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime lastModifiedAt;
+
+    public PostSummary(Long id, Long boardId, String boardName, String author, String title, String excerpt, int readCount, int heartCount, LocalDateTime createdAt, LocalDateTime lastModifiedAt) {
+        this.id = id;
+        this.boardId = boardId;
+        this.boardName = boardName;
+        this.author = author;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.readCount = readCount;
+        this.heartCount = heartCount;
+        this.createdAt = createdAt;
+        this.lastModifiedAt = lastModifiedAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.community.soob.post.exception;
+
+import com.community.soob.common.EntityNotFoundException;
+
+public class PostPurgeNotFoundException extends EntityNotFoundException {
+    public PostPurgeNotFoundException() {
+        super();
+    }
+}
@@ -1,22 +1,85 @@
 package com.community.soob.post.service;
 
+import com.community.soob.attachment.AttachmentRepository;
+import com.community.soob.attachment.PostThumbnail;
+import com.community.soob.common.Cursor;
+import com.community.soob.post.controller.dto.PostSummaryResponseDto;
 import com.community.soob.post.domain.Post;
 import com.community.soob.post.domain.PostRepository;
+import com.community.soob.post.domain.PostSummary;
+import com.community.soob.util.SliceUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @Service
 public class BoardService {
     private final PostRepository postRepository;
+    private final AttachmentRepository attachmentRepository;
 
-    public Page<Post> getPostsByBoardId(long boardId, Pageable pageable) {
+    // 목록에 필요한 컬럼만 조회하므로 엔티티를 로딩하지 않는다
+    public Page<PostSummaryResponseDto> getPostsByBoardId(long boardId, Pageable pageable) {
         pageable = PageRequest.of((pageable.getPageNumber() == 0) ? 0 : (pageable.getPageNumber() - 1), 10);
-        return postRepository.findAllByBoardId(boardId, pageable);
+        Page<PostSummaryResponseDto> posts = postRepository.findSummariesByBoardId(boardId, pageable)
+                .map(PostSummaryResponseDto::fromSummary);
+        fillThumbnails(posts.getContent());
+        return posts;
+    }
+
+    // 게시판 게시글을 (createdAt, id) 커서 기반으로 조회, count 쿼리 없음
+    public Slice<PostSummaryResponseDto> getPostsByBoardId(long boardId, @Nullable Cursor cursor, int size) {
+        size = SliceUtil.limitSize(size);
+        Pageable pageable = SliceUtil.lookAhead(size);
+
+        List<PostSummary> posts;
+        if (cursor == null) {
+            posts = postRepository.findSummarySlice(boardId, pageable);
+        } else if (cursor.getCreatedAt() == null) {
+            posts = postRepository.findSummarySliceAfterWithoutCreatedAt(boardId, cursor.getId(), pageable);
+        } else {
+            posts = postRepository.findSummarySliceAfter(boardId, cursor.getCreatedAt(), cursor.getId(), pageable);
+        }
+        Slice<PostSummaryResponseDto> slice = SliceUtil.toSlice(posts, size)
+                .map(PostSummaryResponseDto::fromSummary);
+        fillThumbnails(slice.getContent());
+        return slice;
+    }
+
+    // 전체 게시판 게시글을 커서 기반으로 조회
+    public Slice<Post> getAllPosts(@Nullable Cursor cursor, int size) {
+        size = SliceUtil.limitSize(size);
+        Pageable pageable = SliceUtil.lookAhead(size);
+
+        List<Post> posts;
+        if (cursor == null) {
+            posts = postRepository.findFeed(pageable);
+        } else if (cursor.getCreatedAt() == null) {
+            posts = postRepository.findFeedAfterWithoutCreatedAt(cursor.getId(), pageable);
+        } else {
+            posts = postRepository.findFeedAfter(cursor.getCreatedAt(), cursor.getId(), pageable);
+        }
+        return SliceUtil.toSlice(posts, size);
+    }
+
+    // 목록의 thumbnail 을 한번의 쿼리로 채운다
+    private void fillThumbnails(List<PostSummaryResponseDto> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        List<Long> postIds = posts.stream().map(PostSummaryResponseDto::getId).collect(Collectors.toList());
+        Map<Long, String> thumbnails = attachmentRepository.findFirstThumbnailsByPostIds(postIds).stream()
+                .collect(Collectors.toMap(PostThumbnail::getPostId, PostThumbnail::getThumbnailPath));
+        posts.forEach(post -> post.setThumbnailPath(thumbnails.get(post.getId())));
     }
 }
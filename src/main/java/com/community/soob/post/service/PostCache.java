@@ -0,0 +1,212 @@
+package com.community.soob.post.service;
+
+import com.community.soob.post.controller.dto.PostResponseDto;
+import com.community.soob.util.RedisUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+// 게시글 단건 조회 응답을 노드 메모리(local-ttl 초) -> Redis(redis-ttl 초) -> DB 순서로 찾는 캐시
+// 두 곳 모두 PostResponseCodec 으로 인코딩한 byte 를 저장하고 꺼낼 때마다 새 객체로 만들므로, 반환한 객체는 바꿔도 된다
+// 게시글, 첨부파일, 하트 수, DB 조회수가 바뀌면 Redis 에서 지우고 Redis pub/sub 으로 모든 노드의 메모리에서도 지운다
+// 지울 때마다 Redis 의 게시글별 버전을 올리고, DB 에서 읽기 전에 본 버전이 그대로일 때만 Redis 에 저장한다
+// 다른 노드가 DB 에서 읽는 동안 커밋된 변경을 이전 값으로 redis-ttl 동안 덮어쓰지 않기 위해서다
+@Slf4j
+@Component
+public class PostCache implements MessageListener {
+    public static final String EVICT_CHANNEL = "post:cache:evict";
+    private static final String KEY_PREFIX = "post:cache:";
+    private static final String VERSION_KEY_PREFIX = "post:cache:version:";
+    // DB 에서 읽는 시간보다 충분히 길면 된다
+    private static final long VERSION_TTL = 24 * 60 * 60;
+
+    private final RedisUtil redisUtil;
+    private final long redisTtl;
+    private final Cache<Long, byte[]> localCache;
+    // 지울 때마다 늘린다, DB 나 Redis 에서 읽는 동안 지워졌으면 읽은 값은 캐시하지 않는다
+    private final AtomicLong evictions = new AtomicLong();
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public PostCache(RedisUtil redisUtil, MeterRegistry meterRegistry,
+                     @Value("${post.cache.local-max-size:10000}") long localMaxSize,
+                     @Value("${post.cache.local-ttl:5}") long localTtl,
+                     @Value("${post.cache.redis-ttl:60}") long redisTtl) {
+        this.redisUtil = redisUtil;
+        this.redisTtl = redisTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtl))
+                .build();
+
+        this.localHits = createGetCounter(meterRegistry, "local", "hit");
+        this.localMisses = createGetCounter(meterRegistry, "local", "miss");
+        this.redisHits = createGetCounter(meterRegistry, "redis", "hit");
+        this.redisMisses = createGetCounter(meterRegistry, "redis", "miss");
+        Gauge.builder("post.cache.hit.ratio", this, cache -> ratio(cache.localHits, cache.localMisses))
+                .description("게시글 캐시 적중률")
+                .tag("tier", "local")
+                .register(meterRegistry);
+        Gauge.builder("post.cache.hit.ratio", this, cache -> ratio(cache.redisHits, cache.redisMisses))
+                .description("게시글 캐시 적중률")
+                .tag("tier", "redis")
+                .register(meterRegistry);
+        FunctionCounter.builder("post.cache.evictions", evictions, AtomicLong::get)
+                .description("게시글 캐시를 지운 횟수")
+                .register(meterRegistry);
+    }
+
+    // 없으면 loader 로 만들어서 두 곳에 모두 캐시, loader 가 예외를 던지면 캐시하지 않는다
+    // Redis 에 실패하면 DB 에서 읽는다
+    public PostResponseDto get(long postId, LongFunction<PostResponseDto> loader) {
+        long evictionsBeforeRead = evictions.get();
+        byte[] encoded = localCache.getIfPresent(postId);
+        if (encoded != null) {
+            localHits.increment();
+            return PostResponseCodec.decode(encoded);
+        }
+        localMisses.increment();
+
+        PostResponseDto post = getFromRedis(postId);
+        if (post != null) {
+            redisHits.increment();
+            putLocal(postId, PostResponseCodec.encode(post), evictionsBeforeRead);
+            return post;
+        }
+        redisMisses.increment();
+
+        String versionBeforeRead = getVersion(postId);
+        post = loader.apply(postId);
+        encoded = PostResponseCodec.encode(post);
+        if (putLocal(postId, encoded, evictionsBeforeRead) && versionBeforeRead != null) {
+            try {
+                redisUtil.setBytesExpireIfEquals(KEY_PREFIX + postId, encoded, redisTtl, VERSION_KEY_PREFIX + postId, versionBeforeRead);
+            } catch (RuntimeException e) {
+                log.warn("게시글 캐시 저장 실패: " + e.getMessage());
+            }
+        }
+        return post;
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 지운다, 커밋 전에 지우면 다른 요청이 이전 값을 다시 캐시할 수 있다
+    public void evict(long postId) {
+        evictAll(List.of(postId));
+    }
+
+    public void evictAll(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(postIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictAndPublish(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictAndPublish(ids);
+            }
+        });
+    }
+
+    // 다른 노드가 보낸 postId 목록 (쉼표로 구분)
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        List<Long> postIds = new ArrayList<>();
+        for (String postId : new String(message.getBody(), StandardCharsets.UTF_8).split(",")) {
+            postIds.add(Long.valueOf(postId));
+        }
+        evictLocal(postIds);
+    }
+
+    private PostResponseDto getFromRedis(long postId) {
+        byte[] encoded;
+        try {
+            encoded = redisUtil.getBytes(KEY_PREFIX + postId);
+        } catch (RuntimeException e) {
+            log.warn("게시글 캐시 조회 실패: " + e.getMessage());
+            return null;
+        }
+        if (encoded == null) {
+            return null;
+        }
+        try {
+            return PostResponseCodec.decode(encoded);
+        } catch (IllegalArgumentException e) {
+            // 이전 형식의 값은 DB 에서 다시 읽어서 덮어쓴다
+            return null;
+        }
+    }
+
+    // 아직 지운 적이 없으면 "0", Redis 에 실패하면 null 이고 Redis 에 저장하지 않는다
+    private String getVersion(long postId) {
+        try {
+            String version = redisUtil.getData(VERSION_KEY_PREFIX + postId);
+            return (version != null) ? version : "0";
+        } catch (RuntimeException e) {
+            log.warn("게시글 캐시 버전 조회 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean putLocal(long postId, byte[] encoded, long evictionsBeforeRead) {
+        if (evictions.get() != evictionsBeforeRead) {
+            return false;
+        }
+        localCache.put(postId, encoded);
+        return true;
+    }
+
+    private void evictLocal(Collection<Long> postIds) {
+        evictions.incrementAndGet();
+        localCache.invalidateAll(postIds);
+    }
+
+    private void evictAndPublish(List<Long> postIds) {
+        evictLocal(postIds);
+        try {
+            // 버전을 먼저 올려야 지우고 나서 이전 값이 다시 저장되지 않는다
+            redisUtil.incrementDataExpire(postIds.stream().map(postId -> VERSION_KEY_PREFIX + postId).collect(Collectors.toList()), VERSION_TTL);
+            redisUtil.deleteData(postIds.stream().map(postId -> KEY_PREFIX + postId).collect(Collectors.toList()));
+            redisUtil.publish(EVICT_CHANNEL, postIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (RuntimeException e) {
+            // 다른 노드는 TTL 이 지나면 다시 조회한다
+            log.warn("게시글 캐시 삭제 실패: " + e.getMessage());
+        }
+    }
+
+    private static Counter createGetCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("post.cache.gets")
+                .description("게시글 캐시 조회 수")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static double ratio(Counter hits, Counter misses) {
+        double total = hits.count() + misses.count();
+        return (total == 0) ? 0 : hits.count() / total;
+    }
+}
@@ -0,0 +1,104 @@
+package com.community.soob.post.service;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.AccountRepository;
+import com.community.soob.account.service.PrincipalCache;
+import com.community.soob.attachment.AttachmentService;
+import com.community.soob.comment.domain.CommentAuthorSummary;
+import com.community.soob.comment.service.CommentService;
+import com.community.soob.heart.service.HeartService;
+import com.community.soob.post.domain.Post;
+import com.community.soob.post.domain.PostPurge;
+import com.community.soob.post.domain.PostPurgeRepository;
+import com.community.soob.post.domain.PostRepository;
+import com.community.soob.post.exception.PostPurgeNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+@Service
+public class PostPurgeService {
+    private final PostPurgeRepository postPurgeRepository;
+    private final PostRepository postRepository;
+    private final AccountRepository accountRepository;
+    private final CommentService commentService;
+    private final HeartService heartService;
+    private final AttachmentService attachmentService;
+    private final PrincipalCache principalCache;
+    private final int chunkSize;
+
+    public PostPurgeService(PostPurgeRepository postPurgeRepository, PostRepository postRepository, AccountRepository accountRepository, CommentService commentService, HeartService heartService, AttachmentService attachmentService, PrincipalCache principalCache, @Value("${post.purge.chunk-size:500}") int chunkSize) {
+        this.postPurgeRepository = postPurgeRepository;
+        this.postRepository = postRepository;
+        this.accountRepository = accountRepository;
+        this.commentService = commentService;
+        this.heartService = heartService;
+        this.attachmentService = attachmentService;
+        this.principalCache = principalCache;
+        this.chunkSize = chunkSize;
+    }
+
+    // 게시글 삭제 트랜잭션 안에서 정리 작업을 등록, 진행률 표시를 위해 전체 갯수를 기록
+    @Transactional
+    public PostPurge requestPurge(long postId) {
+        long totalComments = commentService.getCommentCountForPost(postId);
+        long totalHearts = heartService.getHeartCountForPost(postId) + heartService.getHeartCountForCommentsOfPost(postId);
+        PostPurge postPurge = PostPurge.builder()
+                .postId(postId)
+                .totalComments(totalComments)
+                .totalHearts(totalHearts)
+                .build();
+        return postPurgeRepository.save(postPurge);
+    }
+
+    public PostPurge getPurge(long postId) {
+        return postPurgeRepository.findByPostId(postId)
+                .orElseThrow(PostPurgeNotFoundException::new);
+    }
+
+    // 한 chunk 를 짧은 트랜잭션으로 정리, 남은 작업이 있으면 true
+    // 댓글(댓글 하트 포함) -> 게시글 하트 -> 첨부파일, 게시글 순서로 정리한다
+    @Transactional
+    public boolean purgeChunk(long purgeId) {
+        PostPurge postPurge = postPurgeRepository.findByIdForUpdate(purgeId)
+                .orElseThrow(PostPurgeNotFoundException::new);
+        if (postPurge.isCompleted()) {
+            return false;
+        }
+        long postId = postPurge.getPostId();
+
+        List<CommentAuthorSummary> summaries = commentService.deleteCommentsForPost(postId, chunkSize);
+        if (!summaries.isEmpty()) {
+            long comments = summaries.stream().mapToLong(CommentAuthorSummary::getCommentCount).sum();
+            long hearts = summaries.stream().mapToLong(CommentAuthorSummary::getHeartCount).sum();
+            postPurge.addPurged(comments, hearts);
+            // 포인트를 차감하는 update 가 영속성 컨텍스트를 비우므로 진행상황은 직접 저장한다
+            postPurgeRepository.save(postPurge);
+            return true;
+        }
+
+        Post post = postRepository.findById(postId).orElse(null);
+        if (post != null) {
+            int hearts = heartService.deleteHeartsForPost(postId, chunkSize);
+            if (hearts > 0) {
+                Account author = post.getAuthor();
+                accountRepository.addLevelPoint(author.getId(), -hearts * Account.POST_HEART_POINT);
+                principalCache.evict(author.getEmail());
+                postPurge.addPurged(0, hearts);
+                postPurgeRepository.save(postPurge);
+                return true;
+            }
+
+            if (!post.getAttachments().isEmpty()) {
+                attachmentService.deletePostImages(post);
+            }
+            postRepository.delete(post);
+        }
+
+        postPurge.complete();
+        return false;
+    }
+}
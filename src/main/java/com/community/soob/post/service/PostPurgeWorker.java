@@ -0,0 +1,46 @@
+package com.community.soob.post.service;
+
+import com.community.soob.post.domain.PostPurge;
+import com.community.soob.post.domain.PostPurgeRepository;
+import com.community.soob.post.domain.PostPurgeStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+
+// 삭제된 게시글을 chunk 단위로 정리, 진행상황은 chunk 마다 DB 에 남으므로 재시작 후 이어서 진행한다
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PostPurgeWorker {
+    private final PostPurgeRepository postPurgeRepository;
+    private final PostPurgeService postPurgeService;
+    private volatile boolean stopped;
+
+    @Scheduled(fixedDelayString = "${post.purge.interval:5000}")
+    public void purge() {
+        List<PostPurge> postPurges = postPurgeRepository.findTop10ByStatusOrderByIdAsc(PostPurgeStatus.PENDING);
+        for (PostPurge postPurge : postPurges) {
+            try {
+                while (!stopped && postPurgeService.purgeChunk(postPurge.getId())) {
+                    log.debug("게시글 정리 진행중: postId=" + postPurge.getPostId());
+                }
+            } catch (RuntimeException e) {
+                // 실패한 chunk 는 롤백되므로 다음 주기에 다시 시도
+                log.error("게시글 정리 실패: postId=" + postPurge.getPostId() + ", " + e.getMessage(), e);
+            }
+            if (stopped) {
+                return;
+            }
+        }
+    }
+
+    // 종료시 진행중인 chunk 까지만 처리
+    @PreDestroy
+    public void stop() {
+        this.stopped = true;
+    }
+}
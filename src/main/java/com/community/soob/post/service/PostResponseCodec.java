@@ -0,0 +1,144 @@
+package com.community.soob.post.service;
+
+import com.community.soob.attachment.AttachmentDto;
+import com.community.soob.post.controller.dto.PostResponseDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// PostCache 에 저장하는 PostResponseDto 의 binary 형식
+// 필드를 순서대로 쓰고 클래스 정보는 쓰지 않으므로 JDK 직렬화보다 작고, 필드가 바뀌면 VERSION 을 올려서 이전 값은 캐시 miss 로 처리한다
+// null 은 문자열 길이 -1, 시간은 epoch second -1 로 쓴다
+public final class PostResponseCodec {
+    static final byte VERSION = 1;
+
+    private PostResponseCodec() {
+    }
+
+    public static byte[] encode(PostResponseDto post) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + length(post.getContent()));
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(VERSION);
+            writeLong(output, post.getId());
+            writeLong(output, post.getBoardId());
+            writeString(output, post.getBoardName());
+            writeString(output, post.getAuthor());
+            writeString(output, post.getTitle());
+            writeString(output, post.getContent());
+            List<AttachmentDto> attachments = (post.getAttachments() != null) ? post.getAttachments() : List.of();
+            output.writeInt(attachments.size());
+            for (AttachmentDto attachment : attachments) {
+                writeLong(output, attachment.getId());
+                writeString(output, attachment.getFileName());
+                writeString(output, attachment.getFilePath());
+                writeString(output, attachment.getMediumPath());
+                writeString(output, attachment.getThumbnailPath());
+            }
+            output.writeInt(post.getReadCount());
+            output.writeInt(post.getHeartCount());
+            writeDateTime(output, post.getCreatedAt());
+            writeDateTime(output, post.getLastModifiedAt());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // 형식이 다르거나 잘린 값이면 IllegalArgumentException
+    public static PostResponseDto decode(byte[] encoded) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            byte version = input.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("지원하지 않는 게시글 캐시 형식입니다 (" + version + ")");
+            }
+            PostResponseDto.PostResponseDtoBuilder builder = PostResponseDto.builder()
+                    .id(readLong(input))
+                    .boardId(readLong(input))
+                    .boardName(readString(input))
+                    .author(readString(input))
+                    .title(readString(input))
+                    .content(readString(input));
+            int attachmentCount = input.readInt();
+            List<AttachmentDto> attachments = new ArrayList<>(attachmentCount);
+            for (int i = 0; i < attachmentCount; i++) {
+                attachments.add(AttachmentDto.builder()
+                        .id(readLong(input))
+                        .fileName(readString(input))
+                        .filePath(readString(input))
+                        .mediumPath(readString(input))
+                        .thumbnailPath(readString(input))
+                        .build());
+            }
+            return builder.attachments(attachments)
+                    .readCount(input.readInt())
+                    .heartCount(input.readInt())
+                    .createdAt(readDateTime(input))
+                    .lastModifiedAt(readDateTime(input))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("게시글 캐시를 읽지 못했습니다", e);
+        }
+    }
+
+    private static int length(String value) {
+        return (value != null) ? value.length() : 0;
+    }
+
+    private static void writeLong(DataOutputStream output, Long value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readLong() : null;
+    }
+
+    // writeUTF 는 64KB 까지만 쓸 수 있으므로 길이를 int 로 쓴다
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutputStream output, LocalDateTime value) throws IOException {
+        if (value == null) {
+            output.writeLong(-1);
+            return;
+        }
+        output.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        output.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream input) throws IOException {
+        long epochSecond = input.readLong();
+        if (epochSecond == -1) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(epochSecond, input.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -1,6 +1,7 @@
 package com.community.soob.post.service;
 
 import com.community.soob.account.domain.Account;
+import com.community.soob.post.controller.dto.PostResponseDto;
 import com.community.soob.post.domain.Post;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -8,8 +9,11 @@ import java.util.List;
 
 public interface PostService {
     Post getPost(long postId);
+    Post getPost(long postId, String viewerKey);
+    PostResponseDto getPostResponse(long postId, String viewerKey);
     void createPost(Account account, long boardId, String title, String content, List<MultipartFile> files);
     void updatePost(Account account, long postId, String title, String content, List<MultipartFile> files);
+    void registerPostImages(Account account, long postId, List<String> fileNames);
     void deletePost(Account account, long postId);
     boolean isAuthorMatched(Account account, long postId);
 }
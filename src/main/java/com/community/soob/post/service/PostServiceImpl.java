@@ -2,10 +2,9 @@ package com.community.soob.post.service;
 
 import com.community.soob.account.domain.Account;
 import com.community.soob.account.domain.AccountRepository;
-import com.community.soob.attachment.Attachment;
+import com.community.soob.account.service.PrincipalCache;
 import com.community.soob.attachment.AttachmentService;
-import com.community.soob.comment.service.CommentService;
-import com.community.soob.heart.service.HeartService;
+import com.community.soob.post.controller.dto.PostResponseDto;
 import com.community.soob.post.domain.Board;
 import com.community.soob.post.domain.BoardRepository;
 import com.community.soob.post.domain.Post;
@@ -28,16 +27,29 @@ public class PostServiceImpl implements PostService {
     private final PostRepository postRepository;
     private final BoardRepository boardRepository;
     private final AccountRepository accountRepository;
-    private final CommentService commentService;
-    private final HeartService heartService;
     private final AttachmentService attachmentService;
+    private final PostPurgeService postPurgeService;
+    private final ReadCountAggregator readCountAggregator;
+    private final PrincipalCache principalCache;
+    private final PostCache postCache;
 
-    @Transactional
+    @Override
     public Post getPost(long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(PostNotFoundException::new);
-        post.increaseReadCount();
-        postRepository.save(post);
+        return getPost(postId, null);
+    }
+
+    @Override
+    public Post getPost(long postId, @Nullable String viewerKey) {
+        Post post = findPost(postId);
+        readCountAggregator.increase(postId, viewerKey);
+        return post;
+    }
+
+    // 조회수는 캐시된 DB 값이므로 아직 반영되지 않은 조회수는 호출하는 쪽에서 더한다
+    @Override
+    public PostResponseDto getPostResponse(long postId, @Nullable String viewerKey) {
+        PostResponseDto post = postCache.get(postId, id -> PostResponseDto.fromEntity(findPost(id)));
+        readCountAggregator.increase(postId, viewerKey);
         return post;
     }
 
@@ -62,9 +74,9 @@ public class PostServiceImpl implements PostService {
             }
         }
 
-        account.increasePostPoint();
-        account.updateLevel();
-        accountRepository.save(account);
+        // account 는 캐시된 인증 정보이므로 저장하지 않고 포인트를 상대값으로 반영
+        accountRepository.addLevelPoint(account.getId(), Account.POST_POINT);
+        principalCache.evict(account.getEmail());
     }
 
     @Transactional
@@ -74,8 +86,7 @@ public class PostServiceImpl implements PostService {
             throw new AuthorNotMatchedException();
         }
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(PostNotFoundException::new);
+        Post post = findPost(postId);
         post.updatePost(title, content);
         Post savedPost = postRepository.save(post);
 
@@ -87,44 +98,48 @@ public class PostServiceImpl implements PostService {
                 attachmentService.uploadPostImages(savedPost, files);
             }
         }
+        postCache.evict(postId);
     }
 
+    // 클라이언트가 presigned URL 로 직접 올린 이미지를 게시글에 추가
     @Transactional
     @Override
-    public void deletePost(Account account, long postId) {
+    public void registerPostImages(Account account, long postId, List<String> fileNames) {
         if (!isAuthorMatched(account, postId)) {
             throw new AuthorNotMatchedException();
         }
+        attachmentService.registerPostImages(account, findPost(postId), fileNames);
+        postCache.evict(postId);
+    }
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(PostNotFoundException::new);
-        List<Attachment> attachments = post.getAttachments();
-        if (!attachments.isEmpty()) {
-            attachmentService.deletePostImages(post);
-        }
-
-        Long heartCount = heartService.getHeartCountForPost(postId);
-        if (heartCount != null && heartCount != 0) {
-            heartService.deleteAllHeartForPost(postId);
-            account.decreasePostHeartPoint(heartCount);
+    // 게시글은 바로 숨기고 댓글, 하트, 첨부파일은 PostPurgeWorker 가 나눠서 정리한다
+    @Transactional
+    @Override
+    public void deletePost(Account account, long postId) {
+        if (!isAuthorMatched(account, postId)) {
+            throw new AuthorNotMatchedException();
         }
 
-        Long commentCount = commentService.getCommentCountForPost(postId);
-        if (commentCount != null && commentCount != 0) {
-            commentService.deleteAllCommentForPost(postId);
-        }
+        Post post = findPost(postId);
+        post.markDeleted();
+        postRepository.save(post);
 
-        postRepository.deleteById(postId);
+        accountRepository.addLevelPoint(account.getId(), -Account.POST_POINT);
+        principalCache.evict(account.getEmail());
 
-        account.decreasePostPoint();
-        account.updateLevel();
-        accountRepository.save(account);
+        postPurgeService.requestPurge(postId);
+        postCache.evict(postId);
     }
 
     @Override
     public boolean isAuthorMatched(Account account, long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(PostNotFoundException::new);
+        Post post = findPost(postId);
         return account.getId().equals(post.getAuthor().getId());
     }
+
+    private Post findPost(long postId) {
+        return postRepository.findById(postId)
+                .filter(post -> !post.isDeleted())
+                .orElseThrow(PostNotFoundException::new);
+    }
 }
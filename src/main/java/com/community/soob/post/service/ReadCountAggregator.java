@@ -0,0 +1,111 @@
+package com.community.soob.post.service;
+
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class ReadCountAggregator {
+    // postId 별로 모든 노드의 조회수가 모이는 hash, ReadCountReconciler 가 DB 로 옮긴다
+    public static final String READ_COUNT_KEY = "post:read-count";
+    private static final String VIEWED_KEY_PREFIX = "post:viewed:";
+
+    // postId 별로 아직 Redis 에 반영되지 않은 조회수
+    private final Map<Long, Long> pendingCounts = new ConcurrentHashMap<>();
+    private final RedisUtil redisUtil;
+    private final long dedupWindow;
+    private volatile long lastFlushedAt = System.currentTimeMillis();
+
+    public ReadCountAggregator(RedisUtil redisUtil, MeterRegistry meterRegistry, @Value("${post.read-count.dedup-window:600}") long dedupWindow) {
+        this.redisUtil = redisUtil;
+        this.dedupWindow = dedupWindow;
+
+        Gauge.builder("post.read-count.pending", this, ReadCountAggregator::getPendingTotal)
+                .description("Redis 에 반영되지 않은 조회수 합계")
+                .register(meterRegistry);
+        TimeGauge.builder("post.read-count.flush.lag", this, TimeUnit.MILLISECONDS, aggregator -> System.currentTimeMillis() - aggregator.lastFlushedAt)
+                .description("마지막 flush 이후 경과 시간")
+                .register(meterRegistry);
+    }
+
+    // viewerKey 가 있으면 dedup-window 동안 같은 게시글의 중복 조회는 세지 않음
+    public void increase(long postId, @Nullable String viewerKey) {
+        if (viewerKey != null && !isFirstView(postId, viewerKey)) {
+            return;
+        }
+        pendingCounts.merge(postId, 1L, Long::sum);
+    }
+
+    // 아직 DB 에 반영되지 않은 조회수 (이 노드 + Redis)
+    public long getPendingCount(long postId) {
+        long pendingCount = pendingCounts.getOrDefault(postId, 0L);
+        try {
+            String redisCount = redisUtil.getHashData(READ_COUNT_KEY, String.valueOf(postId));
+            if (redisCount != null) {
+                pendingCount += Long.parseLong(redisCount);
+            }
+        } catch (RuntimeException e) {
+            log.warn("조회수 조회 실패: " + e.getMessage());
+        }
+        return pendingCount;
+    }
+
+    public long getPendingTotal() {
+        return pendingCounts.values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    // 쌓인 조회수를 한번의 pipeline 으로 Redis 에 반영
+    @Scheduled(fixedDelayString = "${post.read-count.flush-interval:1000}")
+    public void flush() {
+        Map<String, Long> deltas = new HashMap<>();
+        for (Long postId : pendingCounts.keySet()) {
+            Long delta = pendingCounts.remove(postId);
+            if (delta != null && delta != 0) {
+                deltas.put(String.valueOf(postId), delta);
+            }
+        }
+
+        if (!deltas.isEmpty()) {
+            try {
+                redisUtil.incrementHashData(READ_COUNT_KEY, deltas);
+            } catch (RuntimeException e) {
+                // 반영에 실패한 조회수는 다음 flush 때 다시 시도
+                deltas.forEach((postId, delta) -> pendingCounts.merge(Long.valueOf(postId), delta, Long::sum));
+                log.error("조회수 반영 실패: " + e.getMessage(), e);
+                return;
+            }
+        }
+        lastFlushedAt = System.currentTimeMillis();
+    }
+
+    // 종료(kill -15) 시 남아있는 조회수 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private boolean isFirstView(long postId, String viewerKey) {
+        try {
+            return redisUtil.setDataIfAbsent(VIEWED_KEY_PREFIX + postId + ":" + viewerKey, "1", dedupWindow);
+        } catch (RuntimeException e) {
+            // Redis 장애시에는 중복 여부와 상관없이 조회수를 센다
+            log.warn("조회 중복 확인 실패: " + e.getMessage());
+            return true;
+        }
+    }
+}
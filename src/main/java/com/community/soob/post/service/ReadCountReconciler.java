@@ -0,0 +1,91 @@
+package com.community.soob.post.service;
+
+import com.community.soob.util.RedisLeaderLock;
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ReadCountReconciler {
+    private static final String LEADER_KEY = "post:read-count:leader";
+    private static final String UPDATE_READ_COUNT_SQL = "UPDATE post SET read_count = read_count + ? WHERE post_id = ?";
+
+    // DB 로 옮길 만큼 차감하고, 0 이 된 field 는 삭제
+    private static final RedisScript<Long> DECREASE_SCRIPT = RedisScript.of(
+            "for i = 1, #ARGV, 2 do " +
+            "  local remaining = redis.call('HINCRBY', KEYS[1], ARGV[i], -tonumber(ARGV[i + 1])) " +
+            "  if remaining == 0 then redis.call('HDEL', KEYS[1], ARGV[i]) end " +
+            "end " +
+            "return 1", Long.class);
+
+    private final RedisUtil redisUtil;
+    private final JdbcTemplate jdbcTemplate;
+    private final PostCache postCache;
+    private final RedisLeaderLock leaderLock;
+    private final Counter reconciledCounter;
+
+    public ReadCountReconciler(RedisUtil redisUtil, JdbcTemplate jdbcTemplate, PostCache postCache, MeterRegistry meterRegistry, @Value("${post.read-count.reconcile-interval:60000}") long reconcileInterval) {
+        this.redisUtil = redisUtil;
+        this.jdbcTemplate = jdbcTemplate;
+        this.postCache = postCache;
+        this.leaderLock = new RedisLeaderLock(redisUtil, LEADER_KEY, Math.max(1, reconcileInterval * 3 / 1000));
+        this.reconciledCounter = Counter.builder("post.read-count.reconciled")
+                .description("Redis 에서 DB 로 옮긴 조회수")
+                .register(meterRegistry);
+    }
+
+    // leader 노드만 Redis 에 모인 조회수를 DB 에 bulk 로 반영
+    @Scheduled(fixedDelayString = "${post.read-count.reconcile-interval:60000}")
+    public void reconcile() {
+        if (!leaderLock.acquire()) {
+            return;
+        }
+
+        Map<String, String> entries = redisUtil.getHashEntries(ReadCountAggregator.READ_COUNT_KEY);
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> deltas = new HashMap<>();
+        List<String> scriptArgs = new ArrayList<>();
+        List<Object[]> batchArgs = new ArrayList<>();
+        entries.forEach((postId, count) -> {
+            long delta = Long.parseLong(count);
+            if (delta > 0) {
+                deltas.put(postId, delta);
+                scriptArgs.add(postId);
+                scriptArgs.add(count);
+                batchArgs.add(new Object[]{delta, Long.valueOf(postId)});
+            }
+        });
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        // 먼저 Redis 에서 차감한 뒤 DB 에 반영, DB 반영에 실패하면 Redis 에 되돌림
+        redisUtil.executeScript(DECREASE_SCRIPT, List.of(ReadCountAggregator.READ_COUNT_KEY), scriptArgs.toArray());
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_READ_COUNT_SQL, batchArgs);
+        } catch (RuntimeException e) {
+            redisUtil.incrementHashData(ReadCountAggregator.READ_COUNT_KEY, deltas);
+            log.error("조회수 DB 반영 실패: " + e.getMessage(), e);
+            return;
+        }
+        reconciledCounter.increment(deltas.values().stream().mapToLong(Long::longValue).sum());
+        // 캐시된 게시글의 조회수는 DB 값이므로, 차감한 조회수만큼 줄어들어 보이지 않도록 지운다
+        postCache.evictAll(deltas.keySet().stream().map(Long::valueOf).collect(Collectors.toList()));
+    }
+}
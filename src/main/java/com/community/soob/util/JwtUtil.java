@@ -1,16 +1,20 @@
 package com.community.soob.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
@@ -20,32 +24,32 @@ public class JwtUtil {
     final static public String ACCESS_TOKEN_NAME = "accessToken";
     final static public String REFRESH_TOKEN_NAME = "refreshToken";
 
-    @Value("${spring.jwt.secret}")
-    private String SECRET_KEY;
+    // key 와 parser 는 불변이고 thread-safe 하므로 한번만 만들어서 재사용
+    private final Key signingKey;
+    private final JwtParser jwtParser;
 
-    private Key getSigningKey(String secretKey) {
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtil(@Value("${spring.jwt.secret}") String secretKey) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     // 토큰이 유효한 토큰인지 검사한 후, 토큰에 담긴 Payload 값을 가져온다.
+    // 만료된 토큰은 ExpiredJwtException, 서명이 맞지 않거나 잘못된 토큰은 JwtException
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey(SECRET_KEY))
-                .build()
-                .parseClaimsJws(token)
+        return jwtParser.parseClaimsJws(token)
                 .getBody();
     }
 
-    // 추출한 Payload 로부터 accountEmail 을 가져온다.
-    public String getAccountEmail(String token) {
-        return extractAllClaims(token).get("accountEmail", String.class);
+    // 토큰을 한번만 파싱해서 서명과 만료를 검사하고 accountEmail, 발급, 만료 시각을 함께 반환
+    public VerifiedToken verify(String token) {
+        return VerifiedToken.from(extractAllClaims(token));
     }
 
-    // 토큰이 만료됐는지 안됐는지 확인.
-    public Boolean isTokenExpired(String token) {
-        final Date expiration = extractAllClaims(token).getExpiration();
-        return expiration.before(new Date());
+    // 추출한 Payload 로부터 accountEmail 을 가져온다.
+    public String getAccountEmail(String token) {
+        return verify(token).getAccountEmail();
     }
 
     // Access Token 생성
@@ -59,20 +63,28 @@ public class JwtUtil {
     }
 
     // 토큰을 생성, 페이로드에 담길 값은 accountEmail
+    // 같은 초에 발급해도 토큰이 달라야 refresh token 을 교체할 수 있으므로 jti 를 넣는다
     public String doGenerateToken(String accountEmail, long expireTime) {
         Claims claims = Jwts.claims();
-        claims.put("accountEmail", accountEmail);
+        claims.put(VerifiedToken.ACCOUNT_EMAIL_CLAIM, accountEmail);
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expireTime))
-                .signWith(getSigningKey(SECRET_KEY), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String accountEmail = getAccountEmail(token);
-        return (accountEmail.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    // 토큰 원문 대신 캐시 key, Redis key, pub/sub 메시지로 사용하는 SHA-256 digest
+    public static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM 은 SHA-256 을 지원해야 한다
+            throw new IllegalStateException(e);
+        }
     }
 }
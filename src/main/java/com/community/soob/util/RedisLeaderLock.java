@@ -0,0 +1,28 @@
+package com.community.soob.util;
+
+import java.util.UUID;
+
+// 여러 노드 중 한 노드만 작업하도록 하는 Redis lock, 만료 전에 다시 획득하면 만료시간을 연장한다
+public class RedisLeaderLock {
+    private final String nodeId = UUID.randomUUID().toString();
+    private final RedisUtil redisUtil;
+    private final String key;
+    private final long duration;
+
+    public RedisLeaderLock(RedisUtil redisUtil, String key, long duration) {
+        this.redisUtil = redisUtil;
+        this.key = key;
+        this.duration = duration;
+    }
+
+    public boolean acquire() {
+        if (redisUtil.setDataIfAbsent(key, nodeId, duration)) {
+            return true;
+        }
+        if (nodeId.equals(redisUtil.getData(key))) {
+            redisUtil.expire(key, duration);
+            return true;
+        }
+        return false;
+    }
+}
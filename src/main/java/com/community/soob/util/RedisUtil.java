@@ -1,15 +1,33 @@
 package com.community.soob.util;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RequiredArgsConstructor
 @Service
 public class RedisUtil {
+    // KEYS[2] 가 없으면 "0" 으로 본다 (INCR 로 늘리는 counter)
+    private static final byte[] SET_BYTES_IF_EQUALS_SCRIPT = (
+            "if (redis.call('GET', KEYS[2]) or '0') == ARGV[1] then " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3]) return 1 end " +
+            "return 0").getBytes(StandardCharsets.UTF_8);
+
     private final StringRedisTemplate stringRedisTemplate;
 
     public String getData(String key){
@@ -23,7 +41,124 @@ public class RedisUtil {
         valueOperations.set(key, value, expireDuration);
     }
 
+    // key 가 존재하지 않을때만 저장, 저장했다면 true
+    public boolean setDataIfAbsent(String key, String value, long duration){
+        ValueOperations<String, String> valueOperations = stringRedisTemplate.opsForValue();
+        Duration expireDuration = Duration.ofSeconds(duration);
+        return Boolean.TRUE.equals(valueOperations.setIfAbsent(key, value, expireDuration));
+    }
+
+    public void expire(String key, long duration){
+        stringRedisTemplate.expire(key, Duration.ofSeconds(duration));
+    }
+
     public void deleteData(String key){
         stringRedisTemplate.delete(key);
     }
+
+    public void deleteData(Collection<String> keys){
+        stringRedisTemplate.delete(keys);
+    }
+
+    // 값을 문자열로 바꾸지 않고 byte 그대로 읽고 쓴다
+    public byte[] getBytes(String key){
+        return stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public void setBytesExpire(String key, byte[] value, long duration){
+        stringRedisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.stringCommands().set(key.getBytes(StandardCharsets.UTF_8), value, Expiration.seconds(duration), RedisStringCommands.SetOption.UPSERT));
+    }
+
+    // matchKey 의 값이 matchValue 와 같을 때만 저장, 저장했다면 true
+    public boolean setBytesExpireIfEquals(String key, byte[] value, long duration, String matchKey, String matchValue){
+        Long stored = stringRedisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.scriptingCommands().eval(SET_BYTES_IF_EQUALS_SCRIPT, ReturnType.INTEGER, 2,
+                        key.getBytes(StandardCharsets.UTF_8), matchKey.getBytes(StandardCharsets.UTF_8),
+                        matchValue.getBytes(StandardCharsets.UTF_8), value, String.valueOf(duration).getBytes(StandardCharsets.UTF_8)));
+        return Long.valueOf(1).equals(stored);
+    }
+
+    // 여러 key 의 INCR 와 EXPIRE 를 한번의 pipeline 으로 전송
+    public void incrementDataExpire(Collection<String> keys, long duration){
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            for (String key : keys) {
+                stringRedisConnection.incr(key);
+                stringRedisConnection.expire(key, duration);
+            }
+            return null;
+        });
+    }
+
+    public String getHashData(String key, String field){
+        HashOperations<String, String, String> hashOperations = stringRedisTemplate.opsForHash();
+        return hashOperations.get(key, field);
+    }
+
+    // 요청한 field 순서대로 값을 반환, 없는 field 는 null
+    public List<String> getHashValues(String key, List<String> fields){
+        HashOperations<String, String, String> hashOperations = stringRedisTemplate.opsForHash();
+        return hashOperations.multiGet(key, fields);
+    }
+
+    public Map<String, String> getHashEntries(String key){
+        HashOperations<String, String, String> hashOperations = stringRedisTemplate.opsForHash();
+        return hashOperations.entries(key);
+    }
+
+    // 여러 field 의 HINCRBY 를 한번의 pipeline 으로 전송
+    public void incrementHashData(String key, Map<String, Long> deltas){
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            deltas.forEach((field, delta) -> stringRedisConnection.hIncrBy(key, field, delta));
+            return null;
+        });
+    }
+
+    public List<String> getListRange(String key, long start, long end){
+        return stringRedisTemplate.opsForList().range(key, start, end);
+    }
+
+    public void addListData(String key, Collection<String> values){
+        stringRedisTemplate.opsForList().rightPushAll(key, values);
+    }
+
+    public long getListSize(String key){
+        Long size = stringRedisTemplate.opsForList().size(key);
+        return (size == null) ? 0 : size;
+    }
+
+    public void addSetData(String key, String... values){
+        stringRedisTemplate.opsForSet().add(key, values);
+    }
+
+    // 임의의 member 를 최대 count 개 꺼낸다 (SPOP), 여러 노드가 동시에 꺼내도 겹치지 않는다
+    public List<String> popSetData(String key, long count){
+        List<String> members = stringRedisTemplate.opsForSet().pop(key, count);
+        return (members == null) ? List.of() : members;
+    }
+
+    public void addZSetData(String key, String value, double score){
+        stringRedisTemplate.opsForZSet().add(key, value, score);
+    }
+
+    // score 가 min 이상 max 이하인 member 를 score 순으로 최대 count 개
+    public Set<String> getZSetRangeByScore(String key, double min, double max, long count){
+        Set<String> members = stringRedisTemplate.opsForZSet().rangeByScore(key, min, max, 0, count);
+        return (members == null) ? Set.of() : members;
+    }
+
+    public void removeZSetData(String key, Object... values){
+        stringRedisTemplate.opsForZSet().remove(key, values);
+    }
+
+    public void publish(String channel, String message){
+        stringRedisTemplate.convertAndSend(channel, message);
+    }
+
+    public <T> T executeScript(RedisScript<T> script, List<String> keys, Object... args){
+        return stringRedisTemplate.execute(script, keys, args);
+    }
 }
@@ -0,0 +1,30 @@
+package com.community.soob.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+// 커서 기반 조회 공통 처리, 다음 페이지 존재 여부는 size + 1 개를 조회해서 판단
+public final class SliceUtil {
+    public static final int MAX_SIZE = 50;
+
+    private SliceUtil() {
+    }
+
+    public static int limitSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    // size + 1 개를 조회하기 위한 Pageable
+    public static Pageable lookAhead(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    public static <T> Slice<T> toSlice(List<T> content, int size) {
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, PageRequest.of(0, size), hasNext);
+    }
+}
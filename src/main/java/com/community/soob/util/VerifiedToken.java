@@ -0,0 +1,28 @@
+package com.community.soob.util;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+// 서명과 만료 검사를 통과한 토큰의 값, JwtUtil.verify 로만 만든다
+@EqualsAndHashCode
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class VerifiedToken {
+    public static final String ACCOUNT_EMAIL_CLAIM = "accountEmail";
+
+    private final String accountEmail;
+    private final Instant issuedAt;
+    private final Instant expiration;
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.get(ACCOUNT_EMAIL_CLAIM, String.class),
+                claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant());
+    }
+}
@@ -0,0 +1,44 @@
+package com.community.soob.repository;
+
+import com.community.soob.attachment.AttachmentBlob;
+import com.community.soob.attachment.AttachmentBlobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataJpaTest
+public class AttachmentBlobRepositoryTest {
+    private static final String HASH = "b".repeat(64);
+
+    @Autowired private TestEntityManager testEntityManager;
+    @Autowired private AttachmentBlobRepository attachmentBlobRepository;
+
+    @DisplayName("참조 수 - 늘리고 줄여서 0 이 되었을 때만 지움")
+    @Test
+    void testReferenceCount() {
+        // given
+        testEntityManager.persistAndFlush(AttachmentBlob.builder()
+                .contentHash(HASH)
+                .fileName("post/a.jpg")
+                .filePath("https://bucket/post/a.jpg")
+                .size(1000)
+                .referenceCount(1)
+                .build());
+        testEntityManager.clear();
+
+        // when, then
+        assertEquals(1, attachmentBlobRepository.addReference(HASH));
+        assertEquals(0, attachmentBlobRepository.addReference("unknown"));
+        assertEquals(1, attachmentBlobRepository.removeReference(HASH));
+        assertEquals(0, attachmentBlobRepository.deleteIfUnreferenced(HASH));
+        assertEquals(1, attachmentBlobRepository.removeReference(HASH));
+        assertEquals(0, attachmentBlobRepository.removeReference(HASH));
+        assertEquals(1, attachmentBlobRepository.deleteIfUnreferenced(HASH));
+        assertFalse(attachmentBlobRepository.findByContentHash(HASH).isPresent());
+    }
+}
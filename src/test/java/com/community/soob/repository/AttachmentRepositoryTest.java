@@ -0,0 +1,84 @@
+package com.community.soob.repository;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.Role;
+import com.community.soob.attachment.Attachment;
+import com.community.soob.attachment.AttachmentRepository;
+import com.community.soob.attachment.PostThumbnail;
+import com.community.soob.post.domain.Board;
+import com.community.soob.post.domain.Post;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataJpaTest
+public class AttachmentRepositoryTest {
+    @Autowired private TestEntityManager testEntityManager;
+    @Autowired private AttachmentRepository attachmentRepository;
+
+    private Post createPost(Board board, Account author, String title) {
+        return testEntityManager.persist(Post.builder()
+                .board(board)
+                .author(author)
+                .title(title)
+                .content("content")
+                .attachments(new ArrayList<>())
+                .build());
+    }
+
+    private void addAttachment(Post post, String fileName, String thumbnailPath) {
+        Attachment attachment = Attachment.builder()
+                .fileName(fileName)
+                .filePath("https://bucket/" + fileName)
+                .thumbnailPath(thumbnailPath)
+                .build();
+        post.addAttachment(attachment);
+        testEntityManager.persist(attachment);
+    }
+
+    @DisplayName("게시글마다 첫번째 첨부파일의 thumbnail 조회 - 사본이 없으면 원본 경로")
+    @Test
+    void testFindFirstThumbnailsByPostIds() {
+        // given
+        Board board = testEntityManager.persist(Board.builder()
+                .name("QNA")
+                .build());
+        Account author = testEntityManager.persist(Account.builder()
+                .email("test@test.com")
+                .password("$2a$10$2H.qwzvH9zq4NrqrGJWdZOVZ4nrx3rfgEqnKvK98fWvaop0ceVtt2")
+                .nickname("test")
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .salt("$2a$10$2H.qwzvH9zq4NrqrGJWdZO")
+                .build());
+        Post first = createPost(board, author, "title1");
+        addAttachment(first, "post/1.jpg", "https://bucket/post/1_thumb.jpg");
+        addAttachment(first, "post/2.jpg", "https://bucket/post/2_thumb.jpg");
+        Post legacy = createPost(board, author, "title2");
+        addAttachment(legacy, "post/3.jpg", null);
+        Post empty = createPost(board, author, "title3");
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // when
+        List<PostThumbnail> thumbnails = attachmentRepository.findFirstThumbnailsByPostIds(List.of(first.getId(), legacy.getId(), empty.getId()));
+
+        // then
+        Map<Long, String> thumbnailByPostId = thumbnails.stream()
+                .collect(Collectors.toMap(PostThumbnail::getPostId, PostThumbnail::getThumbnailPath));
+        assertEquals(2, thumbnailByPostId.size());
+        assertEquals("https://bucket/post/1_thumb.jpg", thumbnailByPostId.get(first.getId()));
+        assertEquals("https://bucket/post/3.jpg", thumbnailByPostId.get(legacy.getId()));
+        assertFalse(thumbnailByPostId.containsKey(empty.getId()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.community.soob.repository;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.Role;
+import com.community.soob.attachment.Attachment;
+import com.community.soob.comment.controller.dto.CommentResponseDto;
+import com.community.soob.comment.domain.Comment;
+import com.community.soob.comment.domain.CommentAuthorSummary;
+import com.community.soob.comment.domain.CommentRepository;
+import com.community.soob.heart.domain.Heart;
+import com.community.soob.heart.domain.HeartRepository;
+import com.community.soob.post.domain.Board;
+import com.community.soob.post.domain.Post;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class CommentRepositoryTest {
+    @Autowired private TestEntityManager testEntityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private HeartRepository heartRepository;
+
+    private Statistics statistics;
+    private long postId;
+
+    @BeforeEach
+    void setUp() {
+        Board board = testEntityManager.persist(Board.builder()
+                .name("QNA")
+                .build());
+        Account postAuthor = testEntityManager.persist(createAccount(0, null));
+        Post post = testEntityManager.persist(Post.builder()
+                .board(board)
+                .author(postAuthor)
+                .title("title1")
+                .content("content1")
+                .attachments(new ArrayList<>())
+                .build());
+
+        // 댓글마다 작성자와 프로필이미지가 다르게 12개
+        for (int i = 1; i <= 12; i++) {
+            Attachment profileImage = Attachment.builder()
+                    .fileName("profile" + i + ".png")
+                    .filePath("profile/profile" + i + ".png")
+                    .build();
+            Account author = testEntityManager.persist(createAccount(i, profileImage));
+            testEntityManager.persist(Comment.builder()
+                    .post(post)
+                    .author(author)
+                    .content("test-comment" + i)
+                    .build());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        this.postId = post.getId();
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.clear();
+    }
+
+    private Account createAccount(int index, Attachment profileImage) {
+        return Account.builder()
+                .email("test" + index + "@test.com")
+                .password("$2a$10$2H.qwzvH9zq4NrqrGJWdZOVZ4nrx3rfgEqnKvK98fWvaop0ceVtt2")
+                .nickname("test" + index)
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .salt("$2a$10$2H.qwzvH9zq4NrqrGJWdZO")
+                .profileImage(profileImage)
+                .build();
+    }
+
+    @DisplayName("댓글 페이지 조회 - 댓글 조회 1번, count 1번으로 응답 DTO 까지 변환")
+    @Test
+    void testFindAllByPostIdStatementCount() {
+        // when
+        Page<Comment> comments = commentRepository.findAllByPostId(postId, PageRequest.of(0, 10));
+        List<CommentResponseDto> responseDtos = comments.getContent().stream()
+                .map(CommentResponseDto::fromEntity)
+                .collect(Collectors.toList());
+        comments.getContent().forEach(comment -> comment.getAuthor().getProfileImage().getFilePath());
+
+        // then
+        assertEquals(10, responseDtos.size());
+        assertEquals(postId, responseDtos.get(0).getPostId());
+        assertEquals(12, comments.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertFalse(testEntityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil()
+                .isLoaded(comments.getContent().get(0).getPost()));
+    }
+
+    @DisplayName("댓글 chunk 집계, 삭제 - 작성자별 댓글 수와 댓글에 받은 하트 수")
+    @Test
+    void testSummarizeAndDeleteChunk() {
+        // given
+        List<Comment> comments = commentRepository.findSliceByPostIdAfter(postId, 0L, PageRequest.of(0, 2));
+        Account heartAccount = testEntityManager.persist(createAccount(100, null));
+        for (Comment comment : comments) {
+            testEntityManager.persist(Heart.builder()
+                    .account(heartAccount)
+                    .comment(comment)
+                    .build());
+        }
+        testEntityManager.flush();
+
+        // when
+        List<Long> commentIds = commentRepository.findIdsByPostId(postId, PageRequest.of(0, 5));
+        List<CommentAuthorSummary> summaries = commentRepository.summarizeByAuthor(commentIds);
+        heartRepository.deleteAllByCommentIds(commentIds);
+        int deletedCount = commentRepository.deleteAllByIdInBulk(commentIds);
+
+        // then
+        assertEquals(5, summaries.size());
+        assertEquals(5, summaries.stream().mapToLong(CommentAuthorSummary::getCommentCount).sum());
+        assertEquals(2, summaries.stream().mapToLong(CommentAuthorSummary::getHeartCount).sum());
+        summaries.forEach(summary -> assertTrue(summary.getAuthorEmail().endsWith("@test.com")));
+        assertEquals(5, deletedCount);
+        assertEquals(0, heartRepository.count());
+        assertEquals(7, commentRepository.countByPostId(postId));
+    }
+
+    @DisplayName("댓글 커서 조회 - count 쿼리 없이 댓글 조회 1번")
+    @Test
+    void testFindSliceByPostIdAfterStatementCount() {
+        // when
+        List<Comment> comments = commentRepository.findSliceByPostIdAfter(postId, 0L, PageRequest.of(0, 11));
+        comments.forEach(CommentResponseDto::fromEntity);
+
+        // then
+        assertEquals(11, comments.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
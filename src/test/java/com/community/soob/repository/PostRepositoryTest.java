@@ -0,0 +1,120 @@
+package com.community.soob.repository;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.Role;
+import com.community.soob.common.Cursor;
+import com.community.soob.post.controller.dto.PostSummaryResponseDto;
+import com.community.soob.post.domain.Board;
+import com.community.soob.post.domain.Post;
+import com.community.soob.post.service.BoardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 감사(auditing) 를 켜기 전에 작성된 게시글은 created_at 이 null 이다
+@DataJpaTest
+@Import(BoardService.class)
+public class PostRepositoryTest {
+    @Autowired private TestEntityManager testEntityManager;
+    @Autowired private BoardService boardService;
+
+    // createdAt 내림차순, createdAt 이 없는 게시글은 id 내림차순으로 가장 뒤에
+    private final List<Long> expectedIds = new ArrayList<>();
+    private long boardId;
+
+    @BeforeEach
+    void setUp() {
+        Board board = testEntityManager.persist(Board.builder()
+                .name("QNA")
+                .build());
+        this.boardId = board.getId();
+        Account author = testEntityManager.persist(Account.builder()
+                .email("test@test.com")
+                .password("$2a$10$2H.qwzvH9zq4NrqrGJWdZOVZ4nrx3rfgEqnKvK98fWvaop0ceVtt2")
+                .nickname("test")
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .salt("$2a$10$2H.qwzvH9zq4NrqrGJWdZO")
+                .build());
+
+        List<Long> legacyIds = new ArrayList<>();
+        List<Long> auditedIds = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            Post post = testEntityManager.persist(Post.builder()
+                    .board(board)
+                    .author(author)
+                    .title("title" + i)
+                    .content("content" + i)
+                    .attachments(new ArrayList<>())
+                    .build());
+            (i <= 3 ? legacyIds : auditedIds).add(post.getId());
+        }
+        testEntityManager.flush();
+        for (int i = 0; i < auditedIds.size(); i++) {
+            testEntityManager.getEntityManager()
+                    .createNativeQuery("UPDATE post SET created_at = ? WHERE post_id = ?")
+                    .setParameter(1, LocalDateTime.of(2021, 8, 25, 10, 0).plusMinutes(i))
+                    .setParameter(2, auditedIds.get(i))
+                    .executeUpdate();
+        }
+        testEntityManager.clear();
+
+        for (int i = auditedIds.size() - 1; i >= 0; i--) {
+            expectedIds.add(auditedIds.get(i));
+        }
+        for (int i = legacyIds.size() - 1; i >= 0; i--) {
+            expectedIds.add(legacyIds.get(i));
+        }
+    }
+
+    @DisplayName("전체 게시글 커서 조회 성공 - createdAt 이 있는 게시글 다음에 createdAt 이 없는 게시글까지 이어서 조회")
+    @Test
+    void testGetAllPostsAcrossNullCreatedAt() {
+        // given
+        List<Long> ids = new ArrayList<>();
+        Cursor cursor = null;
+
+        // when
+        Slice<Post> posts;
+        do {
+            posts = boardService.getAllPosts(cursor, 2);
+            posts.forEach(post -> ids.add(post.getId()));
+            Post last = posts.getContent().get(posts.getNumberOfElements() - 1);
+            cursor = Cursor.of(last.getCreatedAt(), last.getId());
+        } while (posts.hasNext());
+
+        // then
+        assertEquals(expectedIds, ids);
+    }
+
+    @DisplayName("게시판 게시글 커서 조회 성공 - createdAt 이 있는 게시글 다음에 createdAt 이 없는 게시글까지 이어서 조회")
+    @Test
+    void testGetPostsByBoardIdAcrossNullCreatedAt() {
+        // given
+        List<Long> ids = new ArrayList<>();
+        Cursor cursor = null;
+
+        // when
+        Slice<PostSummaryResponseDto> posts;
+        do {
+            posts = boardService.getPostsByBoardId(boardId, cursor, 2);
+            posts.forEach(post -> ids.add(post.getId()));
+            PostSummaryResponseDto last = posts.getContent().get(posts.getNumberOfElements() - 1);
+            cursor = Cursor.of(last.getCreatedAt(), last.getId());
+        } while (posts.hasNext());
+
+        // then
+        assertEquals(expectedIds, ids);
+    }
+}
@@ -0,0 +1,103 @@
+package com.community.soob.service;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.AccountRepository;
+import com.community.soob.account.domain.Role;
+import com.community.soob.account.exception.AccountPasswordNotMatchedException;
+import com.community.soob.account.service.AccountFindService;
+import com.community.soob.account.service.AccountLoginService;
+import com.community.soob.account.service.PrincipalCache;
+import com.community.soob.account.service.SaltService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountLoginServiceTest {
+    private static final String EMAIL = "test@test.com";
+    private static final String PASSWORD = "password1!";
+
+    @Mock private AccountFindService accountFindService;
+    @Mock private AccountRepository accountRepository;
+    @Mock private PrincipalCache principalCache;
+
+    private AccountLoginService createAccountLoginService(SaltService saltService) {
+        return new AccountLoginService(accountFindService, accountRepository, saltService, principalCache);
+    }
+
+    private Account createAccount(SaltService saltService) {
+        return Account.builder()
+                .id(2L)
+                .email(EMAIL)
+                .password(saltService.encodePassword(saltService.genSalt(), PASSWORD))
+                .nickname("test")
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .build();
+    }
+
+    @DisplayName("로그인 성공 - cost 가 같으면 다시 해시하지 않음")
+    @Test
+    void testLoginSuccess() {
+        // given
+        SaltService saltService = new SaltService(new SimpleMeterRegistry(), 4, 1, 10, 1);
+        Account account = createAccount(saltService);
+        given(accountFindService.findByEmail(EMAIL)).willReturn(account);
+
+        // when
+        Account loginAccount = createAccountLoginService(saltService).login(EMAIL, PASSWORD).join();
+
+        // then
+        assertEquals(account, loginAccount);
+        then(accountRepository).should(never()).updatePasswordIfUnchanged(anyLong(), anyString(), anyString(), anyString());
+    }
+
+    @DisplayName("로그인 성공 - cost 가 바뀌었으면 새 cost 로 다시 해시")
+    @Test
+    void testLoginSuccessWithRehash() {
+        // given
+        Account account = createAccount(new SaltService(new SimpleMeterRegistry(), 4, 1, 10, 1));
+        String oldPassword = account.getPassword();
+        given(accountFindService.findByEmail(EMAIL)).willReturn(account);
+        given(accountRepository.updatePasswordIfUnchanged(eq(2L), eq(oldPassword), anyString(), anyString())).willReturn(1);
+
+        // when
+        createAccountLoginService(new SaltService(new SimpleMeterRegistry(), 5, 1, 10, 1)).login(EMAIL, PASSWORD).join();
+
+        // then
+        then(accountRepository).should().updatePasswordIfUnchanged(eq(2L), eq(oldPassword), anyString(),
+                startsWith("$2a$05$"));
+        then(principalCache).should().evict(EMAIL);
+    }
+
+    @DisplayName("로그인 실패 - 비밀번호 불일치")
+    @Test
+    void testLoginFailureByPasswordNotMatched() {
+        // given
+        SaltService saltService = new SaltService(new SimpleMeterRegistry(), 4, 1, 10, 1);
+        given(accountFindService.findByEmail(EMAIL)).willReturn(createAccount(saltService));
+
+        // when
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> createAccountLoginService(saltService).login(EMAIL, "wrong1!").join());
+
+        // then
+        assertTrue(e.getCause() instanceof AccountPasswordNotMatchedException);
+    }
+}
@@ -1,11 +1,13 @@
 package com.community.soob.service;
 
+import com.community.soob.account.controller.dto.AccountResponseDto;
 import com.community.soob.account.domain.Account;
 import com.community.soob.account.domain.AccountRepository;
 import com.community.soob.account.domain.Role;
 import com.community.soob.account.exception.AccountPasswordNotMatchedException;
 import com.community.soob.account.service.*;
 import com.community.soob.attachment.AttachmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -37,7 +39,8 @@ class AccountUpdateServiceTest {
     @Mock private AccountFindService accountFindService;
     @Mock private AccountCheckService accountCheckService;
     @Mock private AttachmentService attachmentService;
-    private SaltService saltService = new SaltService();
+    @Mock private PrincipalCache principalCache;
+    private SaltService saltService = new SaltService(new SimpleMeterRegistry(), 4, 1, 10, 1);
 
     private Account createAccount() {
         return Account.builder()
@@ -55,7 +58,7 @@ class AccountUpdateServiceTest {
     @BeforeEach
     void setUp() {
         this.accountUpdateService = new AccountUpdateService(
-                accountRepository, emailService, accountFindService, accountCheckService, attachmentService, saltService
+                accountRepository, emailService, accountFindService, accountCheckService, attachmentService, saltService, principalCache
         );
     }
 
@@ -64,6 +67,7 @@ class AccountUpdateServiceTest {
     void testUpdatePasswordSuccess() {
         // given
         Account account = createAccount();
+        given(accountFindService.findById(2L)).willReturn(account);
         String currentPassword = "password";
         String newPassword = "Password123!@#";
         String confirmNewPassword = "Password123!@#";
@@ -86,6 +90,7 @@ class AccountUpdateServiceTest {
     void testUpdatePasswordFailureByNotMatchedPassword() {
         // given
         Account account = createAccount();
+        given(accountFindService.findById(2L)).willReturn(account);
         String currentPassword = "InvalidPassword";
         String newPassword = "Password123!@#";
         String confirmNewPassword = "Password123!@#";
@@ -107,11 +112,13 @@ class AccountUpdateServiceTest {
                 .willReturn(account);
 
         final UUID tempPassword = UUID.fromString("d49de159-7c60-41bb-9f4c-51ba1087f696");
-        MockedStatic<UUID> mockUUID = mockStatic(UUID.class);
-        mockUUID.when(UUID::randomUUID).thenReturn(tempPassword);
+        // 다른 테스트에 영향이 없도록 static mock 은 닫는다
+        try (MockedStatic<UUID> mockUUID = mockStatic(UUID.class)) {
+            mockUUID.when(UUID::randomUUID).thenReturn(tempPassword);
 
-        // when
-        accountUpdateService.sendTempPasswordEmail(email);
+            // when
+            accountUpdateService.sendTempPasswordEmail(email);
+        }
 
         // then
         then(emailService).should().sendEmail(eq(email), any(), any());
@@ -129,6 +136,7 @@ class AccountUpdateServiceTest {
     void testUpdateAccountSuccessWithProfileImage() throws IOException {
         // given
         Account account = createAccount();
+        given(accountFindService.findById(2L)).willReturn(account);
         String nickname = "modifiedNickname";
         MockMultipartFile multipartFile = new MockMultipartFile(
                 "profileImage",
@@ -152,6 +160,7 @@ class AccountUpdateServiceTest {
         // given
         String nickname = "modifiedNickname";
         Account account = createAccount();
+        given(accountFindService.findById(2L)).willReturn(account);
 
         // when
         accountUpdateService.updateAccount(account, nickname, null);
@@ -160,5 +169,38 @@ class AccountUpdateServiceTest {
         assertEquals(nickname, account.getNickname());
         then(attachmentService).should(never()).uploadProfileImage(any(), any());
         then(accountRepository).should().save(account);
+        then(principalCache).should().evict("test@test.com");
+    }
+
+    @DisplayName("회원 정보 수정 성공 - 캐시된 인증 정보가 아니라 다시 조회한 회원을 변경해서 반환")
+    @Test
+    void testUpdateAccountSuccessReturnsReloadedAccount() {
+        // given
+        String nickname = "modifiedNickname";
+        Account principal = createAccount();
+        given(accountFindService.findById(2L)).willReturn(createAccount());
+
+        // when
+        Account account = accountUpdateService.updateAccount(principal, nickname, null);
+
+        // then
+        assertEquals(nickname, AccountResponseDto.fromEntity(account).getNickname());
+        assertEquals("test", principal.getNickname());
+        then(accountRepository).should().save(account);
+    }
+
+    @DisplayName("회원 탈퇴 성공 - 캐시된 인증 정보 삭제")
+    @Test
+    void testDeleteAccountSuccess() {
+        // given
+        Account account = createAccount();
+        given(accountFindService.findById(2L)).willReturn(account);
+
+        // when
+        accountUpdateService.deleteAccount(2L);
+
+        // then
+        then(accountRepository).should().delete(account);
+        then(principalCache).should().evict("test@test.com");
     }
 }
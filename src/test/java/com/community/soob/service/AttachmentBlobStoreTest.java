@@ -0,0 +1,128 @@
+package com.community.soob.service;
+
+import com.community.soob.attachment.Attachment;
+import com.community.soob.attachment.AttachmentBlob;
+import com.community.soob.attachment.AttachmentBlobRepository;
+import com.community.soob.attachment.AttachmentBlobStore;
+import com.community.soob.attachment.AttachmentDeleteQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+public class AttachmentBlobStoreTest {
+    private static final String HASH = "a".repeat(64);
+
+    @Mock private AttachmentBlobRepository attachmentBlobRepository;
+    @Mock private AttachmentDeleteQueue attachmentDeleteQueue;
+    @Mock private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AttachmentBlobStore attachmentBlobStore;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.attachmentBlobStore = new AttachmentBlobStore(attachmentBlobRepository, attachmentDeleteQueue, jdbcTemplate, meterRegistry);
+    }
+
+    private AttachmentBlob createBlob(String fileName) {
+        return AttachmentBlob.builder()
+                .contentHash(HASH)
+                .fileName(fileName)
+                .filePath("https://bucket/" + fileName)
+                .size(1000)
+                .referenceCount(1)
+                .build();
+    }
+
+    private Attachment createUploaded(String fileName) {
+        return Attachment.builder()
+                .fileName(fileName)
+                .filePath("https://bucket/" + fileName)
+                .build();
+    }
+
+    @DisplayName("재사용 - 이미 있는 내용이면 참조를 늘리고 그 파일을 가리키는 첨부파일, 없으면 null")
+    @Test
+    void testAcquire() {
+        // given
+        given(attachmentBlobRepository.addReference(HASH)).willReturn(1);
+        given(attachmentBlobRepository.findByContentHash(HASH)).willReturn(Optional.of(createBlob("post/a.jpg")));
+        given(attachmentBlobRepository.addReference("unknown")).willReturn(0);
+
+        // when
+        Attachment attachment = attachmentBlobStore.acquire(HASH);
+
+        // then
+        assertEquals("post/a.jpg", attachment.getFileName());
+        assertEquals(HASH, attachment.getContentHash());
+        assertNull(attachmentBlobStore.acquire("unknown"));
+        assertEquals(1000, meterRegistry.get("attachment.dedup.saved").counter().count());
+        assertEquals(1, meterRegistry.get("attachment.dedup.ratio").gauge().value());
+    }
+
+    @DisplayName("등록 - 같은 내용을 먼저 등록한 요청이 있으면 그 파일을 사용하고 이번에 올린 사본은 커밋 후에 지움")
+    @Test
+    void testRegisterLosesRace() {
+        // given
+        given(jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class))).willThrow(new DuplicateKeyException("uk_attachment_blob_content_hash"));
+        given(attachmentBlobRepository.addReference(HASH)).willReturn(1);
+        given(attachmentBlobRepository.findByContentHash(HASH)).willReturn(Optional.of(createBlob("post/first.jpg")));
+
+        // when
+        Attachment attachment = attachmentBlobStore.register(HASH, createUploaded("post/second.jpg"), 1000);
+
+        // then
+        assertEquals("post/first.jpg", attachment.getFileName());
+        then(attachmentDeleteQueue).should().deleteAfterCommit(List.of("post/second.jpg", "post/second_medium.jpg", "post/second_thumb.jpg"));
+    }
+
+    @DisplayName("등록 성공 - 올린 사본을 참조 수 1 로 등록")
+    @Test
+    void testRegisterSuccess() {
+        // when
+        Attachment attachment = attachmentBlobStore.register(HASH, createUploaded("post/a.jpg"), 1000);
+
+        // then
+        assertEquals("post/a.jpg", attachment.getFileName());
+        assertEquals(HASH, attachment.getContentHash());
+        then(attachmentDeleteQueue).shouldHaveNoInteractions();
+        assertEquals(1, meterRegistry.get("attachment.dedup.stored").counter().count());
+        assertEquals(0, meterRegistry.get("attachment.dedup.ratio").gauge().value());
+    }
+
+    @DisplayName("참조 해제 - 마지막 참조일 때만 파일을 지우고, 중복 제거 전에 올린 첨부파일은 바로 지움")
+    @Test
+    void testRelease() {
+        // given
+        Attachment shared = Attachment.builder().fileName("post/a.jpg").filePath("path").contentHash(HASH).build();
+        Attachment legacy = createUploaded("post/legacy.jpg");
+        given(attachmentBlobRepository.deleteIfUnreferenced(HASH)).willReturn(0, 1);
+
+        // when, then
+        assertTrue(attachmentBlobStore.release(shared).isEmpty());
+        assertEquals(List.of("post/a.jpg", "post/a_medium.jpg", "post/a_thumb.jpg"), attachmentBlobStore.release(shared));
+        assertEquals(List.of("post/legacy.jpg", "post/legacy_medium.jpg", "post/legacy_thumb.jpg"), attachmentBlobStore.release(legacy));
+        then(attachmentBlobRepository).should(never()).removeReference(null);
+    }
+}
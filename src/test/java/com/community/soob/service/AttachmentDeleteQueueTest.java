@@ -0,0 +1,84 @@
+package com.community.soob.service;
+
+import com.community.soob.attachment.AttachmentDeleteQueue;
+import com.community.soob.attachment.FileStorage;
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+public class AttachmentDeleteQueueTest {
+    private static final String RETRY_KEY = "attachment:delete:retry";
+
+    @Mock private FileStorage fileStorage;
+    @Mock private RedisUtil redisUtil;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AttachmentDeleteQueue attachmentDeleteQueue;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.attachmentDeleteQueue = new AttachmentDeleteQueue(fileStorage, redisUtil, meterRegistry, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("첨부파일 삭제 성공 - 트랜잭션이 커밋된 뒤에 한번에 지움")
+    @Test
+    void testDeleteAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        List<String> fileNames = List.of("post/1.jpg", "post/2.jpg");
+        given(fileStorage.deleteAll(fileNames)).willReturn(List.of());
+
+        // when
+        attachmentDeleteQueue.deleteAfterCommit(fileNames);
+
+        // then
+        then(fileStorage).shouldHaveNoInteractions();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        then(fileStorage).should().deleteAll(fileNames);
+        assertEquals(2, meterRegistry.get("attachment.delete.deleted").counter().count());
+        assertEquals(1, meterRegistry.get("attachment.delete").timer().count());
+    }
+
+    @DisplayName("첨부파일 삭제 실패 - 지우지 못한 파일은 재시도 목록에 넣고 다음 주기에 다시 지움")
+    @Test
+    void testDeleteFailureRetried() {
+        // given
+        List<String> fileNames = List.of("post/1.jpg", "post/2.jpg");
+        given(fileStorage.deleteAll(fileNames)).willReturn(List.of("post/2.jpg"));
+        given(redisUtil.popSetData(RETRY_KEY, 1000)).willReturn(List.of("post/2.jpg"));
+        given(fileStorage.deleteAll(List.of("post/2.jpg"))).willReturn(List.of());
+
+        // when
+        attachmentDeleteQueue.deleteAfterCommit(fileNames);
+        attachmentDeleteQueue.retry();
+
+        // then
+        then(redisUtil).should().addSetData(RETRY_KEY, "post/2.jpg");
+        then(fileStorage).should().deleteAll(List.of("post/2.jpg"));
+        assertEquals(1, meterRegistry.get("attachment.delete.failed").counter().count());
+        assertEquals(2, meterRegistry.get("attachment.delete.deleted").counter().count());
+    }
+}
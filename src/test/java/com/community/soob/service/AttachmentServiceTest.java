@@ -4,40 +4,75 @@ import com.community.soob.account.domain.Account;
 import com.community.soob.account.domain.AccountRepository;
 import com.community.soob.account.domain.Role;
 import com.community.soob.attachment.Attachment;
+import com.community.soob.attachment.AttachmentBlobStore;
+import com.community.soob.attachment.AttachmentDeleteQueue;
+import com.community.soob.attachment.AttachmentException;
 import com.community.soob.attachment.AttachmentRepository;
 import com.community.soob.attachment.AttachmentService;
-import com.community.soob.attachment.S3Service;
+import com.community.soob.attachment.FileStorage;
+import com.community.soob.attachment.HashedContent;
+import com.community.soob.attachment.ImageProcessor;
+import com.community.soob.attachment.ImageRendition;
+import com.community.soob.attachment.PresignedUploadService;
+import com.community.soob.attachment.PresignedUploadService.PendingUpload;
+import com.community.soob.attachment.PresignedUploadTarget;
 import com.community.soob.post.domain.Board;
 import com.community.soob.post.domain.Post;
 import com.community.soob.post.domain.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
 public class AttachmentServiceTest {
-    @InjectMocks private AttachmentService attachmentService;
+    private AttachmentService attachmentService;
+    private ImageProcessor imageProcessor;
     @Mock private AttachmentRepository attachmentRepository;
     @Mock private AccountRepository accountRepository;
     @Mock private PostRepository postRepository;
-    @Mock private S3Service s3Service;
+    @Mock private FileStorage fileStorage;
+    @Mock private PresignedUploadService presignedUploadService;
+    @Mock private AttachmentBlobStore attachmentBlobStore;
+    @Mock private AttachmentDeleteQueue attachmentDeleteQueue;
+    @Captor private ArgumentCaptor<List<String>> deletedCaptor;
+    @Mock private NamedParameterJdbcTemplate jdbcTemplate;
 
     private final String profileDirectoryName = "profile/";
     private final String postDirectoryName = "post/";
@@ -75,13 +110,37 @@ public class AttachmentServiceTest {
                 .build();
     }
 
+    // 내용이 다른 이미지가 필요할 때 색으로 구분한다
+    private byte[] createImageContent(Color color) throws IOException {
+        BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, 200, 100);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        return output.toByteArray();
+    }
+
+    // 새로 올린 사본을 그대로 등록
+    private void givenNewBlobsRegistered() {
+        given(attachmentBlobStore.register(anyString(), any(), anyLong())).willAnswer(invocation -> invocation.getArgument(1));
+    }
+
     @BeforeEach
     void setUp() {
+        this.imageProcessor = new ImageProcessor(new SimpleMeterRegistry(), 2, 10, 320, 1280, 25_000_000, 0.82f, 1);
         this.attachmentService = new AttachmentService(
-                attachmentRepository, accountRepository, postRepository, s3Service, profileDirectoryName, postDirectoryName
+                attachmentRepository, accountRepository, postRepository, fileStorage, imageProcessor, presignedUploadService, attachmentBlobStore, attachmentDeleteQueue, jdbcTemplate, profileDirectoryName, postDirectoryName, 2, 10
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        imageProcessor.shutdown();
+        attachmentService.shutdown();
+    }
+
     @DisplayName("프로필이미지 업로드 성공")
     @Test
     void testProfileImageUploadSuccess() throws IOException {
@@ -101,11 +160,19 @@ public class AttachmentServiceTest {
 
         given(attachmentRepository.save(any()))
                 .willReturn(savedAttachment);
+        givenNewBlobsRegistered();
 
         // when
         attachmentService.uploadProfileImage(account, multipartFile);
 
         // then
+        ArgumentCaptor<Attachment> attachmentArgumentCaptor = ArgumentCaptor.forClass(Attachment.class);
+        then(attachmentRepository).should().save(attachmentArgumentCaptor.capture());
+        String fileName = attachmentArgumentCaptor.getValue().getFileName();
+        then(fileStorage).should().upload(any(), eq("image/jpeg"), eq(fileName));
+        then(fileStorage).should().upload(any(), eq("image/jpeg"), eq(ImageRendition.MEDIUM.fileName(fileName)));
+        then(fileStorage).should().upload(any(), eq("image/jpeg"), eq(ImageRendition.THUMBNAIL.fileName(fileName)));
+
         ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
         then(accountRepository).should().save(accountArgumentCaptor.capture());
         assertEquals(
@@ -114,44 +181,155 @@ public class AttachmentServiceTest {
         );
     }
 
-    @DisplayName("게시글이미지 업로드 성공")
-    @Test
-    void testPostImageUploadSuccess() throws IOException {
-        // given
-        Post post = createPost();
-        MockMultipartFile multipartFile = new MockMultipartFile(
-                "profileImage",
-                "profileImage.jpg",
+    private MockMultipartFile createImageFile(String name) throws IOException {
+        return new MockMultipartFile(
+                "images",
+                name,
                 "image/jpeg",
                 new ClassPathResource("/images/profileImage.jpg").getInputStream()
         );
-        Attachment savedAttachment = Attachment.builder()
-                .id(1L)
-                .fileName("name")
-                .filePath("path")
+    }
+
+    @DisplayName("게시글이미지 업로드 성공 - 동시에 올리고 첨부파일은 한번에 저장")
+    @Test
+    void testPostImagesUploadSuccess() throws IOException {
+        // given
+        Post post = createPost();
+        MockMultipartFile otherFile = new MockMultipartFile("images", "image2.jpg", "image/jpeg", createImageContent(Color.BLUE));
+        List<MultipartFile> files = List.of(createImageFile("image1.jpg"), otherFile);
+        given(fileStorage.getFileUrl(any())).willAnswer(invocation -> "https://bucket/" + invocation.getArgument(0));
+        givenNewBlobsRegistered();
+
+        // when
+        attachmentService.uploadPostImages(post, files);
+
+        // then
+        then(fileStorage).should(times(6)).upload(any(), eq("image/jpeg"), anyString());
+        then(attachmentRepository).should(never()).save(any());
+
+        ArgumentCaptor<MapSqlParameterSource[]> batchArgsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource[].class);
+        then(jdbcTemplate).should().batchUpdate(anyString(), batchArgsCaptor.capture());
+        MapSqlParameterSource[] batchArgs = batchArgsCaptor.getValue();
+        assertEquals(2, batchArgs.length);
+        for (MapSqlParameterSource batchArg : batchArgs) {
+            assertEquals(1L, batchArg.getValue("postId"));
+            String fileName = (String) batchArg.getValue("fileName");
+            assertEquals("https://bucket/" + fileName, batchArg.getValue("filePath"));
+            assertEquals("https://bucket/" + ImageRendition.THUMBNAIL.fileName(fileName), batchArg.getValue("thumbnailPath"));
+        }
+        then(attachmentBlobStore).should(times(2)).register(anyString(), any(), anyLong());
+    }
+
+    @DisplayName("게시글이미지 업로드 성공 - 이미 있는 내용은 올리지 않고 재사용, 같은 요청 안에서 같은 내용은 한번만 올림")
+    @Test
+    void testPostImagesUploadDeduplicated() throws IOException {
+        // given
+        Post post = createPost();
+        byte[] existingContent = createImageContent(Color.BLUE);
+        String existingHash = HashedContent.of(existingContent).getContentHash();
+        Attachment existing = Attachment.builder()
+                .fileName("post/existing.jpg")
+                .filePath("https://bucket/post/existing.jpg")
+                .contentHash(existingHash)
                 .build();
+        MockMultipartFile existingFile = new MockMultipartFile("images", "image3.jpg", "image/jpeg", existingContent);
+        List<MultipartFile> files = List.of(createImageFile("image1.jpg"), createImageFile("image2.jpg"), existingFile);
+        Map<String, Attachment> blobs = new HashMap<>(Map.of(existingHash, existing));
+        given(attachmentBlobStore.acquire(anyString())).willAnswer(invocation -> blobs.get(invocation.<String>getArgument(0)));
+        willAnswer(invocation -> {
+            blobs.put(invocation.getArgument(0), invocation.getArgument(1));
+            return invocation.getArgument(1);
+        }).given(attachmentBlobStore).register(anyString(), any(), anyLong());
+        given(fileStorage.getFileUrl(any())).willAnswer(invocation -> "https://bucket/" + invocation.getArgument(0));
 
-        given(attachmentRepository.save(any()))
-                .willReturn(savedAttachment);
+        // when
+        attachmentService.uploadPostImages(post, files);
+
+        // then
+        then(fileStorage).should(times(3)).upload(any(), eq("image/jpeg"), anyString());
+        then(attachmentBlobStore).should().register(anyString(), any(), anyLong());
+        // 새 내용(없음), 이미 있는 내용, 같은 요청에서 두번째로 나온 새 내용(등록한 뒤)
+        then(attachmentBlobStore).should(times(3)).acquire(anyString());
+
+        ArgumentCaptor<MapSqlParameterSource[]> batchArgsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource[].class);
+        then(jdbcTemplate).should().batchUpdate(anyString(), batchArgsCaptor.capture());
+        MapSqlParameterSource[] batchArgs = batchArgsCaptor.getValue();
+        assertEquals(3, batchArgs.length);
+        assertEquals(batchArgs[0].getValue("fileName"), batchArgs[1].getValue("fileName"));
+        assertEquals(batchArgs[0].getValue("contentHash"), batchArgs[1].getValue("contentHash"));
+        assertEquals("post/existing.jpg", batchArgs[2].getValue("fileName"));
+        assertEquals(existingHash, batchArgs[2].getValue("contentHash"));
+    }
+
+    @DisplayName("게시글이미지 업로드 실패 - 하나라도 실패하면 올린 파일을 지우고 저장하지 않음")
+    @Test
+    void testPostImagesUploadFailureDeletesUploadedImages() throws IOException {
+        // given
+        Post post = createPost();
+        MockMultipartFile invalidFile = new MockMultipartFile("images", "image2.jpg", "image/jpeg", "not an image".getBytes());
+        List<MultipartFile> files = List.of(createImageFile("image1.jpg"), invalidFile);
 
         // when
-        attachmentService.uploadPostImage(post, multipartFile);
+        assertThrows(IllegalArgumentException.class, () -> attachmentService.uploadPostImages(post, files));
 
         // then
-        ArgumentCaptor<Attachment> attachmentArgumentCaptor = ArgumentCaptor.forClass(Attachment.class);
-        then(attachmentRepository).should(times(2)).save(attachmentArgumentCaptor.capture());
+        then(attachmentDeleteQueue).should().delete(deletedCaptor.capture());
+        assertEquals(3, deletedCaptor.getValue().size());
+        then(fileStorage).should(times(3)).upload(any(), anyString(), anyString());
+        then(jdbcTemplate).should(never()).batchUpdate(anyString(), any(MapSqlParameterSource[].class));
+    }
 
-        ArgumentCaptor<Post> postArgumentCaptor = ArgumentCaptor.forClass(Post.class);
-        then(postRepository).should().save(postArgumentCaptor.capture());
+    @DisplayName("게시글이미지 업로드 실패 - 일부 사본만 올라가면 올린 사본을 지움")
+    @Test
+    void testPostImagesUploadFailureDeletesPartialRenditions() throws IOException {
+        // given
+        Post post = createPost();
+        willAnswer(invocation -> {
+            if (invocation.<String>getArgument(2).endsWith("_thumb.jpg")) {
+                throw new AttachmentException("connection reset");
+            }
+            return null;
+        }).given(fileStorage).upload(any(), anyString(), anyString());
 
-        assertEquals(
-                post,
-                attachmentArgumentCaptor.getValue().getPost()
-        );
-        assertEquals(
-                savedAttachment,
-                postArgumentCaptor.getValue().getAttachments().get(0)
-        );
+        // when
+        assertThrows(AttachmentException.class, () -> attachmentService.uploadPostImages(post, List.of(createImageFile("image1.jpg"))));
+
+        // then
+        then(attachmentDeleteQueue).should(times(2)).delete(deletedCaptor.capture());
+        assertEquals(2, deletedCaptor.getAllValues().get(0).size());
+        assertTrue(deletedCaptor.getAllValues().get(1).isEmpty());
+        then(jdbcTemplate).should(never()).batchUpdate(anyString(), any(MapSqlParameterSource[].class));
+    }
+
+    @DisplayName("직접 올린 게시글이미지 등록 성공 - S3 에서 읽어서 사본을 만들고, 형식이 바뀐 원본은 커밋 후에 지움")
+    @Test
+    void testRegisterPostImagesSuccess() throws IOException {
+        // given
+        Account account = createAccount();
+        Post post = createPost();
+        byte[] content = StreamUtils.copyToByteArray(new ClassPathResource("/images/profileImage.jpg").getInputStream());
+        byte[] otherContent = createImageContent(Color.BLUE);
+        List<String> fileNames = List.of("post/a.jpg", "post/b.png");
+        given(presignedUploadService.verify(account, PresignedUploadTarget.POST, fileNames))
+                .willReturn(List.of(new PendingUpload("post/a.jpg", content.length), new PendingUpload("post/b.png", otherContent.length)));
+        given(fileStorage.download("post/a.jpg", content.length)).willReturn(content);
+        given(fileStorage.download("post/b.png", otherContent.length)).willReturn(otherContent);
+        given(fileStorage.getFileUrl(any())).willAnswer(invocation -> "https://bucket/" + invocation.getArgument(0));
+        givenNewBlobsRegistered();
+
+        // when
+        attachmentService.registerPostImages(account, post, fileNames);
+
+        // then
+        then(fileStorage).should().upload(any(), eq("image/jpeg"), eq("post/a.jpg"));
+        then(fileStorage).should().upload(any(), eq("image/jpeg"), eq("post/b.jpg"));
+        then(fileStorage).should(times(6)).upload(any(), eq("image/jpeg"), anyString());
+
+        ArgumentCaptor<MapSqlParameterSource[]> batchArgsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource[].class);
+        then(jdbcTemplate).should().batchUpdate(anyString(), batchArgsCaptor.capture());
+        assertEquals(2, batchArgsCaptor.getValue().length);
+        then(presignedUploadService).should().complete(fileNames);
+        then(attachmentDeleteQueue).should().deleteAfterCommit(List.of("post/b.png"));
     }
 
     @DisplayName("프로필이미지 삭제 성공")
@@ -173,15 +351,17 @@ public class AttachmentServiceTest {
                 .profileImage(attachment)
                 .build();
 
+        given(attachmentBlobStore.release(attachment)).willReturn(ImageRendition.fileNamesOf("fileName"));
+
         // when
         attachmentService.deleteProfileImage(account);
 
         // then
         then(attachmentRepository).should().delete(attachment);
-        then(s3Service).should().delete(attachment.getFileName());
+        then(attachmentDeleteQueue).should().deleteAfterCommit(List.of("fileName", "fileName_medium", "fileName_thumb"));
     }
 
-    @DisplayName("게시글이미지 삭제 성공")
+    @DisplayName("게시글이미지 삭제 성공 - 파일은 커밋된 뒤에 한번에 지움")
     @Test
     void testPostImagesDeleteSuccess() {
         // given
@@ -190,7 +370,7 @@ public class AttachmentServiceTest {
             attachments.add(
                     Attachment.builder()
                             .id((long) i)
-                            .fileName(String.valueOf(i))
+                            .fileName(i + ".jpg")
                             .filePath(String.valueOf(i))
                             .build()
             );
@@ -206,12 +386,16 @@ public class AttachmentServiceTest {
                 .heartCount(0)
                 .build();
 
+        given(attachmentBlobStore.release(any())).willAnswer(invocation -> ImageRendition.fileNamesOf(invocation.<Attachment>getArgument(0).getFileName()));
+
         // when
         attachmentService.deletePostImages(post);
 
         // then
-        then(s3Service).should(times(3)).delete(any());
         then(attachmentRepository).should(times(3)).delete(any());
+        then(attachmentDeleteQueue).should().deleteAfterCommit(List.of(
+                "1.jpg", "1_medium.jpg", "1_thumb.jpg", "2.jpg", "2_medium.jpg", "2_thumb.jpg", "3.jpg", "3_medium.jpg", "3_thumb.jpg"));
+        then(fileStorage).shouldHaveNoInteractions();
 
         ArgumentCaptor<Post> postArgumentCaptor = ArgumentCaptor.forClass(Post.class);
         then(postRepository).should().save(postArgumentCaptor.capture());
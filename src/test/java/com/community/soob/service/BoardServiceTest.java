@@ -0,0 +1,204 @@
+package com.community.soob.service;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.Role;
+import com.community.soob.attachment.AttachmentRepository;
+import com.community.soob.attachment.PostThumbnail;
+import com.community.soob.common.Cursor;
+import com.community.soob.common.InvalidCursorException;
+import com.community.soob.post.controller.dto.PostSummaryResponseDto;
+import com.community.soob.post.domain.Board;
+import com.community.soob.post.domain.Post;
+import com.community.soob.post.domain.PostRepository;
+import com.community.soob.post.domain.PostSummary;
+import com.community.soob.post.service.BoardService;
+import com.community.soob.util.SliceUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+public class BoardServiceTest {
+    @InjectMocks private BoardService boardService;
+    @Mock private PostRepository postRepository;
+    @Mock private AttachmentRepository attachmentRepository;
+
+    private Account createAccount() {
+        return Account.builder()
+                .id(2L)
+                .email("test@test.com")
+                .password("$2a$10$2H.qwzvH9zq4NrqrGJWdZOVZ4nrx3rfgEqnKvK98fWvaop0ceVtt2")
+                .nickname("test")
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .salt("$2a$10$2H.qwzvH9zq4NrqrGJWdZO")
+                .profileImage(null)
+                .build();
+    }
+
+    private List<Post> createPosts(int count) {
+        Board board = Board.builder()
+                .id(1L)
+                .name("QNA")
+                .build();
+        List<Post> posts = new ArrayList<>();
+        for (long i = count; i > 0; i--) {
+            posts.add(Post.builder()
+                    .id(i)
+                    .board(board)
+                    .author(createAccount())
+                    .title("title" + i)
+                    .content("content" + i)
+                    .attachments(new ArrayList<>())
+                    .build());
+        }
+        return posts;
+    }
+
+    // ----- 게시판 게시글 목록 조회 -----
+    @DisplayName("게시판 게시글 목록 조회 성공 - 요청 페이지는 1부터 시작")
+    @Test
+    void testGetPostsByBoardIdSuccess() {
+        // given
+        PostSummary summary = new PostSummary(1L, 1L, "QNA", "test", "title1", "content1", 0, 0, null, null);
+        given(postRepository.findSummariesByBoardId(1L, PageRequest.of(1, 10)))
+                .willReturn(new PageImpl<>(List.of(summary), PageRequest.of(1, 10), 11));
+
+        // when
+        Page<PostSummaryResponseDto> posts = boardService.getPostsByBoardId(1L, PageRequest.of(2, 20));
+
+        // then
+        assertEquals(2, posts.getTotalPages());
+        assertEquals("content1", posts.getContent().get(0).getExcerpt());
+    }
+
+    @DisplayName("게시판 게시글 목록 조회 성공 - 첫번째 첨부파일의 thumbnail 을 한번에 조회")
+    @Test
+    void testGetPostsByBoardIdWithThumbnailSuccess() {
+        // given
+        PostSummary withImage = new PostSummary(2L, 1L, "QNA", "test", "title2", "content2", 0, 0, null, null);
+        PostSummary withoutImage = new PostSummary(1L, 1L, "QNA", "test", "title1", "content1", 0, 0, null, null);
+        given(postRepository.findSummariesByBoardId(1L, PageRequest.of(0, 10)))
+                .willReturn(new PageImpl<>(List.of(withImage, withoutImage), PageRequest.of(0, 10), 2));
+        PostThumbnail thumbnail = new PostThumbnail() {
+            @Override
+            public Long getPostId() {
+                return 2L;
+            }
+
+            @Override
+            public String getThumbnailPath() {
+                return "https://bucket/post/1_thumb.jpg";
+            }
+        };
+        given(attachmentRepository.findFirstThumbnailsByPostIds(List.of(2L, 1L))).willReturn(List.of(thumbnail));
+
+        // when
+        Page<PostSummaryResponseDto> posts = boardService.getPostsByBoardId(1L, PageRequest.of(0, 20));
+
+        // then
+        assertEquals("https://bucket/post/1_thumb.jpg", posts.getContent().get(0).getThumbnailPath());
+        assertNull(posts.getContent().get(1).getThumbnailPath());
+    }
+
+    @DisplayName("게시판 게시글 커서 조회 성공 - 커서 이후, 다음 페이지 존재")
+    @Test
+    void testGetPostsByBoardIdWithCursorSuccess() {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2021, 8, 25, 10, 0);
+        List<PostSummary> summaries = new ArrayList<>();
+        for (long i = 3; i > 0; i--) {
+            summaries.add(new PostSummary(i, 1L, "QNA", "test", "title" + i, "content" + i, 0, 0, createdAt, createdAt));
+        }
+        given(postRepository.findSummarySliceAfter(1L, createdAt, 10L, PageRequest.of(0, 3))).willReturn(summaries);
+
+        // when
+        Slice<PostSummaryResponseDto> posts = boardService.getPostsByBoardId(1L, Cursor.of(createdAt, 10L), 2);
+
+        // then
+        assertTrue(posts.hasNext());
+        assertEquals(2, posts.getNumberOfElements());
+    }
+
+    // ----- 전체 게시글 커서 조회 -----
+    @DisplayName("전체 게시글 조회 성공 - 첫 페이지, 다음 페이지 존재")
+    @Test
+    void testGetAllPostsSuccessWithNext() {
+        // given
+        given(postRepository.findFeed(PageRequest.of(0, 11))).willReturn(createPosts(11));
+
+        // when
+        Slice<Post> posts = boardService.getAllPosts(null, 10);
+
+        // then
+        assertTrue(posts.hasNext());
+        assertEquals(10, posts.getNumberOfElements());
+    }
+
+    @DisplayName("전체 게시글 조회 성공 - 커서 이후, 마지막 페이지")
+    @Test
+    void testGetAllPostsSuccessAfterCursor() {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2021, 8, 25, 10, 0);
+        Cursor cursor = Cursor.of(createdAt, 20L);
+        given(postRepository.findFeedAfter(eq(createdAt), eq(20L), any())).willReturn(createPosts(3));
+
+        // when
+        Slice<Post> posts = boardService.getAllPosts(cursor, 10);
+
+        // then
+        assertFalse(posts.hasNext());
+        assertEquals(3, posts.getNumberOfElements());
+        then(postRepository).should(never()).findFeedAfterWithoutCreatedAt(anyLong(), any());
+    }
+
+    @DisplayName("전체 게시글 조회 성공 - 조회 갯수는 최대 50개")
+    @Test
+    void testGetAllPostsSuccessWithMaxSize() {
+        // when
+        boardService.getAllPosts(null, 1000);
+
+        // then
+        then(postRepository).should().findFeed(PageRequest.of(0, SliceUtil.MAX_SIZE + 1));
+    }
+
+    // ----- 커서 -----
+    @DisplayName("커서 변환 성공")
+    @Test
+    void testCursorEncodeAndDecodeSuccess() {
+        // given
+        Cursor cursor = Cursor.of(LocalDateTime.of(2021, 8, 25, 10, 0, 30), 7L);
+
+        // when
+        // then
+        assertEquals(cursor, Cursor.decode(cursor.encode()));
+        assertEquals(Cursor.of(7L), Cursor.decode(Cursor.of(7L).encode()));
+    }
+
+    @DisplayName("커서 변환 실패 - 잘못된 커서")
+    @Test
+    void testCursorDecodeFailureByInvalidValue() {
+        // when
+        // then
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode("invalid"));
+    }
+}
@@ -3,7 +3,9 @@ package com.community.soob.service;
 import com.community.soob.account.domain.Account;
 import com.community.soob.account.domain.AccountRepository;
 import com.community.soob.account.domain.Role;
+import com.community.soob.account.service.PrincipalCache;
 import com.community.soob.comment.domain.Comment;
+import com.community.soob.comment.domain.CommentAuthorSummary;
 import com.community.soob.comment.domain.CommentRepository;
 import com.community.soob.comment.exception.CommentNotFoundException;
 import com.community.soob.comment.service.CommentService;
@@ -19,11 +21,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.never;
@@ -34,6 +42,7 @@ public class CommentServiceTest {
     @Mock private CommentRepository commentRepository;
     @Mock private PostRepository postRepository;
     @Mock private AccountRepository accountRepository;
+    @Mock private PrincipalCache principalCache;
     @Mock private HeartService heartService;
 
     private Account createAccount() {
@@ -102,17 +111,16 @@ public class CommentServiceTest {
         ArgumentCaptor<Comment> commentArgumentCaptor = ArgumentCaptor.forClass(Comment.class);
         then(commentRepository).should().save(commentArgumentCaptor.capture());
 
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
-
         assertEquals(post, commentArgumentCaptor.getValue().getPost());
         assertEquals(account, commentArgumentCaptor.getValue().getAuthor());
         assertEquals(content, commentArgumentCaptor.getValue().getContent());
 
-        assertEquals(55, accountArgumentCaptor.getValue().getLevelPoint());
+        then(accountRepository).should().addLevelPoint(2L, 5);
+        then(accountRepository).should(never()).save(any(Account.class));
+        then(principalCache).should().evict("test@test.com");
     }
 
-    @DisplayName("댓글 작성 성공 - 댓글 작성을 통해 작성자의 레벨 2로 업데이트")
+    @DisplayName("댓글 작성 성공 - 레벨 2 경계, 포인트와 등급은 DB 에서 반영")
     @Test
     void testCreateCommentAndAccountUpdateLevelSuccess() {
         // given
@@ -138,15 +146,42 @@ public class CommentServiceTest {
         ArgumentCaptor<Comment> commentArgumentCaptor = ArgumentCaptor.forClass(Comment.class);
         then(commentRepository).should().save(commentArgumentCaptor.capture());
 
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
-
         assertEquals(post, commentArgumentCaptor.getValue().getPost());
         assertEquals(account, commentArgumentCaptor.getValue().getAuthor());
         assertEquals(content, commentArgumentCaptor.getValue().getContent());
 
-        assertEquals(250, accountArgumentCaptor.getValue().getLevelPoint());
-        assertEquals(Role.LEVEL_2, accountArgumentCaptor.getValue().getRole());
+        then(accountRepository).should().addLevelPoint(2L, 5);
+        then(accountRepository).should(never()).save(any(Account.class));
+        then(principalCache).should().evict("test@test.com");
+
+        // 등급은 DB 에서 다시 계산하므로 캐시된 인증 정보는 변경하지 않음
+        assertEquals(245, account.getLevelPoint());
+        assertEquals(Role.LEVEL_1, account.getRole());
+    }
+
+    // ----- 댓글 커서 조회 -----
+    @DisplayName("댓글 커서 조회 성공 - 첫 페이지는 commentId 0 이후부터 조회")
+    @Test
+    void testGetCommentsWithCursorSuccess() {
+        // given
+        Post post = createPost();
+        List<Comment> comments = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            comments.add(Comment.builder()
+                    .id(i)
+                    .post(post)
+                    .author(createAccount())
+                    .content("test-comment" + i)
+                    .build());
+        }
+        given(commentRepository.findSliceByPostIdAfter(1L, 0L, PageRequest.of(0, 3))).willReturn(comments);
+
+        // when
+        Slice<Comment> slice = commentService.getComments(1L, null, 2);
+
+        // then
+        assertTrue(slice.hasNext());
+        assertEquals(2L, slice.getContent().get(1).getId());
     }
 
     // ----- 댓글 수정 -----
@@ -217,11 +252,10 @@ public class CommentServiceTest {
         then(heartService).should().deleteAllHeartForComment(commentId);
         then(commentRepository).should().deleteById(commentId);
 
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
-
         // 50 - (5 + (10*10)) => -55
-        assertEquals(-55, accountArgumentCaptor.getValue().getLevelPoint());
+        then(accountRepository).should().addLevelPoint(2L, -105);
+        then(accountRepository).should(never()).save(any(Account.class));
+        then(principalCache).should().evict("test@test.com");
     }
 
     @DisplayName("댓글 삭제 성공 - 하트가 존재하지 않은 댓글")
@@ -248,14 +282,13 @@ public class CommentServiceTest {
         then(heartService).should(never()).deleteAllHeartForComment(commentId);
         then(commentRepository).should().deleteById(commentId);
 
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
-
         // 50 - 5 => 45
-        assertEquals(45, accountArgumentCaptor.getValue().getLevelPoint());
+        then(accountRepository).should().addLevelPoint(2L, -5);
+        then(accountRepository).should(never()).save(any(Account.class));
+        then(principalCache).should().evict("test@test.com");
     }
 
-    @DisplayName("댓글 삭제 성공 - 댓글 삭제로 인해 레벨 1로 업데이트")
+    @DisplayName("댓글 삭제 성공 - 레벨 1 경계, 포인트와 등급은 DB 에서 반영")
     @Test
     void testDeleteCommentAndAccountUpdateLevelSuccess() {
         // given
@@ -289,11 +322,53 @@ public class CommentServiceTest {
         then(commentRepository).should().deleteById(commentId);
 
         // 250 - ((10 * 10) + 5) => 145
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
+        then(accountRepository).should().addLevelPoint(2L, -105);
+        then(accountRepository).should(never()).save(any(Account.class));
+        then(principalCache).should().evict("test@test.com");
+
+        // 등급은 DB 에서 다시 계산하므로 캐시된 인증 정보는 변경하지 않음
+        assertEquals(250, account.getLevelPoint());
+        assertEquals(Role.LEVEL_2, account.getRole());
+    }
 
-        assertEquals(145, accountArgumentCaptor.getValue().getLevelPoint());
-        assertEquals(Role.LEVEL_1, accountArgumentCaptor.getValue().getRole());
+    // ----- 게시글의 댓글 chunk 삭제 -----
+    @DisplayName("게시글 댓글 삭제 성공 - chunk 만큼 bulk 삭제 후 작성자별 포인트 차감")
+    @Test
+    void testDeleteCommentsForPostSuccess() {
+        // given
+        long postId = 1L;
+        List<Long> commentIds = List.of(1L, 2L, 3L);
+        given(commentRepository.findIdsByPostId(postId, PageRequest.of(0, 100))).willReturn(commentIds);
+        given(commentRepository.summarizeByAuthor(commentIds))
+                .willReturn(List.of(new CommentAuthorSummary(2L, "test@test.com", 3L, 2L)));
+
+        // when
+        List<CommentAuthorSummary> summaries = commentService.deleteCommentsForPost(postId, 100);
+
+        // then
+        assertEquals(1, summaries.size());
+        then(heartService).should().deleteAllHeartForComments(commentIds);
+        then(commentRepository).should().deleteAllByIdInBulk(commentIds);
+        then(commentRepository).should(never()).deleteById(anyLong());
+        // (3 * 5) + (2 * 10) => 35
+        then(accountRepository).should().addLevelPoint(2L, -35);
+        then(accountRepository).should(never()).saveAll(any());
+        then(principalCache).should().evict("test@test.com");
+    }
+
+    @DisplayName("게시글 댓글 삭제 성공 - 남은 댓글이 없으면 삭제하지 않음")
+    @Test
+    void testDeleteCommentsForPostSuccessWithoutComment() {
+        // given
+        given(commentRepository.findIdsByPostId(1L, PageRequest.of(0, 100))).willReturn(List.of());
+
+        // when
+        List<CommentAuthorSummary> summaries = commentService.deleteCommentsForPost(1L, 100);
+
+        // then
+        assertTrue(summaries.isEmpty());
+        then(commentRepository).should(never()).deleteAllByIdInBulk(any());
+        then(accountRepository).should(never()).addLevelPoint(anyLong(), anyInt());
     }
 
     // ----- 댓글 작성자 확인 -----
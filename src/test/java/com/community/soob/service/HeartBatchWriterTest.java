@@ -0,0 +1,141 @@
+package com.community.soob.service;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.AccountRepository;
+import com.community.soob.account.domain.Role;
+import com.community.soob.heart.domain.Heart;
+import com.community.soob.heart.domain.HeartRepository;
+import com.community.soob.heart.service.HeartBatchWriter;
+import com.community.soob.heart.service.HeartEvent;
+import com.community.soob.post.domain.Board;
+import com.community.soob.post.domain.BoardRepository;
+import com.community.soob.post.domain.Post;
+import com.community.soob.post.domain.PostRepository;
+import com.community.soob.post.service.PostCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.then;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:heart-batch;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HeartBatchWriter.class)
+public class HeartBatchWriterTest {
+    @Autowired private HeartBatchWriter heartBatchWriter;
+    @Autowired private HeartRepository heartRepository;
+    @Autowired private PostRepository postRepository;
+    @Autowired private BoardRepository boardRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private TestEntityManager testEntityManager;
+    @MockBean private PostCache postCache;
+
+    private Account author;
+    private Post post;
+    private List<Account> accounts;
+
+    @BeforeEach
+    void setUp() {
+        Board board = boardRepository.save(Board.builder()
+                .name("QNA")
+                .build());
+        this.author = accountRepository.save(createAccount(0));
+        this.post = postRepository.save(Post.builder()
+                .board(board)
+                .author(author)
+                .title("title1")
+                .content("content1")
+                .attachments(new ArrayList<>())
+                .build());
+
+        this.accounts = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            accounts.add(accountRepository.save(createAccount(i)));
+        }
+        testEntityManager.flush();
+    }
+
+    private Account createAccount(int index) {
+        return Account.builder()
+                .email("test" + index + "@test.com")
+                .password("$2a$10$2H.qwzvH9zq4NrqrGJWdZOVZ4nrx3rfgEqnKvK98fWvaop0ceVtt2")
+                .nickname("test" + index)
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .salt("$2a$10$2H.qwzvH9zq4NrqrGJWdZO")
+                .build();
+    }
+
+    private HeartEvent postEvent(Account account, boolean hearted) {
+        return HeartEvent.of(HeartEvent.Target.POST, post.getId(), account.getId(), hearted);
+    }
+
+    @DisplayName("하트 batch 반영 성공 - 추가, 삭제된 하트만큼 하트 수와 작성자 포인트 반영")
+    @Test
+    void testWriteSuccess() {
+        // given
+        testEntityManager.persist(Heart.builder().post(post).account(accounts.get(2)).build());
+        testEntityManager.flush();
+        List<HeartEvent> events = List.of(
+                postEvent(accounts.get(0), true),
+                postEvent(accounts.get(1), true),
+                postEvent(accounts.get(2), false));
+
+        // when
+        int written = heartBatchWriter.write(events);
+        testEntityManager.clear();
+
+        // then
+        // 50 + (20 * 2) - 20 => 70
+        assertEquals(3, written);
+        assertEquals(2, heartRepository.countByPostId(post.getId()));
+        assertEquals(1, postRepository.findById(post.getId()).orElseThrow().getHeartCount());
+        assertEquals(70, accountRepository.findById(author.getId()).orElseThrow().getLevelPoint());
+        then(postCache).should().evictAll(List.of(post.getId()));
+    }
+
+    @DisplayName("하트 batch 반영 성공 - 이미 반영된 이벤트를 다시 적용해도 결과가 같음")
+    @Test
+    void testWriteSuccessIdempotent() {
+        // given
+        List<HeartEvent> events = List.of(
+                postEvent(accounts.get(0), true),
+                postEvent(accounts.get(1), false));
+        heartBatchWriter.write(events);
+
+        // when
+        int written = heartBatchWriter.write(events);
+        testEntityManager.clear();
+
+        // then
+        assertEquals(0, written);
+        assertEquals(1, heartRepository.countByPostId(post.getId()));
+        assertEquals(1, postRepository.findById(post.getId()).orElseThrow().getHeartCount());
+        assertEquals(70, accountRepository.findById(author.getId()).orElseThrow().getLevelPoint());
+    }
+
+    @DisplayName("하트 batch 반영 성공 - 삭제된 게시글의 하트는 버림")
+    @Test
+    void testWriteSuccessIgnoresDeletedPost() {
+        // given
+        post.markDeleted();
+        testEntityManager.flush();
+
+        // when
+        int written = heartBatchWriter.write(List.of(postEvent(accounts.get(0), true)));
+
+        // then
+        assertEquals(0, written);
+        assertEquals(0, heartRepository.countByPostId(post.getId()));
+    }
+}
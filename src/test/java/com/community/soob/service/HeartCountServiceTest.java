@@ -0,0 +1,89 @@
+package com.community.soob.service;
+
+import com.community.soob.comment.domain.CommentRepository;
+import com.community.soob.comment.exception.CommentNotFoundException;
+import com.community.soob.heart.service.HeartCountService;
+import com.community.soob.post.domain.PostRepository;
+import com.community.soob.util.RedisUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+public class HeartCountServiceTest {
+    @Mock private PostRepository postRepository;
+    @Mock private CommentRepository commentRepository;
+    @Mock private RedisUtil redisUtil;
+    private HeartCountService heartCountService;
+
+    @BeforeEach
+    void setUp() {
+        this.heartCountService = new HeartCountService(postRepository, commentRepository, redisUtil, 5);
+    }
+
+    @DisplayName("게시글 하트 수 조회 성공 - 캐시된 값이 있으면 DB 를 조회하지 않음")
+    @Test
+    void testGetHeartCountForPostSuccessFromCache() {
+        // given
+        given(redisUtil.getData("heart:count:post:1")).willReturn("7");
+
+        // when
+        long heartCount = heartCountService.getHeartCountForPost(1L);
+
+        // then
+        assertEquals(7, heartCount);
+        then(postRepository).should(never()).findHeartCountById(anyLong());
+    }
+
+    @DisplayName("게시글 하트 수 조회 성공 - 캐시된 값이 없으면 비정규화된 하트 수를 조회해서 캐시")
+    @Test
+    void testGetHeartCountForPostSuccessFromDatabase() {
+        // given
+        given(postRepository.findHeartCountById(1L)).willReturn(Optional.of(3));
+
+        // when
+        long heartCount = heartCountService.getHeartCountForPost(1L);
+
+        // then
+        assertEquals(3, heartCount);
+        then(redisUtil).should().setDataExpire("heart:count:post:1", "3", 5);
+    }
+
+    @DisplayName("댓글 하트 수 조회 성공 - Redis 장애시 DB 에서 조회")
+    @Test
+    void testGetHeartCountForCommentSuccessWithoutRedis() {
+        // given
+        given(redisUtil.getData("heart:count:comment:1")).willThrow(new RedisConnectionFailureException("connection refused"));
+        given(commentRepository.findHeartCountById(1L)).willReturn(Optional.of(2));
+
+        // when
+        long heartCount = heartCountService.getHeartCountForComment(1L);
+
+        // then
+        assertEquals(2, heartCount);
+    }
+
+    @DisplayName("댓글 하트 수 조회 실패 - commentId 존재하지 않음")
+    @Test
+    void testGetHeartCountForCommentFailureByInvalidCommentId() {
+        // given
+        given(commentRepository.findHeartCountById(1L)).willReturn(Optional.empty());
+
+        // when
+        // then
+        assertThrows(CommentNotFoundException.class, () -> heartCountService.getHeartCountForComment(1L));
+    }
+}
@@ -0,0 +1,108 @@
+package com.community.soob.service;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.AccountRepository;
+import com.community.soob.account.domain.Role;
+import com.community.soob.heart.domain.Heart;
+import com.community.soob.heart.service.HeartCountVerifier;
+import com.community.soob.heart.service.HeartEvent;
+import com.community.soob.post.domain.Board;
+import com.community.soob.post.domain.BoardRepository;
+import com.community.soob.post.domain.Post;
+import com.community.soob.post.domain.PostRepository;
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:heart-verify;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class HeartCountVerifierTest {
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PostRepository postRepository;
+    @Autowired private BoardRepository boardRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private TestEntityManager testEntityManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HeartCountVerifier heartCountVerifier;
+    private List<Post> posts;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.heartCountVerifier = new HeartCountVerifier(jdbcTemplate, mock(RedisUtil.class), meterRegistry, 60000, 2);
+
+        Board board = boardRepository.save(Board.builder()
+                .name("QNA")
+                .build());
+        Account author = accountRepository.save(Account.builder()
+                .email("test@test.com")
+                .password("$2a$10$2H.qwzvH9zq4NrqrGJWdZOVZ4nrx3rfgEqnKvK98fWvaop0ceVtt2")
+                .nickname("test")
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .salt("$2a$10$2H.qwzvH9zq4NrqrGJWdZO")
+                .build());
+
+        // 1번 게시글 : 하트 1개, 하트 수 1 / 2번 게시글 : 하트 1개, 하트 수 5 / 3번 게시글 : 하트 0개, 하트 수 2
+        this.posts = new ArrayList<>();
+        int[] heartCounts = {1, 5, 2};
+        for (int heartCount : heartCounts) {
+            posts.add(postRepository.save(Post.builder()
+                    .board(board)
+                    .author(author)
+                    .title("title")
+                    .content("content")
+                    .heartCount(heartCount)
+                    .attachments(new ArrayList<>())
+                    .build()));
+        }
+        testEntityManager.persist(Heart.builder().post(posts.get(0)).account(author).build());
+        testEntityManager.persist(Heart.builder().post(posts.get(1)).account(author).build());
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @DisplayName("하트 수 검사 성공 - chunk 단위로 검사하면서 어긋난 하트 수를 바로잡음")
+    @Test
+    void testVerifyChunkSuccess() {
+        // when
+        int firstRepaired = heartCountVerifier.verifyChunk(HeartEvent.Target.POST);
+        int secondRepaired = heartCountVerifier.verifyChunk(HeartEvent.Target.POST);
+        testEntityManager.clear();
+
+        // then
+        assertEquals(1, firstRepaired);
+        assertEquals(1, secondRepaired);
+        assertEquals(1, postRepository.findById(posts.get(1).getId()).orElseThrow().getHeartCount());
+        assertEquals(0, postRepository.findById(posts.get(2).getId()).orElseThrow().getHeartCount());
+        assertEquals(2, meterRegistry.get("heart.count.drift").tag("target", "post").counter().count());
+    }
+
+    @DisplayName("하트 수 검사 성공 - 끝까지 검사하면 처음부터 다시 검사")
+    @Test
+    void testVerifyChunkSuccessWrapsAround() {
+        // given
+        heartCountVerifier.verifyChunk(HeartEvent.Target.POST);
+        heartCountVerifier.verifyChunk(HeartEvent.Target.POST);
+
+        // when
+        int repaired = heartCountVerifier.verifyChunk(HeartEvent.Target.POST);
+
+        // then
+        assertEquals(0, repaired);
+    }
+}
@@ -0,0 +1,167 @@
+package com.community.soob.service;
+
+import com.community.soob.heart.service.HeartBatchWriter;
+import com.community.soob.heart.service.HeartEvent;
+import com.community.soob.heart.service.HeartEventConsumer;
+import com.community.soob.heart.service.InMemoryHeartEventQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+public class HeartEventConsumerTest {
+    @Mock private HeartBatchWriter heartBatchWriter;
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryHeartEventQueue heartEventQueue;
+    private HeartEventConsumer heartEventConsumer;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.heartEventQueue = new InMemoryHeartEventQueue(3);
+        this.heartEventConsumer = new HeartEventConsumer(heartEventQueue, heartBatchWriter, meterRegistry, 500, 3);
+    }
+
+    @DisplayName("하트 이벤트 큐 - 가득 차면 더 넣지 않음")
+    @Test
+    void testOfferFailureByFullQueue() {
+        // given
+        for (long i = 1; i <= 3; i++) {
+            assertTrue(heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.POST, i, 2L, true)));
+        }
+
+        // when
+        // then
+        assertFalse(heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.POST, 4L, 2L, true)));
+        assertEquals(3, heartEventQueue.size());
+    }
+
+    @DisplayName("하트 이벤트 반영 성공 - 같은 (대상, 회원) 의 이벤트는 마지막 상태만 반영")
+    @SuppressWarnings("unchecked")
+    @Test
+    void testConsumeSuccessCoalescesEvents() {
+        // given
+        heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.POST, 1L, 2L, true));
+        heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.COMMENT, 1L, 2L, true));
+        heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.POST, 1L, 2L, false));
+
+        // when
+        heartEventConsumer.consume();
+
+        // then
+        ArgumentCaptor<List<HeartEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+        then(heartBatchWriter).should().write(eventsCaptor.capture());
+
+        assertEquals(List.of(
+                HeartEvent.of(HeartEvent.Target.COMMENT, 1L, 2L, true),
+                HeartEvent.of(HeartEvent.Target.POST, 1L, 2L, false)), eventsCaptor.getValue());
+        assertEquals(0, heartEventQueue.size());
+        assertNull(heartEventQueue.getPendingState("P:1:2"));
+    }
+
+    @DisplayName("하트 이벤트 반영 성공 - 큐가 비어있으면 반영하지 않음")
+    @Test
+    void testConsumeSuccessWithoutEvents() {
+        // when
+        heartEventConsumer.consume();
+
+        // then
+        then(heartBatchWriter).should(never()).write(anyList());
+    }
+
+    @DisplayName("하트 이벤트 반영 실패 - 반영 실패시 이벤트와 상태 유지")
+    @Test
+    void testConsumeFailureKeepsEvents() {
+        // given
+        heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.POST, 1L, 2L, true));
+        heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.POST, 2L, 2L, true));
+        willThrow(new QueryTimeoutException("timeout")).given(heartBatchWriter).write(anyList());
+
+        // when
+        heartEventConsumer.consume();
+
+        // then
+        assertEquals(2, heartEventQueue.size());
+        assertEquals(HeartEvent.of(HeartEvent.Target.POST, 1L, 2L, true), heartEventQueue.poll(1).get(0));
+        assertTrue(heartEventQueue.getPendingState("P:2:2"));
+    }
+
+    @DisplayName("하트 이벤트 반영 실패 - 반영하는 동안 큐가 가득 차도 되돌린 이벤트를 버리지 않음")
+    @Test
+    void testReleaseSuccessWhenQueueIsFull() {
+        // given
+        heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.POST, 1L, 2L, true));
+        heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.POST, 2L, 2L, true));
+        List<HeartEvent> polled = heartEventQueue.poll(500);
+        for (long i = 3; i <= 5; i++) {
+            heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.POST, i, 2L, true));
+        }
+
+        // when
+        heartEventQueue.release(polled);
+
+        // then
+        assertEquals(5, heartEventQueue.size());
+        assertEquals(polled, heartEventQueue.poll(2));
+        assertEquals(3L, heartEventQueue.poll(1).get(0).getTargetId());
+    }
+
+    @DisplayName("하트 이벤트 반영 실패 - 계속 실패하는 이벤트는 max-attempts 번 뒤에 버리고 나머지는 반영")
+    @Test
+    void testConsumeFailureMovesPoisonEventToDeadLetter() {
+        // given
+        HeartEvent poison = HeartEvent.of(HeartEvent.Target.POST, 1L, 2L, true);
+        HeartEvent event = HeartEvent.of(HeartEvent.Target.POST, 2L, 2L, true);
+        heartEventQueue.offer(poison);
+        heartEventQueue.offer(event);
+        willThrow(new DataIntegrityViolationException("fk")).given(heartBatchWriter).write(argThat(events -> events.contains(poison)));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            heartEventConsumer.consume();
+        }
+
+        // then
+        then(heartBatchWriter).should().write(List.of(event));
+        assertEquals(0, heartEventQueue.size());
+        assertNull(heartEventQueue.getPendingState(poison.key()));
+        assertEquals(1, meterRegistry.get("heart.ingestion.dead-letter").counter().count());
+    }
+
+    @DisplayName("하트 이벤트 반영 실패 - 모든 이벤트가 DB 장애로 실패하면 버리지 않음")
+    @Test
+    void testConsumeFailureKeepsEventsWhenDatabaseIsDown() {
+        // given
+        heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.POST, 1L, 2L, true));
+        heartEventQueue.offer(HeartEvent.of(HeartEvent.Target.POST, 2L, 2L, true));
+        willThrow(new QueryTimeoutException("timeout")).given(heartBatchWriter).write(anyList());
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            heartEventConsumer.consume();
+        }
+
+        // then
+        assertEquals(2, heartEventQueue.size());
+        assertEquals(0, meterRegistry.get("heart.ingestion.dead-letter").counter().count());
+    }
+}
@@ -0,0 +1,186 @@
+package com.community.soob.service;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.Role;
+import com.community.soob.comment.domain.CommentRepository;
+import com.community.soob.heart.domain.HeartRepository;
+import com.community.soob.heart.exception.HeartQueueFullException;
+import com.community.soob.heart.service.HeartEvent;
+import com.community.soob.heart.service.HeartEventQueue;
+import com.community.soob.heart.service.HeartIngestionService;
+import com.community.soob.heart.service.HeartService;
+import com.community.soob.post.domain.PostRepository;
+import com.community.soob.post.exception.PostNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+public class HeartIngestionServiceTest {
+    @Mock private HeartService heartService;
+    @Mock private HeartRepository heartRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private CommentRepository commentRepository;
+    @Mock private HeartEventQueue heartEventQueue;
+    @Mock private ObjectProvider<HeartEventQueue> heartEventQueueProvider;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private HeartIngestionService createService(HeartEventQueue queue) {
+        given(heartEventQueueProvider.getIfAvailable()).willReturn(queue);
+        return new HeartIngestionService(heartService, heartRepository, postRepository, commentRepository, heartEventQueueProvider, meterRegistry);
+    }
+
+    private Account createAccount() {
+        return Account.builder()
+                .id(2L)
+                .email("test@test.com")
+                .password("$2a$10$2H.qwzvH9zq4NrqrGJWdZOVZ4nrx3rfgEqnKvK98fWvaop0ceVtt2")
+                .nickname("test")
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .salt("$2a$10$2H.qwzvH9zq4NrqrGJWdZO")
+                .profileImage(null)
+                .build();
+    }
+
+    @DisplayName("게시글 하트 토글 성공 - 큐가 없으면 바로 반영")
+    @Test
+    void testToggleHeartToPostSuccessWithoutQueue() {
+        // given
+        Account account = createAccount();
+        HeartIngestionService heartIngestionService = createService(null);
+        given(heartService.toggleHeartToPost(account, 1L)).willReturn(true);
+
+        // when
+        boolean hearted = heartIngestionService.toggleHeartToPost(account, 1L);
+
+        // then
+        assertTrue(hearted);
+        then(heartRepository).should(never()).existsByPostIdAndAccountId(any(), any());
+    }
+
+    @DisplayName("게시글 하트 토글 성공 - 하트가 없으면 하트를 누른 상태를 큐에 넣음")
+    @Test
+    void testToggleHeartToPostSuccessWithQueue() {
+        // given
+        Account account = createAccount();
+        HeartIngestionService heartIngestionService = createService(heartEventQueue);
+        given(postRepository.findAuthorIdById(1L)).willReturn(Optional.of(3L));
+        given(heartEventQueue.getPendingState("P:1:2")).willReturn(null);
+        given(heartRepository.existsByPostIdAndAccountId(1L, 2L)).willReturn(false);
+        given(heartEventQueue.offer(any())).willReturn(true);
+
+        // when
+        boolean hearted = heartIngestionService.toggleHeartToPost(account, 1L);
+
+        // then
+        assertTrue(hearted);
+        then(heartEventQueue).should().offer(HeartEvent.of(HeartEvent.Target.POST, 1L, 2L, true));
+        then(heartService).should(never()).toggleHeartToPost(any(), any(Long.class));
+    }
+
+    @DisplayName("댓글 하트 토글 성공 - 아직 반영되지 않은 상태를 기준으로 토글")
+    @Test
+    void testToggleHeartToCommentSuccessWithPendingState() {
+        // given
+        Account account = createAccount();
+        HeartIngestionService heartIngestionService = createService(heartEventQueue);
+        given(commentRepository.findAuthorIdById(5L)).willReturn(Optional.of(3L));
+        given(heartEventQueue.getPendingState("C:5:2")).willReturn(true);
+        given(heartEventQueue.offer(any())).willReturn(true);
+
+        // when
+        boolean hearted = heartIngestionService.toggleHeartToComment(account, 5L);
+
+        // then
+        assertFalse(hearted);
+        then(heartEventQueue).should().offer(HeartEvent.of(HeartEvent.Target.COMMENT, 5L, 2L, false));
+        then(heartRepository).should(never()).existsByCommentIdAndAccountId(any(), any());
+    }
+
+    @DisplayName("게시글 하트 토글 실패 - postId 존재하지 않음")
+    @Test
+    void testToggleHeartToPostFailureByInvalidPostId() {
+        // given
+        Account account = createAccount();
+        HeartIngestionService heartIngestionService = createService(heartEventQueue);
+        given(postRepository.findAuthorIdById(1L)).willReturn(Optional.empty());
+
+        // when
+        // then
+        assertThrows(PostNotFoundException.class, () -> heartIngestionService.toggleHeartToPost(account, 1L));
+        then(heartEventQueue).should(never()).offer(any());
+    }
+
+    @DisplayName("게시글 하트 토글 실패 - 큐가 가득 차면 거절")
+    @Test
+    void testToggleHeartToPostFailureByFullQueue() {
+        // given
+        Account account = createAccount();
+        HeartIngestionService heartIngestionService = createService(heartEventQueue);
+        given(postRepository.findAuthorIdById(1L)).willReturn(Optional.of(3L));
+        given(heartEventQueue.offer(any())).willReturn(false);
+
+        // when
+        // then
+        assertThrows(HeartQueueFullException.class, () -> heartIngestionService.toggleHeartToPost(account, 1L));
+        assertEquals(1, meterRegistry.get("heart.ingestion.rejected").counter().count());
+    }
+
+    @DisplayName("게시글 하트 여부 조회 성공 - 아직 반영되지 않은 상태를 합쳐서 반환")
+    @Test
+    void testGetHeartedPostIdsSuccessWithPendingStates() {
+        // given
+        Account account = createAccount();
+        HeartIngestionService heartIngestionService = createService(heartEventQueue);
+        List<Long> postIds = List.of(1L, 2L, 3L);
+        given(heartService.getHeartedPostIds(account, postIds)).willReturn(List.of(1L, 2L));
+        given(heartEventQueue.getPendingStates(List.of("P:1:2", "P:2:2", "P:3:2"))).willReturn(Map.of("P:2:2", false, "P:3:2", true));
+
+        // when
+        List<Long> heartedIds = heartIngestionService.getHeartedPostIds(account, postIds);
+
+        // then
+        assertEquals(List.of(1L, 3L), heartedIds);
+    }
+
+    @DisplayName("게시글, 댓글 하트 여부 조회 성공 - 로그인하지 않았으면 빈 목록")
+    @Test
+    void testGetHeartedIdsSuccessWithoutAccount() {
+        // given
+        HeartIngestionService heartIngestionService = createService(heartEventQueue);
+
+        // when
+        List<Long> heartedPostIds = heartIngestionService.getHeartedPostIds(null, List.of(1L, 2L));
+        List<Long> heartedCommentIds = heartIngestionService.getHeartedCommentIds(null, List.of(1L, 2L));
+
+        // then
+        assertTrue(heartedPostIds.isEmpty());
+        assertTrue(heartedCommentIds.isEmpty());
+        then(heartService).should(never()).getHeartedPostIds(any(), any());
+        then(heartService).should(never()).getHeartedCommentIds(any(), any());
+    }
+}
@@ -0,0 +1,157 @@
+package com.community.soob.service;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.AccountRepository;
+import com.community.soob.account.domain.Role;
+import com.community.soob.comment.domain.CommentRepository;
+import com.community.soob.heart.domain.HeartRepository;
+import com.community.soob.heart.service.HeartService;
+import com.community.soob.post.domain.Board;
+import com.community.soob.post.domain.BoardRepository;
+import com.community.soob.post.domain.Post;
+import com.community.soob.post.domain.PostRepository;
+import com.community.soob.post.service.PostCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 실제 트랜잭션을 여러 스레드에서 동시에 커밋해야 하므로 테스트 트랜잭션을 사용하지 않는다
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:heart-concurrency;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HeartService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class HeartServiceConcurrencyTest {
+    private static final int ACCOUNT_COUNT = 40;
+    private static final int THREAD_COUNT = 16;
+
+    @Autowired private HeartService heartService;
+    @Autowired private HeartRepository heartRepository;
+    @Autowired private PostRepository postRepository;
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private BoardRepository boardRepository;
+    @Autowired private AccountRepository accountRepository;
+    @MockBean private PostCache postCache;
+
+    private Account author;
+    private Post post;
+    private List<Account> accounts;
+
+    @BeforeEach
+    void setUp() {
+        Board board = boardRepository.save(Board.builder()
+                .name("QNA")
+                .build());
+        this.author = accountRepository.save(createAccount(0));
+        this.post = postRepository.save(Post.builder()
+                .board(board)
+                .author(author)
+                .title("title1")
+                .content("content1")
+                .attachments(new ArrayList<>())
+                .build());
+
+        this.accounts = new ArrayList<>();
+        for (int i = 1; i <= ACCOUNT_COUNT; i++) {
+            accounts.add(accountRepository.save(createAccount(i)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        heartRepository.deleteAllInBatch();
+        commentRepository.deleteAllInBatch();
+        postRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        boardRepository.deleteAllInBatch();
+    }
+
+    private Account createAccount(int index) {
+        return Account.builder()
+                .email("test" + index + "@test.com")
+                .password("$2a$10$2H.qwzvH9zq4NrqrGJWdZOVZ4nrx3rfgEqnKvK98fWvaop0ceVtt2")
+                .nickname("test" + index)
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .salt("$2a$10$2H.qwzvH9zq4NrqrGJWdZO")
+                .build();
+    }
+
+    private void runConcurrently(List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (Callable<Boolean> task : tasks) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                return task.call();
+            }));
+        }
+        startLatch.countDown();
+        for (Future<Boolean> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @DisplayName("게시글 하트 동시 토글 - 하트 수와 작성자 포인트가 정확히 반영")
+    @Test
+    void testToggleHeartToPostConcurrently() throws Exception {
+        // given
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (Account account : accounts) {
+            tasks.add(() -> heartService.toggleHeartToPost(account, post.getId()));
+        }
+
+        // when
+        runConcurrently(tasks);
+
+        // then
+        // 50 + (40 * 20) => 850, level 3
+        Account foundAuthor = accountRepository.findById(author.getId()).orElseThrow();
+        assertEquals(ACCOUNT_COUNT, postRepository.findById(post.getId()).orElseThrow().getHeartCount());
+        assertEquals(ACCOUNT_COUNT, heartRepository.countByPostId(post.getId()));
+        assertEquals(850, foundAuthor.getLevelPoint());
+        assertEquals(Role.LEVEL_3, foundAuthor.getRole());
+    }
+
+    @DisplayName("게시글 하트 동시 토글 - 같은 회원이 여러번 눌러도 하트 수는 실제 하트와 일치")
+    @Test
+    void testToggleHeartToPostConcurrentlyBySameAccount() throws Exception {
+        // given
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (Account account : accounts) {
+            for (int i = 0; i < 3; i++) {
+                tasks.add(() -> heartService.toggleHeartToPost(account, post.getId()));
+            }
+        }
+
+        // when
+        runConcurrently(tasks);
+
+        // then
+        long heartCount = heartRepository.countByPostId(post.getId());
+        assertEquals(heartCount, postRepository.findById(post.getId()).orElseThrow().getHeartCount());
+        assertEquals(50 + heartCount * Account.POST_HEART_POINT, accountRepository.findById(author.getId()).orElseThrow().getLevelPoint());
+    }
+}
@@ -3,33 +3,36 @@ package com.community.soob.service;
 import com.community.soob.account.domain.Account;
 import com.community.soob.account.domain.AccountRepository;
 import com.community.soob.account.domain.Role;
-import com.community.soob.comment.domain.Comment;
 import com.community.soob.comment.domain.CommentRepository;
 import com.community.soob.comment.exception.CommentNotFoundException;
-import com.community.soob.heart.domain.Heart;
 import com.community.soob.heart.domain.HeartRepository;
+import com.community.soob.heart.exception.TooManyHeartTargetsException;
 import com.community.soob.heart.service.HeartService;
-import com.community.soob.post.domain.Board;
-import com.community.soob.post.domain.Post;
 import com.community.soob.post.domain.PostRepository;
 import com.community.soob.post.exception.PostNotFoundException;
+import com.community.soob.post.service.PostCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
 public class HeartServiceTest {
@@ -38,6 +41,7 @@ public class HeartServiceTest {
     @Mock private PostRepository postRepository;
     @Mock private CommentRepository commentRepository;
     @Mock private AccountRepository accountRepository;
+    @Mock private PostCache postCache;
 
     private Account createAccount() {
         return Account.builder()
@@ -52,26 +56,6 @@ public class HeartServiceTest {
                 .build();
     }
 
-    private Board createBoard() {
-        return Board.builder()
-                .id(1L)
-                .name("QNA")
-                .build();
-    }
-
-    private Post createPost() {
-        return Post.builder()
-                .id(1L)
-                .board(createBoard())
-                .author(createAccount())
-                .title("title1")
-                .content("content1")
-                .attachments(new ArrayList<>())
-                .readCount(0)
-                .heartCount(0)
-                .build();
-    }
-
     // ----- 게시글 하트 토글 -----
     @DisplayName("게시글 하트 토글 실패 - postId 존재하지 않음")
     @Test
@@ -93,24 +77,20 @@ public class HeartServiceTest {
         // given
         long postId = 1L;
         Account account = createAccount();
-        Post post = createPost();
 
-        given(postRepository.findById(postId))
-                .willReturn(Optional.of(post));
-        given(heartRepository.findByPostIdAndAccountId(postId, account.getId()))
-                .willReturn(null);
+        given(postRepository.findAuthorIdById(postId)).willReturn(Optional.of(3L));
+        given(heartRepository.deleteByPostIdAndAccountId(postId, account.getId())).willReturn(0);
+        given(heartRepository.insertIgnoreForPost(postId, account.getId())).willReturn(1);
 
         // when
-        heartService.toggleHeartToPost(account, postId);
+        boolean hearted = heartService.toggleHeartToPost(account, postId);
 
         // then
-        then(heartRepository).should().save(any());
-
-        ArgumentCaptor<Post> postArgumentCaptor = ArgumentCaptor.forClass(Post.class);
-        then(postRepository).should().save(postArgumentCaptor.capture());
-
-        assertEquals(1, postArgumentCaptor.getValue().getHeartCount());
-        assertEquals(70, postArgumentCaptor.getValue().getAuthor().getLevelPoint());
+        assertTrue(hearted);
+        then(postRepository).should().addHeartCount(postId, 1);
+        then(accountRepository).should().addLevelPoint(3L, 20);
+        then(postRepository).should(never()).save(any());
+        then(postCache).should().evict(postId);
     }
 
     @DisplayName("게시글 하트 토글 성공 - 누른 상태일때 누르기")
@@ -119,33 +99,43 @@ public class HeartServiceTest {
         // given
         long postId = 1L;
         Account account = createAccount();
-        Post post = createPost();
-        Heart foundHeart = Heart.builder()
-                .id(1L)
-                .account(account)
-                .post(post)
-                .build();
 
-        given(postRepository.findById(postId))
-                .willReturn(Optional.of(post));
-        given(heartRepository.findByPostIdAndAccountId(postId, account.getId()))
-                .willReturn(foundHeart);
+        given(postRepository.findAuthorIdById(postId)).willReturn(Optional.of(3L));
+        given(heartRepository.deleteByPostIdAndAccountId(postId, account.getId())).willReturn(1);
 
         // when
-        heartService.toggleHeartToPost(account, postId);
+        boolean hearted = heartService.toggleHeartToPost(account, postId);
 
         // then
-        then(heartRepository).should().delete(eq(foundHeart));
+        assertFalse(hearted);
+        then(heartRepository).should(never()).insertIgnoreForPost(anyLong(), anyLong());
+        then(postRepository).should().addHeartCount(postId, -1);
+        then(accountRepository).should().addLevelPoint(3L, -20);
+    }
 
-        ArgumentCaptor<Post> postArgumentCaptor = ArgumentCaptor.forClass(Post.class);
-        then(postRepository).should().save(postArgumentCaptor.capture());
+    @DisplayName("게시글 하트 토글 성공 - 동시에 눌러서 이미 추가된 하트는 카운트하지 않음")
+    @Test
+    void testToggleHeartToPostSuccessWhenAlreadyInserted() {
+        // given
+        long postId = 1L;
+        Account account = createAccount();
+
+        given(postRepository.findAuthorIdById(postId)).willReturn(Optional.of(3L));
+        given(heartRepository.deleteByPostIdAndAccountId(postId, account.getId())).willReturn(0);
+        given(heartRepository.insertIgnoreForPost(postId, account.getId())).willReturn(0);
 
-        assertEquals(-1, postArgumentCaptor.getValue().getHeartCount());
-        assertEquals(30, postArgumentCaptor.getValue().getAuthor().getLevelPoint());
+        // when
+        boolean hearted = heartService.toggleHeartToPost(account, postId);
+
+        // then
+        assertTrue(hearted);
+        then(postRepository).should(never()).addHeartCount(anyLong(), anyInt());
+        then(accountRepository).should(never()).addLevelPoint(anyLong(), anyInt());
+        then(postCache).should(never()).evict(anyLong());
     }
 
     // ----- 댓글 하트 토글 -----
-    @DisplayName("댓글 하트 토글 실패 - postId 존재하지 않음")
+    @DisplayName("댓글 하트 토글 실패 - commentId 존재하지 않음")
     @Test
     void testToggleHeartToCommentFailureByInvalidPostId() {
         // given
@@ -165,31 +155,18 @@ public class HeartServiceTest {
         // given
         long commentId = 1L;
         Account account = createAccount();
-        Post post = createPost();
-        Comment comment = Comment.builder()
-                .id(1L)
-                .author(account)
-                .post(post)
-                .content("content")
-                .heartCount(0)
-                .build();
 
-        given(commentRepository.findById(commentId))
-                .willReturn(Optional.of(comment));
-        given(heartRepository.findByCommentIdAndAccountId(commentId, account.getId()))
-                .willReturn(null);
+        given(commentRepository.findAuthorIdById(commentId)).willReturn(Optional.of(3L));
+        given(heartRepository.deleteByCommentIdAndAccountId(commentId, account.getId())).willReturn(0);
+        given(heartRepository.insertIgnoreForComment(commentId, account.getId())).willReturn(1);
 
         // when
-        heartService.toggleHeartToComment(account, commentId);
+        boolean hearted = heartService.toggleHeartToComment(account, commentId);
 
         // then
-        then(heartRepository).should().save(any());
-
-        ArgumentCaptor<Comment> commentArgumentCaptor = ArgumentCaptor.forClass(Comment.class);
-        then(commentRepository).should().save(commentArgumentCaptor.capture());
-
-        assertEquals(1, commentArgumentCaptor.getValue().getHeartCount());
-        assertEquals(60, commentArgumentCaptor.getValue().getAuthor().getLevelPoint());
+        assertTrue(hearted);
+        then(commentRepository).should().addHeartCount(commentId, 1);
+        then(accountRepository).should().addLevelPoint(3L, 10);
     }
 
     @DisplayName("댓글 하트 토글 성공 - 누른 상태일때 누르기")
@@ -198,35 +175,44 @@ public class HeartServiceTest {
         // given
         long commentId = 1L;
         Account account = createAccount();
-        Post post = createPost();
-        Comment comment = Comment.builder()
-                .id(1L)
-                .author(account)
-                .post(post)
-                .content("content")
-                .heartCount(0)
-                .build();
-        Heart foundHeart = Heart.builder()
-                .id(1L)
-                .account(account)
-                .comment(comment)
-                .build();
 
-        given(commentRepository.findById(commentId))
-                .willReturn(Optional.of(comment));
-        given(heartRepository.findByCommentIdAndAccountId(commentId, account.getId()))
-                .willReturn(foundHeart);
+        given(commentRepository.findAuthorIdById(commentId)).willReturn(Optional.of(3L));
+        given(heartRepository.deleteByCommentIdAndAccountId(commentId, account.getId())).willReturn(1);
 
         // when
-        heartService.toggleHeartToComment(account, commentId);
+        boolean hearted = heartService.toggleHeartToComment(account, commentId);
 
         // then
-        then(heartRepository).should().delete(any());
+        assertFalse(hearted);
+        then(commentRepository).should().addHeartCount(commentId, -1);
+        then(accountRepository).should().addLevelPoint(3L, -10);
+    }
 
-        ArgumentCaptor<Comment> commentArgumentCaptor = ArgumentCaptor.forClass(Comment.class);
-        then(commentRepository).should().save(commentArgumentCaptor.capture());
+    // ----- 하트 여부 조회 -----
+    @DisplayName("댓글 하트 여부 조회 성공 - 요청한 댓글 중 하트를 누른 댓글 번호를 한번에 조회")
+    @Test
+    void testGetHeartedCommentIdsSuccess() {
+        // given
+        Account account = createAccount();
+        given(heartRepository.findHeartedCommentIds(account.getId(), List.of(1L, 2L, 3L))).willReturn(List.of(1L, 3L));
+
+        // when
+        List<Long> heartedIds = heartService.getHeartedCommentIds(account, List.of(1L, 2L, 3L));
 
-        assertEquals(-1, commentArgumentCaptor.getValue().getHeartCount());
-        assertEquals(40, commentArgumentCaptor.getValue().getAuthor().getLevelPoint());
+        // then
+        assertEquals(List.of(1L, 3L), heartedIds);
+    }
+
+    @DisplayName("게시글 하트 여부 조회 실패 - 최대 갯수 초과")
+    @Test
+    void testGetHeartedPostIdsFailureByTooManyIds() {
+        // given
+        Account account = createAccount();
+        List<Long> postIds = LongStream.rangeClosed(1, HeartService.MAX_HEARTED_LOOKUP_SIZE + 1).boxed().collect(Collectors.toList());
+
+        // when
+        // then
+        assertThrows(TooManyHeartTargetsException.class, () -> heartService.getHeartedPostIds(account, postIds));
+        then(heartRepository).should(never()).findHeartedPostIds(anyLong(), any());
     }
 }
@@ -0,0 +1,172 @@
+package com.community.soob.service;
+
+import com.community.soob.attachment.ImageProcessingBusyException;
+import com.community.soob.attachment.ImageProcessor;
+import com.community.soob.attachment.ImageRendition;
+import com.community.soob.attachment.ProcessedImage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ImageProcessorTest {
+    private ImageProcessor imageProcessor;
+
+    @AfterEach
+    void tearDown() {
+        if (imageProcessor != null) {
+            imageProcessor.shutdown();
+        }
+    }
+
+    private ImageProcessor createImageProcessor(int threads, int queueCapacity, long maxPixels) {
+        this.imageProcessor = new ImageProcessor(new SimpleMeterRegistry(), threads, queueCapacity, 320, 1280, maxPixels, 0.82f, 1);
+        return imageProcessor;
+    }
+
+    // 왼쪽 절반은 빨간색, 오른쪽 절반은 파란색
+    private BufferedImage createImage(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(width / 2, 0, width - width / 2, height);
+        graphics.dispose();
+        return image;
+    }
+
+    private byte[] write(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        return output.toByteArray();
+    }
+
+    // JFIF(APP0) segment 뒤에 orientation 태그 하나만 있는 EXIF(APP1) segment 를 넣는다
+    private byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        int offset = 4 + (((jpeg[4] & 0xFF) << 8) | (jpeg[5] & 0xFF));
+        byte[] app1 = {
+                (byte) 0xFF, (byte) 0xE1, 0, 34,
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1,
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+                0, 0, 0, 0
+        };
+        byte[] result = new byte[jpeg.length + app1.length];
+        System.arraycopy(jpeg, 0, result, 0, offset);
+        System.arraycopy(app1, 0, result, offset, app1.length);
+        System.arraycopy(jpeg, offset, result, offset + app1.length, jpeg.length - offset);
+        return result;
+    }
+
+    private BufferedImage read(byte[] content) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(content));
+    }
+
+    @DisplayName("이미지 처리 성공 - 긴 변 기준으로 medium, thumbnail 사본을 만들고 원본 크기는 유지")
+    @Test
+    void testProcessSuccess() throws IOException {
+        // given
+        byte[] content = write(createImage(2000, 1000, BufferedImage.TYPE_INT_RGB), "jpg");
+
+        // when
+        ProcessedImage processedImage = createImageProcessor(1, 1, 25_000_000).process(content);
+
+        // then
+        assertEquals(".jpg", processedImage.getExtension());
+        assertEquals("image/jpeg", processedImage.getContentType());
+        BufferedImage original = read(processedImage.getRendition(ImageRendition.ORIGINAL));
+        BufferedImage medium = read(processedImage.getRendition(ImageRendition.MEDIUM));
+        BufferedImage thumbnail = read(processedImage.getRendition(ImageRendition.THUMBNAIL));
+        assertEquals(2000, original.getWidth());
+        assertEquals(1280, medium.getWidth());
+        assertEquals(640, medium.getHeight());
+        assertEquals(320, thumbnail.getWidth());
+        assertEquals(160, thumbnail.getHeight());
+        assertTrue(processedImage.getRendition(ImageRendition.THUMBNAIL).length < content.length);
+    }
+
+    @DisplayName("이미지 처리 성공 - EXIF 방향대로 돌리고 메타데이터는 지움")
+    @Test
+    void testProcessSuccessWithExifOrientation() throws IOException {
+        // given
+        byte[] content = withExifOrientation(write(createImage(200, 100, BufferedImage.TYPE_INT_RGB), "jpg"), 6);
+
+        // when
+        ProcessedImage processedImage = createImageProcessor(1, 1, 25_000_000).process(content);
+
+        // then
+        byte[] originalContent = processedImage.getRendition(ImageRendition.ORIGINAL);
+        BufferedImage original = read(originalContent);
+        assertEquals(100, original.getWidth());
+        assertEquals(200, original.getHeight());
+        // 시계 방향으로 90도 돌리면 왼쪽(빨간색)이 위로 간다
+        assertTrue(new Color(original.getRGB(50, 10)).getRed() > 200);
+        assertTrue(new Color(original.getRGB(50, 190)).getBlue() > 200);
+        assertFalse(new String(originalContent, StandardCharsets.ISO_8859_1).contains("Exif"));
+    }
+
+    @DisplayName("이미지 처리 성공 - 투명도가 있는 이미지는 png 로 저장")
+    @Test
+    void testProcessSuccessWithAlpha() throws IOException {
+        // given
+        byte[] content = write(createImage(400, 400, BufferedImage.TYPE_INT_ARGB), "png");
+
+        // when
+        ProcessedImage processedImage = createImageProcessor(1, 1, 25_000_000).process(content);
+
+        // then
+        assertEquals(".png", processedImage.getExtension());
+        assertEquals(320, read(processedImage.getRendition(ImageRendition.THUMBNAIL)).getWidth());
+        assertTrue(read(processedImage.getRendition(ImageRendition.ORIGINAL)).getColorModel().hasAlpha());
+    }
+
+    @DisplayName("이미지 처리 실패 - 이미지가 아니거나 픽셀 수가 제한을 넘음")
+    @Test
+    void testProcessFailure() throws IOException {
+        // given
+        ImageProcessor imageProcessor = createImageProcessor(1, 1, 10_000);
+        byte[] largeImage = write(createImage(200, 100, BufferedImage.TYPE_INT_RGB), "png");
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> imageProcessor.process("not an image".getBytes()));
+        assertThrows(IllegalArgumentException.class, () -> imageProcessor.process(largeImage));
+    }
+
+    @DisplayName("이미지 처리 실패 - 대기열이 가득 차면 기다리지 않고 거절")
+    @Test
+    void testProcessAsyncRejectedWhenQueueFull() throws IOException {
+        // given
+        ImageProcessor imageProcessor = createImageProcessor(1, 1, 25_000_000);
+        byte[] content = write(createImage(3000, 3000, BufferedImage.TYPE_INT_RGB), "jpg");
+
+        // when
+        // 첫번째는 처리 중, 두번째는 대기열, 세번째는 거절
+        CompletableFuture<ProcessedImage> running = imageProcessor.processAsync(content);
+        CompletableFuture<ProcessedImage> queued = imageProcessor.processAsync(content);
+        CompletableFuture<ProcessedImage> rejected = imageProcessor.processAsync(content);
+
+        // then
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(exception.getCause() instanceof ImageProcessingBusyException);
+        running.join();
+        queued.join();
+    }
+}
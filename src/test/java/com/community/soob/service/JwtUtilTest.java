@@ -0,0 +1,55 @@
+package com.community.soob.service;
+
+import com.community.soob.util.JwtUtil;
+import com.community.soob.util.VerifiedToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JwtUtilTest {
+    private final JwtUtil jwtUtil = new JwtUtil("test-secret-key-test-secret-key-0123456789");
+
+    @DisplayName("토큰 검사 성공 - 한번의 파싱으로 email, 발급, 만료 시각을 반환")
+    @Test
+    void testVerifySuccess() {
+        // given
+        String token = jwtUtil.generateToken("test@test.com");
+
+        // when
+        VerifiedToken verifiedToken = jwtUtil.verify(token);
+
+        // then
+        assertEquals("test@test.com", verifiedToken.getAccountEmail());
+        assertTrue(verifiedToken.getExpiration().isAfter(Instant.now()));
+        assertTrue(verifiedToken.getIssuedAt().isBefore(verifiedToken.getExpiration()));
+    }
+
+    @DisplayName("토큰 검사 실패 - 만료된 토큰")
+    @Test
+    void testVerifyFailureByExpiredToken() {
+        // given
+        String token = jwtUtil.doGenerateToken("test@test.com", -1000L);
+
+        // when
+        // then
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+    }
+
+    @DisplayName("토큰 검사 실패 - 다른 key 로 서명된 토큰")
+    @Test
+    void testVerifyFailureByInvalidSignature() {
+        // given
+        String token = new JwtUtil("other-secret-key-other-secret-key-0123456789").generateToken("test@test.com");
+
+        // when
+        // then
+        assertThrows(SignatureException.class, () -> jwtUtil.verify(token));
+    }
+}
@@ -0,0 +1,124 @@
+package com.community.soob.service;
+
+import com.community.soob.attachment.AttachmentException;
+import com.community.soob.attachment.LocalFileStorage;
+import com.community.soob.common.InvalidValueException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LocalFileStorageTest {
+    @TempDir Path rootDirectory;
+
+    private LocalFileStorage localFileStorage;
+
+    @BeforeEach
+    void setUp() {
+        this.localFileStorage = new LocalFileStorage(rootDirectory.toString(), "http://localhost:8080/", "secret");
+    }
+
+    private byte[] createContent(int size) {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return content;
+    }
+
+    private String queryParameter(URL url, String name) {
+        for (String parameter : url.getQuery().split("&")) {
+            if (parameter.startsWith(name + "=")) {
+                return parameter.substring(name.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    @DisplayName("파일 저장 성공 - 다시 읽거나 transferTo 로 보내면 같은 내용, 임시 파일은 남지 않음")
+    @Test
+    void testUploadAndReadSuccess() throws IOException {
+        // given
+        byte[] content = createContent(300_000);
+
+        // when
+        localFileStorage.upload(content, "image/jpeg", "post/a.jpg");
+
+        // then
+        assertArrayEquals(content, localFileStorage.download("post/a.jpg", content.length));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(content.length, localFileStorage.transferTo("post/a.jpg", Channels.newChannel(output)));
+        assertArrayEquals(content, output.toByteArray());
+        assertEquals(1, Files.list(rootDirectory.resolve("post")).count());
+        assertEquals("http://localhost:8080/api/v1/attachments/files/post/a.jpg", localFileStorage.getFileUrl("post/a.jpg"));
+    }
+
+    @DisplayName("파일 읽기 실패 - 없는 파일, 제한보다 큰 파일, 저장소 밖을 가리키는 이름")
+    @Test
+    void testDownloadFailure() {
+        // given
+        localFileStorage.upload(createContent(1024), "image/jpeg", "post/a.jpg");
+
+        // when, then
+        assertThrows(AttachmentException.class, () -> localFileStorage.download("post/unknown.jpg", 1024));
+        assertThrows(AttachmentException.class, () -> localFileStorage.download("post/a.jpg", 1023));
+        assertThrows(InvalidValueException.class, () -> localFileStorage.download("../secret.txt", 1024));
+        assertNull(localFileStorage.getFile("post/unknown.jpg"));
+    }
+
+    @DisplayName("presigned 업로드 - 서명한 형식, 크기 그대로 올린 요청만 통과하고 크기가 다르면 저장하지 않음")
+    @Test
+    void testPresignedPut() {
+        // given
+        byte[] content = createContent(2048);
+        URL url = localFileStorage.generatePresignedPutUrl("post/b.png", "image/png", content.length, new Date(System.currentTimeMillis() + 60_000));
+        long expires = Long.parseLong(queryParameter(url, "expires"));
+        String signature = queryParameter(url, "signature");
+
+        // when, then
+        assertTrue(url.getPath().endsWith("/api/v1/attachments/files/post/b.png"));
+        assertTrue(localFileStorage.verifyPresignedPut("post/b.png", "image/png", content.length, expires, signature));
+        assertFalse(localFileStorage.verifyPresignedPut("post/b.png", "image/png", content.length + 1, expires, signature));
+        assertFalse(localFileStorage.verifyPresignedPut("post/b.png", "image/gif", content.length, expires, signature));
+        assertFalse(localFileStorage.verifyPresignedPut("post/c.png", "image/png", content.length, expires, signature));
+        assertFalse(localFileStorage.verifyPresignedPut("post/b.png", "image/png", content.length, expires - 3600, signature));
+
+        localFileStorage.store("post/b.png", Channels.newChannel(new ByteArrayInputStream(content)), content.length);
+        assertArrayEquals(content, localFileStorage.download("post/b.png", content.length));
+        assertThrows(InvalidValueException.class, () -> localFileStorage.store(
+                "post/c.png", Channels.newChannel(new ByteArrayInputStream(content)), content.length - 1));
+        assertNull(localFileStorage.getFile("post/c.png"));
+    }
+
+    @DisplayName("파일 삭제 - 없는 파일도 성공하고 저장소 밖을 가리키는 이름은 실패로 반환")
+    @Test
+    void testDeleteAll() {
+        // given
+        localFileStorage.upload(createContent(10), "image/jpeg", "post/a.jpg");
+        localFileStorage.upload(createContent(10), "image/jpeg", "post/a_thumb.jpg");
+
+        // when
+        List<String> failedFileNames = localFileStorage.deleteAll(List.of("post/a.jpg", "post/a_thumb.jpg", "post/unknown.jpg", "../outside.jpg"));
+
+        // then
+        assertEquals(List.of("../outside.jpg"), failedFileNames);
+        assertNull(localFileStorage.getFile("post/a.jpg"));
+        assertNull(localFileStorage.getFile("post/a_thumb.jpg"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.community.soob.service;
+
+import com.community.soob.mail.domain.MailOutbox;
+import com.community.soob.mail.domain.MailOutboxRepository;
+import com.community.soob.mail.domain.MailOutboxStatus;
+import com.community.soob.mail.service.MailOutboxService;
+import com.community.soob.mail.service.MailOutboxWorker;
+import com.community.soob.util.RedisUtil;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+// GreenMail 로 띄운 로컬 SMTP 서버로 보낸다
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:mail-outbox;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(MailOutboxService.class)
+public class MailOutboxWorkerTest {
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired private MailOutboxService mailOutboxService;
+    @Autowired private MailOutboxRepository mailOutboxRepository;
+    @MockBean private RedisUtil redisUtil;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MailOutboxWorker mailOutboxWorker;
+
+    @BeforeEach
+    void setUp() {
+        given(redisUtil.setDataIfAbsent(anyString(), anyString(), anyLong())).willReturn(true);
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (mailOutboxWorker != null) {
+            mailOutboxWorker.shutdown();
+        }
+    }
+
+    private MailOutboxWorker createWorker(int smtpPort, int domainRatePerMinute) {
+        return createWorker(smtpPort, domainRatePerMinute, 100);
+    }
+
+    private MailOutboxWorker createWorker(int smtpPort, int domainRatePerMinute, int batchSize) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtpPort);
+        this.mailOutboxWorker = new MailOutboxWorker(mailOutboxService, mailSender, redisUtil, meterRegistry, 1000, batchSize, 2, domainRatePerMinute);
+        return mailOutboxWorker;
+    }
+
+    @DisplayName("메일 발송 성공 - outbox 의 메일을 보내고 발송 완료로 기록")
+    @Test
+    void testSendSuccess() {
+        // given
+        MailOutbox first = mailOutboxService.enqueue("first@test.com", "subject1", "text1");
+        MailOutbox second = mailOutboxService.enqueue("second@other.com", "subject2", "text2");
+
+        // when
+        createWorker(ServerSetupTest.SMTP.getPort(), 60).send();
+
+        // then
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(MailOutboxStatus.SENT, mailOutboxRepository.findById(first.getId()).get().getStatus());
+        assertEquals("", mailOutboxRepository.findById(first.getId()).get().getText());
+        assertNotNull(mailOutboxRepository.findById(second.getId()).get().getSentAt());
+        assertEquals(2, meterRegistry.get("mail.outbox.sent").counter().count());
+        assertEquals(2, meterRegistry.get("mail.outbox.send").timer().count());
+    }
+
+    @DisplayName("메일 발송 성공 - 도메인별 속도 제한을 넘는 메일은 다음 주기에 보냄")
+    @Test
+    void testSendSuccessWithDomainRateLimit() {
+        // given
+        mailOutboxService.enqueue("first@test.com", "subject1", "text1");
+        MailOutbox second = mailOutboxService.enqueue("second@test.com", "subject2", "text2");
+        mailOutboxService.enqueue("third@other.com", "subject3", "text3");
+
+        // when
+        createWorker(ServerSetupTest.SMTP.getPort(), 1).send();
+
+        // then
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(MailOutboxStatus.PENDING, mailOutboxRepository.findById(second.getId()).get().getStatus());
+        assertTrue(mailOutboxRepository.findById(second.getId()).get().getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @DisplayName("메일 발송 성공 - 속도 제한에 걸린 도메인의 메일이 앞에 쌓여 있어도 다른 도메인의 메일을 보냄")
+    @Test
+    void testSendSuccessWithoutStarvation() {
+        // given
+        mailOutboxService.enqueue("first@test.com", "subject1", "text1");
+        MailOutbox second = mailOutboxService.enqueue("second@test.com", "subject2", "text2");
+        MailOutbox third = mailOutboxService.enqueue("third@test.com", "subject3", "text3");
+        MailOutbox other = mailOutboxService.enqueue("fourth@other.com", "subject4", "text4");
+        MailOutboxWorker worker = createWorker(ServerSetupTest.SMTP.getPort(), 1, 2);
+
+        // when
+        worker.send();
+        worker.send();
+
+        // then
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(MailOutboxStatus.SENT, mailOutboxRepository.findById(other.getId()).get().getStatus());
+        assertTrue(mailOutboxRepository.findById(second.getId()).get().getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertTrue(mailOutboxRepository.findById(third.getId()).get().getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @DisplayName("메일 발송 실패 - SMTP 연결 실패시 backoff 후 다시 시도")
+    @Test
+    void testSendFailureWithBackoff() {
+        // given
+        MailOutbox mail = mailOutboxService.enqueue("first@test.com", "subject1", "text1");
+
+        // when
+        createWorker(ServerSetupTest.SMTP.getPort() + 1, 60).send();
+
+        // then
+        MailOutbox failed = mailOutboxRepository.findById(mail.getId()).get();
+        assertEquals(MailOutboxStatus.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(1, meterRegistry.get("mail.outbox.failed").counter().count());
+    }
+
+    @DisplayName("메일 발송 실패 - max-attempts 번 실패하면 더 보내지 않고 본문을 비움")
+    @Test
+    void testFailClearsTextWhenGivingUp() {
+        // given
+        MailOutbox mail = mailOutboxService.enqueue("first@test.com", "subject1", "temporary-password");
+
+        // when
+        mail.fail("error", Duration.ofSeconds(30), Duration.ofHours(1), 1);
+
+        // then
+        assertEquals(MailOutboxStatus.FAILED, mail.getStatus());
+        assertEquals("", mail.getText());
+    }
+}
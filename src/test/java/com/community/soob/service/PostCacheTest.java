@@ -0,0 +1,269 @@
+package com.community.soob.service;
+
+import com.community.soob.attachment.AttachmentDto;
+import com.community.soob.post.controller.dto.PostResponseDto;
+import com.community.soob.post.service.PostCache;
+import com.community.soob.post.service.PostResponseCodec;
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+public class PostCacheTest {
+    private static final long POST_ID = 1L;
+    private static final String KEY = "post:cache:1";
+    private static final String VERSION_KEY = "post:cache:version:1";
+
+    @Mock private RedisUtil redisUtil;
+    private SimpleMeterRegistry meterRegistry;
+    private PostCache postCache;
+    private AtomicInteger loadCount;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.postCache = new PostCache(redisUtil, meterRegistry, 100, 5, 60);
+        this.loadCount = new AtomicInteger();
+    }
+
+    private PostResponseDto createPost(String content) {
+        return PostResponseDto.builder()
+                .id(POST_ID)
+                .boardId(1L)
+                .boardName("QNA")
+                .author("test")
+                .title("title1")
+                .content(content)
+                .attachments(List.of(AttachmentDto.builder()
+                        .id(3L)
+                        .fileName("post/image.png")
+                        .filePath("https://bucket/post/image.png")
+                        .mediumPath("https://bucket/post/image_medium.png")
+                        .thumbnailPath("https://bucket/post/image_thumbnail.png")
+                        .build()))
+                .readCount(10)
+                .heartCount(2)
+                .createdAt(LocalDateTime.of(2021, 5, 1, 12, 30, 15, 123456789))
+                .lastModifiedAt(null)
+                .build();
+    }
+
+    private PostResponseDto load(long postId) {
+        loadCount.incrementAndGet();
+        return createPost("content1");
+    }
+
+    @DisplayName("게시글 캐시 성공 - 없으면 DB 에서 읽어서 노드 메모리와 Redis 에 저장")
+    @Test
+    void testGetSuccessLoadsAndStores() {
+        // when
+        PostResponseDto post = postCache.get(POST_ID, this::load);
+
+        // then
+        assertEquals("title1", post.getTitle());
+        assertEquals(1, loadCount.get());
+        then(redisUtil).should().setBytesExpireIfEquals(eq(KEY), any(), eq(60L), eq(VERSION_KEY), eq("0"));
+    }
+
+    @DisplayName("게시글 캐시 성공 - 노드 메모리에 있으면 Redis 와 DB 를 조회하지 않고 매번 새 객체를 반환")
+    @Test
+    void testGetSuccessFromLocal() {
+        // when
+        PostResponseDto first = postCache.get(POST_ID, this::load);
+        PostResponseDto second = postCache.get(POST_ID, this::load);
+
+        // then
+        assertEquals(1, loadCount.get());
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        then(redisUtil).should().getBytes(KEY);
+        assertEquals(1, meterRegistry.get("post.cache.gets").tag("tier", "local").tag("result", "hit").counter().count());
+        assertEquals(0.5, meterRegistry.get("post.cache.hit.ratio").tag("tier", "local").gauge().value());
+    }
+
+    @DisplayName("게시글 캐시 성공 - Redis 에 있으면 DB 를 조회하지 않고 노드 메모리에 저장")
+    @Test
+    void testGetSuccessFromRedis() {
+        // given
+        given(redisUtil.getBytes(KEY)).willReturn(PostResponseCodec.encode(createPost("content1")));
+
+        // when
+        postCache.get(POST_ID, this::load);
+        PostResponseDto post = postCache.get(POST_ID, this::load);
+
+        // then
+        assertEquals("content1", post.getContent());
+        assertEquals(0, loadCount.get());
+        then(redisUtil).should().getBytes(KEY);
+        then(redisUtil).should(never()).setBytesExpireIfEquals(anyString(), any(), anyLong(), anyString(), anyString());
+        assertEquals(1, meterRegistry.get("post.cache.hit.ratio").tag("tier", "redis").gauge().value());
+    }
+
+    @DisplayName("게시글 캐시 성공 - Redis 에 실패하면 DB 에서 읽음")
+    @Test
+    void testGetSuccessWhenRedisFails() {
+        // given
+        given(redisUtil.getBytes(KEY)).willThrow(new QueryTimeoutException("timeout"));
+
+        // when
+        PostResponseDto post = postCache.get(POST_ID, this::load);
+
+        // then
+        assertEquals("title1", post.getTitle());
+        assertEquals(1, loadCount.get());
+    }
+
+    @DisplayName("게시글 캐시 성공 - 형식이 다른 Redis 값은 무시하고 DB 에서 읽음")
+    @Test
+    void testGetSuccessIgnoresUnknownFormat() {
+        // given
+        given(redisUtil.getBytes(KEY)).willReturn(new byte[]{0, 1, 2});
+
+        // when
+        postCache.get(POST_ID, this::load);
+
+        // then
+        assertEquals(1, loadCount.get());
+        then(redisUtil).should().setBytesExpireIfEquals(eq(KEY), any(), eq(60L), eq(VERSION_KEY), eq("0"));
+    }
+
+    @DisplayName("게시글 캐시 성공 - DB 에서 읽기 전에 본 버전일 때만 Redis 에 저장")
+    @Test
+    void testGetSuccessStoresWithVersionBeforeLoad() {
+        // given
+        given(redisUtil.getData(VERSION_KEY)).willReturn("3");
+
+        // when
+        postCache.get(POST_ID, this::load);
+
+        // then
+        then(redisUtil).should().setBytesExpireIfEquals(eq(KEY), any(), eq(60L), eq(VERSION_KEY), eq("3"));
+    }
+
+    @DisplayName("게시글 캐시 성공 - 버전을 조회하지 못하면 Redis 에 저장하지 않음")
+    @Test
+    void testGetSuccessSkipsRedisStoreWhenVersionFails() {
+        // given
+        given(redisUtil.getData(VERSION_KEY)).willThrow(new QueryTimeoutException("timeout"));
+
+        // when
+        PostResponseDto post = postCache.get(POST_ID, this::load);
+        postCache.get(POST_ID, this::load);
+
+        // then
+        assertEquals("title1", post.getTitle());
+        assertEquals(1, loadCount.get());
+        then(redisUtil).should(never()).setBytesExpireIfEquals(anyString(), any(), anyLong(), anyString(), anyString());
+    }
+
+    @DisplayName("게시글 캐시 삭제 성공 - 트랜잭션 밖에서는 바로 삭제하고 다른 노드에 알림")
+    @Test
+    void testEvictSuccess() {
+        // given
+        postCache.get(POST_ID, this::load);
+
+        // when
+        postCache.evict(POST_ID);
+        postCache.get(POST_ID, this::load);
+
+        // then
+        assertEquals(2, loadCount.get());
+        then(redisUtil).should().incrementDataExpire(List.of(VERSION_KEY), 24 * 60 * 60);
+        then(redisUtil).should().deleteData(List.of(KEY));
+        then(redisUtil).should().publish(PostCache.EVICT_CHANNEL, "1");
+    }
+
+    @DisplayName("게시글 캐시 삭제 성공 - 여러 게시글을 한번에 알림")
+    @Test
+    void testEvictAllSuccess() {
+        // when
+        postCache.evictAll(List.of(1L, 2L));
+
+        // then
+        then(redisUtil).should().incrementDataExpire(List.of(VERSION_KEY, "post:cache:version:2"), 24 * 60 * 60);
+        then(redisUtil).should().deleteData(List.of(KEY, "post:cache:2"));
+        then(redisUtil).should().publish(PostCache.EVICT_CHANNEL, "1,2");
+    }
+
+    @DisplayName("게시글 캐시 삭제 성공 - 다른 노드의 삭제 알림을 받으면 노드 메모리에서 삭제")
+    @Test
+    void testOnMessageSuccess() {
+        // given
+        postCache.get(POST_ID, this::load);
+
+        // when
+        postCache.onMessage(new DefaultMessage(PostCache.EVICT_CHANNEL.getBytes(StandardCharsets.UTF_8), "2,1".getBytes(StandardCharsets.UTF_8)), null);
+        postCache.get(POST_ID, this::load);
+
+        // then
+        assertEquals(2, loadCount.get());
+    }
+
+    @DisplayName("게시글 캐시 성공 - DB 에서 읽는 동안 삭제되면 읽은 값은 캐시하지 않음")
+    @Test
+    void testGetSuccessSkipsStoreWhenEvictedDuringLoad() {
+        // when
+        postCache.get(POST_ID, postId -> {
+            postCache.evict(postId);
+            return load(postId);
+        });
+        postCache.get(POST_ID, this::load);
+
+        // then
+        assertEquals(2, loadCount.get());
+        then(redisUtil).should().setBytesExpireIfEquals(eq(KEY), any(), eq(60L), eq(VERSION_KEY), eq("0"));
+    }
+
+    @DisplayName("게시글 캐시 형식 성공 - null 과 64KB 가 넘는 본문을 그대로 복원")
+    @Test
+    void testCodecRoundTrip() {
+        // given
+        PostResponseDto post = createPost("가".repeat(30000));
+        post.setAuthor(null);
+
+        // when
+        PostResponseDto decoded = PostResponseCodec.decode(PostResponseCodec.encode(post));
+
+        // then
+        assertEquals(post, decoded);
+        assertNull(decoded.getAuthor());
+        assertNull(decoded.getLastModifiedAt());
+    }
+
+    @DisplayName("게시글 캐시 형식 실패 - 잘린 값")
+    @Test
+    void testCodecFailureByTruncated() {
+        // given
+        byte[] encoded = PostResponseCodec.encode(createPost("content1"));
+        byte[] truncated = new byte[encoded.length / 2];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+
+        // when
+        // then
+        assertThrows(IllegalArgumentException.class, () -> PostResponseCodec.decode(truncated));
+    }
+}
@@ -0,0 +1,169 @@
+package com.community.soob.service;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.AccountRepository;
+import com.community.soob.account.service.PrincipalCache;
+import com.community.soob.account.domain.Role;
+import com.community.soob.attachment.AttachmentService;
+import com.community.soob.comment.domain.CommentAuthorSummary;
+import com.community.soob.comment.service.CommentService;
+import com.community.soob.heart.service.HeartService;
+import com.community.soob.post.domain.Board;
+import com.community.soob.post.domain.Post;
+import com.community.soob.post.domain.PostPurge;
+import com.community.soob.post.domain.PostPurgeRepository;
+import com.community.soob.post.domain.PostPurgeStatus;
+import com.community.soob.post.domain.PostRepository;
+import com.community.soob.post.service.PostPurgeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+public class PostPurgeServiceTest {
+    @Mock private PostPurgeRepository postPurgeRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private AccountRepository accountRepository;
+    @Mock private CommentService commentService;
+    @Mock private HeartService heartService;
+    @Mock private AttachmentService attachmentService;
+    @Mock private PrincipalCache principalCache;
+    private PostPurgeService postPurgeService;
+
+    @BeforeEach
+    void setUp() {
+        this.postPurgeService = new PostPurgeService(postPurgeRepository, postRepository, accountRepository, commentService, heartService, attachmentService, principalCache, 100);
+    }
+
+    private Account createAccount() {
+        return Account.builder()
+                .id(2L)
+                .email("test@test.com")
+                .password("$2a$10$2H.qwzvH9zq4NrqrGJWdZOVZ4nrx3rfgEqnKvK98fWvaop0ceVtt2")
+                .nickname("test")
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .salt("$2a$10$2H.qwzvH9zq4NrqrGJWdZO")
+                .profileImage(null)
+                .build();
+    }
+
+    private Post createPost() {
+        Post post = Post.builder()
+                .id(1L)
+                .board(Board.builder().id(1L).name("QNA").build())
+                .author(createAccount())
+                .title("title1")
+                .content("content1")
+                .attachments(new ArrayList<>())
+                .build();
+        post.markDeleted();
+        return post;
+    }
+
+    private PostPurge createPostPurge() {
+        return PostPurge.builder()
+                .id(10L)
+                .postId(1L)
+                .totalComments(3)
+                .totalHearts(5)
+                .build();
+    }
+
+    @DisplayName("게시글 정리 성공 - 댓글 chunk 정리 후 진행상황 기록")
+    @Test
+    void testPurgeChunkSuccessWithComments() {
+        // given
+        PostPurge postPurge = createPostPurge();
+        given(postPurgeRepository.findByIdForUpdate(10L)).willReturn(Optional.of(postPurge));
+        given(commentService.deleteCommentsForPost(1L, 100))
+                .willReturn(List.of(new CommentAuthorSummary(2L, "test@test.com", 2L, 1L), new CommentAuthorSummary(3L, "test2@test.com", 1L, 0L)));
+
+        // when
+        boolean hasMore = postPurgeService.purgeChunk(10L);
+
+        // then
+        assertTrue(hasMore);
+        assertEquals(3, postPurge.getPurgedComments());
+        assertEquals(1, postPurge.getPurgedHearts());
+        then(postPurgeRepository).should().save(postPurge);
+        then(heartService).should(never()).deleteHeartsForPost(anyLong(), anyInt());
+    }
+
+    @DisplayName("게시글 정리 성공 - 댓글 정리가 끝나면 게시글 하트 정리 후 작성자 포인트 차감")
+    @Test
+    void testPurgeChunkSuccessWithPostHearts() {
+        // given
+        PostPurge postPurge = createPostPurge();
+        Post post = createPost();
+        given(postPurgeRepository.findByIdForUpdate(10L)).willReturn(Optional.of(postPurge));
+        given(commentService.deleteCommentsForPost(1L, 100)).willReturn(List.of());
+        given(postRepository.findById(1L)).willReturn(Optional.of(post));
+        given(heartService.deleteHeartsForPost(1L, 100)).willReturn(4);
+
+        // when
+        boolean hasMore = postPurgeService.purgeChunk(10L);
+
+        // then
+        assertTrue(hasMore);
+        assertEquals(4, postPurge.getPurgedHearts());
+        // 4 * 20 => 80
+        then(accountRepository).should().addLevelPoint(2L, -80);
+        then(accountRepository).should(never()).save(any());
+        then(principalCache).should().evict("test@test.com");
+        then(postPurgeRepository).should().save(postPurge);
+        then(postRepository).should(never()).delete(post);
+    }
+
+    @DisplayName("게시글 정리 성공 - 모두 정리되면 게시글 삭제 후 완료")
+    @Test
+    void testPurgeChunkSuccessCompleted() {
+        // given
+        PostPurge postPurge = createPostPurge();
+        Post post = createPost();
+        given(postPurgeRepository.findByIdForUpdate(10L)).willReturn(Optional.of(postPurge));
+        given(commentService.deleteCommentsForPost(1L, 100)).willReturn(List.of());
+        given(postRepository.findById(1L)).willReturn(Optional.of(post));
+        given(heartService.deleteHeartsForPost(1L, 100)).willReturn(0);
+
+        // when
+        boolean hasMore = postPurgeService.purgeChunk(10L);
+
+        // then
+        assertFalse(hasMore);
+        assertEquals(PostPurgeStatus.COMPLETED, postPurge.getStatus());
+        assertNotNull(postPurge.getCompletedAt());
+        then(postRepository).should().delete(post);
+    }
+
+    @DisplayName("게시글 정리 성공 - 이미 완료된 작업은 다시 처리하지 않음")
+    @Test
+    void testPurgeChunkSuccessAlreadyCompleted() {
+        // given
+        PostPurge postPurge = createPostPurge();
+        postPurge.complete();
+        given(postPurgeRepository.findByIdForUpdate(10L)).willReturn(Optional.of(postPurge));
+
+        // when
+        boolean hasMore = postPurgeService.purgeChunk(10L);
+
+        // then
+        assertFalse(hasMore);
+        then(commentService).should(never()).deleteCommentsForPost(anyLong(), anyInt());
+    }
+}
@@ -3,9 +3,9 @@ package com.community.soob.service;
 import com.community.soob.account.domain.Account;
 import com.community.soob.account.domain.AccountRepository;
 import com.community.soob.account.domain.Role;
+import com.community.soob.account.service.PrincipalCache;
 import com.community.soob.attachment.AttachmentService;
-import com.community.soob.comment.service.CommentService;
-import com.community.soob.heart.service.HeartService;
+import com.community.soob.post.controller.dto.PostResponseDto;
 import com.community.soob.post.domain.Board;
 import com.community.soob.post.domain.BoardRepository;
 import com.community.soob.post.domain.Post;
@@ -13,11 +13,13 @@ import com.community.soob.post.domain.PostRepository;
 import com.community.soob.post.exception.AuthorNotMatchedException;
 import com.community.soob.post.exception.BoardNotFoundException;
 import com.community.soob.post.exception.PostNotFoundException;
+import com.community.soob.post.service.PostCache;
+import com.community.soob.post.service.PostPurgeService;
 import com.community.soob.post.service.PostServiceImpl;
+import com.community.soob.post.service.ReadCountAggregator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -29,9 +31,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongFunction;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -44,9 +48,11 @@ public class PostServiceImplTest {
     @Mock private PostRepository postRepository;
     @Mock private BoardRepository boardRepository;
     @Mock private AccountRepository accountRepository;
-    @Mock private CommentService commentService;
-    @Mock private HeartService heartService;
+    @Mock private PrincipalCache principalCache;
     @Mock private AttachmentService attachmentService;
+    @Mock private PostPurgeService postPurgeService;
+    @Mock private ReadCountAggregator readCountAggregator;
+    @Mock private PostCache postCache;
 
     private Account createAccount() {
         return Account.builder()
@@ -95,7 +101,7 @@ public class PostServiceImplTest {
         });
     }
 
-    @DisplayName("게시글 조회 성공 - 조회수 증가")
+    @DisplayName("게시글 조회 성공 - 조회수는 aggregator 에 누적")
     @Test
     void testGetPostSuccess() {
         // given
@@ -107,8 +113,27 @@ public class PostServiceImplTest {
         postServiceImpl.getPost(postId);
 
         // then
-        assertEquals(1, post.getReadCount());
-        then(postRepository).should().save(post);
+        assertEquals(0, post.getReadCount());
+        then(readCountAggregator).should().increase(postId, null);
+        then(postRepository).should(never()).save(any());
+    }
+
+    @DisplayName("게시글 응답 조회 성공 - 캐시에 없으면 DB 에서 읽고 조회수는 aggregator 에 누적")
+    @Test
+    void testGetPostResponseSuccess() {
+        // given
+        long postId = 1L;
+        given(postRepository.findById(postId)).willReturn(Optional.of(createPost()));
+        given(postCache.get(eq(postId), any())).willAnswer(invocation ->
+                invocation.<LongFunction<PostResponseDto>>getArgument(1).apply(postId));
+
+        // when
+        PostResponseDto post = postServiceImpl.getPostResponse(postId, "account:2");
+
+        // then
+        assertEquals("title1", post.getTitle());
+        assertEquals("QNA", post.getBoardName());
+        then(readCountAggregator).should().increase(postId, "account:2");
     }
 
     // ----- 게시글 작성 -----
@@ -144,11 +169,9 @@ public class PostServiceImplTest {
 
         // then
         then(postRepository).should().save(any());
-
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
-
-        assertEquals(60, accountArgumentCaptor.getValue().getLevelPoint());
+        then(accountRepository).should().addLevelPoint(2L, 10);
+        then(accountRepository).should(never()).save(any(Account.class));
+        then(principalCache).should().evict("test@test.com");
     }
 
     @DisplayName("게시글 작성 성공 - 1개의 이미지")
@@ -175,11 +198,9 @@ public class PostServiceImplTest {
         // then
         then(postRepository).should().save(any());
         then(attachmentService).should().uploadPostImage(any(), eq(files.get(0)));
-
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
-
-        assertEquals(60, accountArgumentCaptor.getValue().getLevelPoint());
+        then(accountRepository).should().addLevelPoint(2L, 10);
+        then(accountRepository).should(never()).save(any(Account.class));
+        then(principalCache).should().evict("test@test.com");
     }
 
     @DisplayName("게시글 작성 성공 - 복수의 이미지")
@@ -210,14 +231,12 @@ public class PostServiceImplTest {
         // then
         then(postRepository).should().save(any());
         then(attachmentService).should().uploadPostImages(any(), eq(files));
-
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
-
-        assertEquals(60, accountArgumentCaptor.getValue().getLevelPoint());
+        then(accountRepository).should().addLevelPoint(2L, 10);
+        then(accountRepository).should(never()).save(any(Account.class));
+        then(principalCache).should().evict("test@test.com");
     }
 
-    @DisplayName("게시글 작성 성공 - 게시글 작성을 통해 작성자의 레벨이 2로 업데이트")
+    @DisplayName("게시글 작성 성공 - 레벨 2 경계, 포인트와 등급은 DB 에서 반영")
     @Test
     void testCreatePostAndAccountUpdateLevelSuccess() {
         // given
@@ -242,12 +261,13 @@ public class PostServiceImplTest {
 
         // then
         then(postRepository).should().save(any());
+        then(accountRepository).should().addLevelPoint(2L, 10);
+        then(accountRepository).should(never()).save(any(Account.class));
+        then(principalCache).should().evict("test@test.com");
 
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
-
-        assertEquals(250, accountArgumentCaptor.getValue().getLevelPoint());
-        assertEquals(Role.LEVEL_2, accountArgumentCaptor.getValue().getRole());
+        // 등급은 DB 에서 다시 계산하므로 캐시된 인증 정보는 변경하지 않음
+        assertEquals(240, account.getLevelPoint());
+        assertEquals(Role.NOT_PERMITTED, account.getRole());
     }
 
     // ----- 게시글 수정 -----
@@ -306,6 +326,7 @@ public class PostServiceImplTest {
         assertEquals(title, post.getTitle());
         assertEquals(content, post.getContent());
         then(postRepository).should().save(any());
+        then(postCache).should().evict(postId);
     }
 
     @DisplayName("게시글 수정 성공 - 이미지 존재")
@@ -354,61 +375,49 @@ public class PostServiceImplTest {
     }
 
     // ----- 게시글 삭제 -----
-    @DisplayName("게시글 삭제 성공 - 추천, 댓글 존재시 삭제")
+    @DisplayName("게시글 삭제 성공 - 게시글은 숨기고 정리 작업 등록")
     @Test
-    void testDeletePostSuccessWithEtc() throws IOException {
+    void testDeletePostSuccess() {
         // given
         long postId = 1L;
         Account account = createAccount();
         Post post = createPost();
 
         given(postRepository.findById(postId)).willReturn(Optional.of(post));
-        given(heartService.getHeartCountForPost(postId)).willReturn(10L);
-        given(commentService.getCommentCountForPost(postId)).willReturn(10L);
 
         // when
         postServiceImpl.deletePost(account, postId);
 
         // then
-        then(heartService).should().deleteAllHeartForPost(postId);
-        then(commentService).should().deleteAllCommentForPost(postId);
-        then(postRepository).should().deleteById(postId);
-
-        // 50 - 210 => expected -160
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
-        assertEquals(-160, accountArgumentCaptor.getValue().getLevelPoint());
-        assertEquals(Role.LEVEL_1, accountArgumentCaptor.getValue().getRole());
+        assertTrue(post.isDeleted());
+        then(postPurgeService).should().requestPurge(postId);
+        then(postRepository).should(never()).deleteById(postId);
+
+        // 50 - 10 => expected 40
+        then(accountRepository).should().addLevelPoint(2L, -10);
+        then(accountRepository).should(never()).save(any(Account.class));
+        then(principalCache).should().evict("test@test.com");
     }
 
-    @DisplayName("게시글 삭제 성공 - 추천, 댓글 없을때 삭제")
+    @DisplayName("게시글 삭제 실패 - 이미 삭제된 게시글")
     @Test
-    void testDeletePostSuccessWithoutEtc() {
+    void testDeletePostFailureByDeletedPost() {
         // given
         long postId = 1L;
-        Account account = createAccount();
         Post post = createPost();
+        post.markDeleted();
 
         given(postRepository.findById(postId)).willReturn(Optional.of(post));
-        given(heartService.getHeartCountForPost(postId)).willReturn(0L);
-        given(commentService.getCommentCountForPost(postId)).willReturn(0L);
 
         // when
-        postServiceImpl.deletePost(account, postId);
-
         // then
-        then(heartService).should(never()).deleteAllHeartForPost(postId);
-        then(commentService).should(never()).deleteAllCommentForPost(postId);
-        then(postRepository).should().deleteById(postId);
-
-        // 50 - 10 => expected 40
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
-        assertEquals(40, accountArgumentCaptor.getValue().getLevelPoint());
-        assertEquals(Role.LEVEL_1, accountArgumentCaptor.getValue().getRole());
+        assertThrows(PostNotFoundException.class, () -> {
+            postServiceImpl.deletePost(createAccount(), postId);
+        });
+        then(postPurgeService).should(never()).requestPurge(postId);
     }
 
-    @DisplayName("게시글 삭제 성공 - 게시글 삭제로 인해 레벨 1로 다운")
+    @DisplayName("게시글 삭제 성공 - 레벨 1 경계, 포인트와 등급은 DB 에서 반영")
     @Test
     void testDeletePostAndAccountUpdateLevelSuccess() {
         // given
@@ -426,21 +435,21 @@ public class PostServiceImplTest {
         Post post = createPost();
 
         given(postRepository.findById(postId)).willReturn(Optional.of(post));
-        given(heartService.getHeartCountForPost(postId)).willReturn(0L);
-        given(commentService.getCommentCountForPost(postId)).willReturn(0L);
 
         // when
         postServiceImpl.deletePost(account, postId);
 
         // then
-        then(heartService).should(never()).deleteAllHeartForPost(postId);
-        then(commentService).should(never()).deleteAllCommentForPost(postId);
-        then(postRepository).should().deleteById(postId);
+        then(postPurgeService).should().requestPurge(postId);
+        then(postCache).should().evict(postId);
 
         // 250 - 10 => expected 240, level 1
-        ArgumentCaptor<Account> accountArgumentCaptor = ArgumentCaptor.forClass(Account.class);
-        then(accountRepository).should().save(accountArgumentCaptor.capture());
-        assertEquals(240, accountArgumentCaptor.getValue().getLevelPoint());
-        assertEquals(Role.LEVEL_1, accountArgumentCaptor.getValue().getRole());
+        then(accountRepository).should().addLevelPoint(2L, -10);
+        then(accountRepository).should(never()).save(any(Account.class));
+        then(principalCache).should().evict("test@test.com");
+
+        // 등급은 DB 에서 다시 계산하므로 캐시된 인증 정보는 변경하지 않음
+        assertEquals(250, account.getLevelPoint());
+        assertEquals(Role.LEVEL_2, account.getRole());
     }
 }
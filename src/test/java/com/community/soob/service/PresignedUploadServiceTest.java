@@ -0,0 +1,226 @@
+package com.community.soob.service;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.Role;
+import com.community.soob.attachment.AttachmentDeleteQueue;
+import com.community.soob.attachment.PresignedUploadNotFoundException;
+import com.community.soob.attachment.PresignedUploadRequestDto.UploadFile;
+import com.community.soob.attachment.PresignedUploadResponseDto;
+import com.community.soob.attachment.PresignedUploadService;
+import com.community.soob.attachment.PresignedUploadService.PendingUpload;
+import com.community.soob.attachment.PresignedUploadTarget;
+import com.community.soob.attachment.S3Service;
+import com.community.soob.common.InvalidValueException;
+import com.community.soob.util.RedisUtil;
+import io.findify.s3mock.S3Mock;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+// 로컬 S3 호환 서버(findify s3mock)에 presigned URL 로 직접 올린다
+// presigned URL 은 익명 credential 로는 서명되지 않으므로 아무 key 로 서명한다
+@ExtendWith(MockitoExtension.class)
+public class PresignedUploadServiceTest {
+    private static final int PORT = 18003;
+    private static final String BUCKET = "presign-bucket";
+    private static final long MAX_SIZE = 1024 * 1024;
+
+    private static S3Mock s3Mock;
+    private static AmazonS3 s3Client;
+    private static TransferManager transferManager;
+
+    @Mock private RedisUtil redisUtil;
+    @Mock private AttachmentDeleteQueue attachmentDeleteQueue;
+    @Captor private ArgumentCaptor<List<String>> deletedCaptor;
+    private S3Service s3Service;
+    private PresignedUploadService presignedUploadService;
+
+    @BeforeAll
+    static void startS3() {
+        s3Mock = new S3Mock.Builder().withPort(PORT).withInMemoryBackend().build();
+        s3Mock.start();
+        s3Client = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("access", "secret")))
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration("http://127.0.0.1:" + PORT, "ap-northeast-2"))
+                .withPathStyleAccessEnabled(true)
+                .build();
+        s3Client.createBucket(BUCKET);
+        transferManager = TransferManagerBuilder.standard()
+                .withS3Client(s3Client)
+                .build();
+    }
+
+    @AfterAll
+    static void stopS3() {
+        transferManager.shutdownNow();
+        s3Mock.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        this.s3Service = new S3Service(s3Client, transferManager, BUCKET, 16 * 1024 * 1024);
+        this.presignedUploadService = new PresignedUploadService(
+                s3Service, redisUtil, attachmentDeleteQueue, "profile/", "post/", 300, 600, MAX_SIZE, 3, 60000);
+    }
+
+    private Account createAccount(long id) {
+        return Account.builder()
+                .id(id)
+                .email("test@test.com")
+                .password("$2a$10$2H.qwzvH9zq4NrqrGJWdZOVZ4nrx3rfgEqnKvK98fWvaop0ceVtt2")
+                .nickname("test")
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .salt("$2a$10$2H.qwzvH9zq4NrqrGJWdZO")
+                .build();
+    }
+
+    private int put(PresignedUploadResponseDto upload, byte[] content) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(upload.getUploadUrl()).openConnection();
+        connection.setRequestMethod("PUT");
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(content.length);
+        for (Map.Entry<String, String> header : upload.getHeaders().entrySet()) {
+            connection.setRequestProperty(header.getKey(), header.getValue());
+        }
+        try (OutputStream output = connection.getOutputStream()) {
+            output.write(content);
+        }
+        int status = connection.getResponseCode();
+        connection.disconnect();
+        return status;
+    }
+
+    @DisplayName("업로드 URL 발급 성공 - 크기와 형식을 서명하고 발급한 key 로 직접 올림")
+    @Test
+    void testPresignAndUploadSuccess() throws IOException {
+        // given
+        Account account = createAccount(2L);
+        byte[] content = new byte[2048];
+        new Random(2048).nextBytes(content);
+
+        // when
+        List<PresignedUploadResponseDto> uploads = presignedUploadService.presign(
+                account, PresignedUploadTarget.POST, List.of(new UploadFile("image/png", content.length)));
+
+        // then
+        PresignedUploadResponseDto upload = uploads.get(0);
+        assertTrue(upload.getFileName().startsWith("post/"));
+        assertTrue(upload.getFileName().endsWith(".png"));
+        String signedHeaders = upload.getUploadUrl().replaceAll(".*X-Amz-SignedHeaders=([^&]*).*", "$1");
+        assertTrue(signedHeaders.contains("content-length"));
+        assertTrue(signedHeaders.contains("content-type"));
+        then(redisUtil).should().setDataExpire("attachment:upload:" + upload.getFileName(), "2:POST:2048", 900);
+        then(redisUtil).should().addZSetData(eq("attachment:upload:pending"), eq(upload.getFileName()), anyDouble());
+
+        assertEquals(200, put(upload, content));
+        assertArrayEquals(content, s3Service.download(upload.getFileName(), MAX_SIZE));
+    }
+
+    @DisplayName("업로드 URL 발급 실패 - 지원하지 않는 형식, 제한보다 큰 파일, 개수 초과")
+    @Test
+    void testPresignFailure() {
+        // given
+        Account account = createAccount(2L);
+        UploadFile image = new UploadFile("image/jpeg", 1024);
+
+        // when, then
+        assertThrows(InvalidValueException.class, () -> presignedUploadService.presign(
+                account, PresignedUploadTarget.POST, List.of(new UploadFile("application/pdf", 1024))));
+        assertThrows(InvalidValueException.class, () -> presignedUploadService.presign(
+                account, PresignedUploadTarget.POST, List.of(new UploadFile("image/jpeg", MAX_SIZE + 1))));
+        assertThrows(InvalidValueException.class, () -> presignedUploadService.presign(
+                account, PresignedUploadTarget.POST, List.of(image, image, image, image)));
+        assertThrows(InvalidValueException.class, () -> presignedUploadService.presign(
+                account, PresignedUploadTarget.PROFILE, List.of(image, image)));
+        then(redisUtil).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("업로드 확인 - 같은 회원이 같은 대상으로 발급받은 업로드만 통과")
+    @Test
+    void testVerify() {
+        // given
+        given(redisUtil.getData("attachment:upload:post/a.jpg")).willReturn("2:POST:1024");
+
+        // when
+        List<PendingUpload> uploads = presignedUploadService.verify(createAccount(2L), PresignedUploadTarget.POST, List.of("post/a.jpg"));
+
+        // then
+        assertEquals(1024, uploads.get(0).getContentLength());
+        assertThrows(PresignedUploadNotFoundException.class, () -> presignedUploadService.verify(
+                createAccount(3L), PresignedUploadTarget.POST, List.of("post/a.jpg")));
+        assertThrows(PresignedUploadNotFoundException.class, () -> presignedUploadService.verify(
+                createAccount(2L), PresignedUploadTarget.PROFILE, List.of("post/a.jpg")));
+        assertThrows(PresignedUploadNotFoundException.class, () -> presignedUploadService.verify(
+                createAccount(2L), PresignedUploadTarget.POST, List.of("post/unknown.jpg")));
+        assertThrows(InvalidValueException.class, () -> presignedUploadService.verify(
+                createAccount(2L), PresignedUploadTarget.POST, List.of("post/a.jpg", "post/a.jpg")));
+    }
+
+    @DisplayName("만료된 업로드 정리 - 등록되지 않은 파일을 지우고 목록에서 뺌")
+    @Test
+    void testDeleteExpiredUploads() {
+        // given
+        Set<String> expired = new LinkedHashSet<>(List.of("post/a.jpg", "post/b.png"));
+        given(redisUtil.setDataIfAbsent(anyString(), anyString(), anyLong())).willReturn(true);
+        given(redisUtil.getZSetRangeByScore(eq("attachment:upload:pending"), eq(0.0), anyDouble(), anyLong())).willReturn(expired);
+
+        // when
+        presignedUploadService.deleteExpiredUploads();
+
+        // then
+        then(attachmentDeleteQueue).should().delete(deletedCaptor.capture());
+        assertEquals(List.of("post/a.jpg", "post/b.png"), deletedCaptor.getValue());
+        then(redisUtil).should().removeZSetData("attachment:upload:pending", "post/a.jpg", "post/b.png");
+    }
+
+    @DisplayName("만료된 업로드 정리 - leader 가 아니면 건너뜀")
+    @Test
+    void testDeleteExpiredUploadsSkippedWhenNotLeader() {
+        // given
+        given(redisUtil.setDataIfAbsent(anyString(), anyString(), anyLong())).willReturn(false);
+
+        // when
+        presignedUploadService.deleteExpiredUploads();
+
+        // then
+        then(redisUtil).should(never()).getZSetRangeByScore(anyString(), anyDouble(), anyDouble(), anyLong());
+        then(attachmentDeleteQueue).shouldHaveNoInteractions();
+    }
+}
@@ -0,0 +1,92 @@
+package com.community.soob.service;
+
+import com.community.soob.account.domain.Account;
+import com.community.soob.account.domain.Role;
+import com.community.soob.account.domain.UserAccount;
+import com.community.soob.account.service.PrincipalCache;
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+public class PrincipalCacheTest {
+    private static final String EMAIL = "test@test.com";
+
+    @Mock private RedisUtil redisUtil;
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private AtomicInteger loadCount;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.principalCache = new PrincipalCache(redisUtil, meterRegistry, 100, 30);
+        this.loadCount = new AtomicInteger();
+    }
+
+    private UserAccount load(String email) {
+        loadCount.incrementAndGet();
+        return new UserAccount(Account.builder()
+                .id(2L)
+                .email(email)
+                .password("$2a$10$2H.qwzvH9zq4NrqrGJWdZOVZ4nrx3rfgEqnKvK98fWvaop0ceVtt2")
+                .nickname("test")
+                .levelPoint(50)
+                .role(Role.LEVEL_1)
+                .build());
+    }
+
+    @DisplayName("인증 정보 캐시 성공 - 캐시된 인증 정보는 다시 조회하지 않음")
+    @Test
+    void testGetSuccessFromCache() {
+        // when
+        principalCache.get(EMAIL, this::load);
+        principalCache.get(EMAIL, this::load);
+
+        // then
+        assertEquals(1, loadCount.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "account.principal").tag("result", "hit").functionCounter().count());
+    }
+
+    @DisplayName("인증 정보 캐시 삭제 성공 - 트랜잭션 밖에서는 바로 삭제하고 다른 노드에 알림")
+    @Test
+    void testEvictSuccess() {
+        // given
+        principalCache.get(EMAIL, this::load);
+
+        // when
+        principalCache.evict(EMAIL);
+        principalCache.get(EMAIL, this::load);
+
+        // then
+        assertEquals(2, loadCount.get());
+        then(redisUtil).should().publish(PrincipalCache.EVICT_CHANNEL, EMAIL);
+    }
+
+    @DisplayName("인증 정보 캐시 삭제 성공 - 다른 노드의 삭제 알림을 받으면 삭제")
+    @Test
+    void testOnMessageSuccess() {
+        // given
+        principalCache.get(EMAIL, this::load);
+
+        // when
+        principalCache.onMessage(new DefaultMessage(
+                PrincipalCache.EVICT_CHANNEL.getBytes(StandardCharsets.UTF_8), EMAIL.getBytes(StandardCharsets.UTF_8)), null);
+        principalCache.get(EMAIL, this::load);
+
+        // then
+        assertEquals(2, loadCount.get());
+    }
+}
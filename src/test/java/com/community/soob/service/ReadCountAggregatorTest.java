@@ -0,0 +1,111 @@
+package com.community.soob.service;
+
+import com.community.soob.post.service.ReadCountAggregator;
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadCountAggregatorTest {
+    @Mock private RedisUtil redisUtil;
+    private ReadCountAggregator readCountAggregator;
+
+    @BeforeEach
+    void setUp() {
+        this.readCountAggregator = new ReadCountAggregator(redisUtil, new SimpleMeterRegistry(), 600);
+    }
+
+    @DisplayName("조회수 증가 성공 - dedup window 안의 중복 조회는 세지 않음")
+    @Test
+    void testIncreaseSuccessIgnoresDuplicatedView() {
+        // given
+        given(redisUtil.setDataIfAbsent(eq("post:viewed:1:account:2"), anyString(), anyLong()))
+                .willReturn(true, false);
+
+        // when
+        readCountAggregator.increase(1L, "account:2");
+        readCountAggregator.increase(1L, "account:2");
+
+        // then
+        assertEquals(1, readCountAggregator.getPendingTotal());
+    }
+
+    @DisplayName("조회수 flush 성공 - 게시글별로 합산하여 한번에 반영")
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFlushSuccess() {
+        // given
+        readCountAggregator.increase(1L, null);
+        readCountAggregator.increase(1L, null);
+        readCountAggregator.increase(2L, null);
+
+        // when
+        readCountAggregator.flush();
+
+        // then
+        ArgumentCaptor<Map<String, Long>> deltasCaptor = ArgumentCaptor.forClass(Map.class);
+        then(redisUtil).should().incrementHashData(eq(ReadCountAggregator.READ_COUNT_KEY), deltasCaptor.capture());
+
+        assertEquals(Map.of("1", 2L, "2", 1L), deltasCaptor.getValue());
+        assertEquals(0, readCountAggregator.getPendingTotal());
+    }
+
+    @DisplayName("조회수 flush 성공 - 쌓인 조회수가 없으면 반영하지 않음")
+    @Test
+    void testFlushSuccessWithoutPendingCount() {
+        // when
+        readCountAggregator.flush();
+
+        // then
+        then(redisUtil).should(never()).incrementHashData(anyString(), anyMap());
+    }
+
+    @DisplayName("조회수 flush 실패 - 반영 실패시 조회수 유지")
+    @Test
+    void testFlushFailureKeepsPendingCount() {
+        // given
+        readCountAggregator.increase(1L, null);
+        readCountAggregator.increase(1L, null);
+        willThrow(new RedisConnectionFailureException("connection refused"))
+                .given(redisUtil).incrementHashData(anyString(), anyMap());
+
+        // when
+        readCountAggregator.flush();
+
+        // then
+        assertEquals(2, readCountAggregator.getPendingTotal());
+    }
+
+    @DisplayName("미반영 조회수 조회 성공 - 이 노드와 Redis 의 조회수를 합산")
+    @Test
+    void testGetPendingCountSuccess() {
+        // given
+        readCountAggregator.increase(1L, null);
+        given(redisUtil.getHashData(ReadCountAggregator.READ_COUNT_KEY, "1")).willReturn("4");
+
+        // when
+        long pendingCount = readCountAggregator.getPendingCount(1L);
+
+        // then
+        assertEquals(5, pendingCount);
+    }
+}
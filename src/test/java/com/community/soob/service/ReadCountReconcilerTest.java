@@ -0,0 +1,98 @@
+package com.community.soob.service;
+
+import com.community.soob.post.service.PostCache;
+import com.community.soob.post.service.ReadCountAggregator;
+import com.community.soob.post.service.ReadCountReconciler;
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadCountReconcilerTest {
+    @Mock private RedisUtil redisUtil;
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PostCache postCache;
+    private ReadCountReconciler readCountReconciler;
+
+    @BeforeEach
+    void setUp() {
+        this.readCountReconciler = new ReadCountReconciler(redisUtil, jdbcTemplate, postCache, new SimpleMeterRegistry(), 60000);
+    }
+
+    @DisplayName("조회수 DB 반영 성공 - leader 노드가 Redis 의 조회수를 한번에 반영")
+    @SuppressWarnings("unchecked")
+    @Test
+    void testReconcileSuccess() {
+        // given
+        given(redisUtil.setDataIfAbsent(anyString(), anyString(), anyLong())).willReturn(true);
+        given(redisUtil.getHashEntries(ReadCountAggregator.READ_COUNT_KEY)).willReturn(Map.of("1", "3", "2", "5"));
+
+        // when
+        readCountReconciler.reconcile();
+
+        // then
+        then(redisUtil).should().executeScript(any(), eq(List.of(ReadCountAggregator.READ_COUNT_KEY)), any());
+
+        ArgumentCaptor<List<Object[]>> batchArgsCaptor = ArgumentCaptor.forClass(List.class);
+        then(jdbcTemplate).should().batchUpdate(anyString(), batchArgsCaptor.capture());
+        assertEquals(8L, batchArgsCaptor.getValue().stream().mapToLong(args -> (Long) args[0]).sum());
+
+        ArgumentCaptor<Collection<Long>> evictedCaptor = ArgumentCaptor.forClass(Collection.class);
+        then(postCache).should().evictAll(evictedCaptor.capture());
+        assertEquals(Set.of(1L, 2L), new HashSet<>(evictedCaptor.getValue()));
+    }
+
+    @DisplayName("조회수 DB 반영 실패 - leader 가 아니면 반영하지 않음")
+    @Test
+    void testReconcileFailureByNotLeader() {
+        // given
+        given(redisUtil.setDataIfAbsent(anyString(), anyString(), anyLong())).willReturn(false);
+        given(redisUtil.getData(anyString())).willReturn("other-node");
+
+        // when
+        readCountReconciler.reconcile();
+
+        // then
+        then(redisUtil).should(never()).getHashEntries(anyString());
+        then(jdbcTemplate).should(never()).batchUpdate(anyString(), anyList());
+    }
+
+    @DisplayName("조회수 DB 반영 실패 - DB 반영 실패시 Redis 에 되돌림")
+    @Test
+    void testReconcileFailureRestoresRedis() {
+        // given
+        given(redisUtil.setDataIfAbsent(anyString(), anyString(), anyLong())).willReturn(true);
+        given(redisUtil.getHashEntries(ReadCountAggregator.READ_COUNT_KEY)).willReturn(Map.of("1", "3"));
+        given(jdbcTemplate.batchUpdate(anyString(), anyList())).willThrow(new QueryTimeoutException("timeout"));
+
+        // when
+        readCountReconciler.reconcile();
+
+        // then
+        then(redisUtil).should().incrementHashData(ReadCountAggregator.READ_COUNT_KEY, Map.of("1", 3L));
+    }
+}
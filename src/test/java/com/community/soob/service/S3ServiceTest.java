@@ -0,0 +1,142 @@
+package com.community.soob.service;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.AnonymousAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import com.community.soob.attachment.S3Service;
+import io.findify.s3mock.S3Mock;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+
+// 로컬 S3 호환 서버(findify s3mock)로 올린다
+public class S3ServiceTest {
+    private static final int PORT = 18001;
+    private static final String BUCKET = "test-bucket";
+    private static final long MULTIPART_THRESHOLD = 6 * 1024 * 1024;
+
+    private static S3Mock s3Mock;
+    private static AmazonS3 s3Client;
+    private static TransferManager transferManager;
+    private S3Service s3Service;
+
+    @BeforeAll
+    static void startS3() {
+        s3Mock = new S3Mock.Builder().withPort(PORT).withInMemoryBackend().build();
+        s3Mock.start();
+        s3Client = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(new AnonymousAWSCredentials()))
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration("http://127.0.0.1:" + PORT, "ap-northeast-2"))
+                .withPathStyleAccessEnabled(true)
+                .build();
+        s3Client.createBucket(BUCKET);
+        transferManager = TransferManagerBuilder.standard()
+                .withS3Client(s3Client)
+                .withMultipartUploadThreshold(MULTIPART_THRESHOLD)
+                .withMinimumUploadPartSize(5L * 1024 * 1024)
+                .build();
+    }
+
+    @AfterAll
+    static void stopS3() {
+        transferManager.shutdownNow();
+        s3Mock.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        this.s3Service = new S3Service(s3Client, transferManager, BUCKET, MULTIPART_THRESHOLD);
+    }
+
+    private byte[] createContent(int size) {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return content;
+    }
+
+    @DisplayName("파일 업로드 성공 - content length 와 content type 을 함께 저장")
+    @Test
+    void testUploadSuccess() throws IOException {
+        // given
+        byte[] content = createContent(1024);
+
+        // when
+        s3Service.upload(content, "image/jpeg", "post/image.jpg");
+
+        // then
+        assertEquals(1024, s3Client.getObjectMetadata(BUCKET, "post/image.jpg").getContentLength());
+        assertEquals("image/jpeg", s3Client.getObjectMetadata(BUCKET, "post/image.jpg").getContentType());
+        assertArrayEquals(content, StreamUtils.copyToByteArray(s3Client.getObject(BUCKET, "post/image.jpg").getObjectContent()));
+    }
+
+    @DisplayName("파일 업로드 성공 - 큰 파일은 multipart 로 올림")
+    @Test
+    void testUploadSuccessWithMultipart() throws IOException {
+        // given
+        byte[] content = createContent(12 * 1024 * 1024);
+
+        // when
+        s3Service.upload(content, "image/jpeg", "post/large.jpg");
+
+        // then
+        assertArrayEquals(content, StreamUtils.copyToByteArray(s3Client.getObject(BUCKET, "post/large.jpg").getObjectContent()));
+    }
+
+    @DisplayName("파일 삭제 성공")
+    @Test
+    void testDeleteSuccess() {
+        // given
+        s3Service.upload(createContent(10), "image/jpeg", "post/deleted.jpg");
+
+        // when
+        s3Service.delete("post/deleted.jpg");
+
+        // then
+        assertFalse(s3Client.doesObjectExist(BUCKET, "post/deleted.jpg"));
+    }
+
+    @DisplayName("여러 파일 삭제 성공 - 1,000 개씩 나눠서 한번에 지움")
+    @Test
+    void testDeleteAllSuccess() {
+        // given
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            keys.add("post/bulk-" + i + ".jpg");
+        }
+        keys.forEach(key -> s3Client.putObject(BUCKET, key, "content"));
+        AmazonS3 spyClient = spy(s3Client);
+        S3Service spyS3Service = new S3Service(spyClient, transferManager, BUCKET, MULTIPART_THRESHOLD);
+
+        // when
+        List<String> failedKeys = spyS3Service.deleteAll(keys);
+
+        // then
+        assertTrue(failedKeys.isEmpty());
+        then(spyClient).should(times(2)).deleteObjects(any());
+        then(spyClient).should(never()).doesObjectExist(anyString(), anyString());
+        assertTrue(s3Client.listObjects(BUCKET, "post/bulk-").getObjectSummaries().isEmpty());
+    }
+}
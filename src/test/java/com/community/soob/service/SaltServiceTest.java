@@ -0,0 +1,58 @@
+package com.community.soob.service;
+
+import com.community.soob.account.exception.PasswordHashBusyException;
+import com.community.soob.account.service.SaltService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SaltServiceTest {
+    @DisplayName("비밀번호 해시 성공 - 설정한 cost 로 해시하고 hash thread 에서 확인")
+    @Test
+    void testEncodePasswordAndMatchesSuccess() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SaltService saltService = new SaltService(meterRegistry, 5, 1, 10, 1);
+
+        // when
+        String encodedPassword = saltService.encodePassword(saltService.genSalt(), "password1!");
+
+        // then
+        assertTrue(encodedPassword.startsWith("$2a$05$"));
+        assertTrue(saltService.matches("password1!", encodedPassword));
+        assertFalse(saltService.needsRehash(encodedPassword));
+        assertTrue(new SaltService(meterRegistry, 6, 1, 10, 1).needsRehash(encodedPassword));
+        assertEquals(1, meterRegistry.get("account.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @DisplayName("비밀번호 해시 실패 - 대기열이 가득 차면 기다리지 않고 거절")
+    @Test
+    void testMatchesAsyncFailureByFullQueue() throws InterruptedException {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SaltService saltService = new SaltService(meterRegistry, 12, 1, 1, 3);
+        String encodedPassword = saltService.encodePassword(saltService.genSalt(), "password1!");
+        CompletableFuture<Boolean> running = saltService.matchesAsync("password1!", encodedPassword);
+        // hash thread 가 첫번째 요청을 가져갈 때까지 대기
+        while (meterRegistry.get("account.password.hash.queue.depth").gauge().value() > 0) {
+            Thread.sleep(1);
+        }
+        CompletableFuture<Boolean> queued = saltService.matchesAsync("password1!", encodedPassword);
+
+        // when
+        PasswordHashBusyException e = assertThrows(PasswordHashBusyException.class,
+                () -> saltService.matchesAsync("password1!", encodedPassword));
+
+        // then
+        assertEquals(3, e.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("account.password.hash.rejected").counter().count());
+        assertTrue(running.join() && queued.join());
+    }
+}
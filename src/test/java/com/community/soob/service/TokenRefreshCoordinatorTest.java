@@ -0,0 +1,174 @@
+package com.community.soob.service;
+
+import com.community.soob.account.service.TokenRefreshCoordinator;
+import com.community.soob.account.service.TokenRefreshCoordinator.RefreshedTokens;
+import com.community.soob.util.JwtUtil;
+import com.community.soob.util.RedisUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRefreshCoordinatorTest {
+    private static final String EMAIL = "test@test.com";
+
+    @Mock private RedisUtil redisUtil;
+    private final JwtUtil jwtUtil = new JwtUtil("test-secret-key-test-secret-key-0123456789");
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRefreshCoordinator tokenRefreshCoordinator;
+    private String refreshJwt;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.tokenRefreshCoordinator = new TokenRefreshCoordinator(jwtUtil, redisUtil, meterRegistry, 5, 10);
+        this.refreshJwt = jwtUtil.generateRefreshToken(EMAIL);
+    }
+
+    private double suppressedCount(String scope) {
+        return meterRegistry.get("account.token.refresh.suppressed").tag("scope", scope).counter().count();
+    }
+
+    @DisplayName("토큰 재발급 성공 - refresh token 도 새로 발급하고 이전 refresh token 은 삭제")
+    @Test
+    void testRefreshSuccess() {
+        // given
+        given(redisUtil.getData(startsWith("account:refresh:result:"))).willReturn(null);
+        given(redisUtil.setDataIfAbsent(startsWith("account:refresh:lock:"), anyString(), anyLong())).willReturn(true);
+        given(redisUtil.getData(refreshJwt)).willReturn(EMAIL);
+
+        // when
+        Optional<RefreshedTokens> refreshedTokens = tokenRefreshCoordinator.refresh(refreshJwt);
+
+        // then
+        assertTrue(refreshedTokens.isPresent());
+        assertEquals(EMAIL, jwtUtil.getAccountEmail(refreshedTokens.get().getAccessToken()));
+        assertNotEquals(refreshJwt, refreshedTokens.get().getRefreshToken());
+        then(redisUtil).should().setDataExpire(refreshedTokens.get().getRefreshToken(), EMAIL, JwtUtil.REFRESH_TOKEN_VALIDATION_SECOND);
+        then(redisUtil).should().setDataExpire(startsWith("account:refresh:result:"), anyString(), eq(10L));
+        then(redisUtil).should().deleteData(refreshJwt);
+        assertEquals(1, meterRegistry.get("account.token.refresh.issued").counter().count());
+    }
+
+    @DisplayName("토큰 재발급 성공 - 동시에 만료된 요청은 진행 중인 재발급 결과를 같이 사용")
+    @Test
+    void testRefreshSuccessWithConcurrentRequests() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        given(redisUtil.getData(startsWith("account:refresh:result:"))).willReturn(null);
+        given(redisUtil.setDataIfAbsent(startsWith("account:refresh:lock:"), anyString(), anyLong())).willReturn(true);
+        given(redisUtil.getData(refreshJwt)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return EMAIL;
+        });
+
+        // when
+        CompletableFuture<Optional<RefreshedTokens>> first = CompletableFuture.supplyAsync(() -> tokenRefreshCoordinator.refresh(refreshJwt));
+        then(redisUtil).should(timeout(5000)).getData(refreshJwt);
+        CompletableFuture<Optional<RefreshedTokens>> second = CompletableFuture.supplyAsync(() -> tokenRefreshCoordinator.refresh(refreshJwt));
+        while (suppressedCount("local") == 0) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        // then
+        assertSame(first.get(5, TimeUnit.SECONDS).get(), second.get(5, TimeUnit.SECONDS).get());
+        then(redisUtil).should(times(1)).setDataIfAbsent(anyString(), anyString(), anyLong());
+        assertEquals(1, meterRegistry.get("account.token.refresh.issued").counter().count());
+    }
+
+    @DisplayName("토큰 재발급 성공 - 다른 노드가 재발급한 결과를 사용")
+    @Test
+    void testRefreshSuccessWithRemoteResult() {
+        // given
+        String accessToken = jwtUtil.generateToken(EMAIL);
+        String newRefreshJwt = jwtUtil.generateRefreshToken(EMAIL);
+        given(redisUtil.getData(startsWith("account:refresh:result:"))).willReturn(String.join("\n", EMAIL, accessToken, newRefreshJwt));
+
+        // when
+        Optional<RefreshedTokens> refreshedTokens = tokenRefreshCoordinator.refresh(refreshJwt);
+
+        // then
+        assertEquals(accessToken, refreshedTokens.get().getAccessToken());
+        assertEquals(newRefreshJwt, refreshedTokens.get().getRefreshToken());
+        then(redisUtil).should(never()).setDataIfAbsent(anyString(), anyString(), anyLong());
+        assertEquals(1, suppressedCount("remote"));
+    }
+
+    @DisplayName("토큰 재발급 실패 - Redis 에서 삭제된 refresh token")
+    @Test
+    void testRefreshFailureByDeletedRefreshToken() {
+        // given
+        given(redisUtil.setDataIfAbsent(startsWith("account:refresh:lock:"), anyString(), anyLong())).willReturn(true);
+
+        // when
+        Optional<RefreshedTokens> refreshedTokens = tokenRefreshCoordinator.refresh(refreshJwt);
+
+        // then
+        assertFalse(refreshedTokens.isPresent());
+        then(redisUtil).should(never()).deleteData(anyString());
+        then(redisUtil).should().executeScript(any(), eq(List.of("account:refresh:lock:" + JwtUtil.digest(refreshJwt))), any());
+    }
+
+    @DisplayName("토큰 재발급 실패 - 재발급 중 오류가 나도 lock 을 바로 품")
+    @Test
+    void testRefreshFailureReleasesLockOnError() {
+        // given
+        given(redisUtil.setDataIfAbsent(startsWith("account:refresh:lock:"), anyString(), anyLong())).willReturn(true);
+        willThrow(new IllegalStateException("redis")).given(redisUtil).setDataExpire(anyString(), anyString(), anyLong());
+        given(redisUtil.getData(anyString())).willReturn(null);
+        given(redisUtil.getData(refreshJwt)).willReturn(EMAIL);
+
+        // when
+        Optional<RefreshedTokens> refreshedTokens = tokenRefreshCoordinator.refresh(refreshJwt);
+
+        // then
+        assertFalse(refreshedTokens.isPresent());
+        then(redisUtil).should().executeScript(any(), eq(List.of("account:refresh:lock:" + JwtUtil.digest(refreshJwt))), any());
+    }
+
+    @DisplayName("토큰 재발급 실패 - 다른 노드가 삭제된 refresh token 으로 재발급에 실패하면 lock-ttl 동안 기다리지 않음")
+    @Test
+    void testRefreshFailureReturnsQuicklyWhenLockReleased() {
+        // given
+        given(redisUtil.getData(startsWith("account:refresh:result:"))).willReturn(null);
+        given(redisUtil.setDataIfAbsent(startsWith("account:refresh:lock:"), anyString(), anyLong())).willReturn(false);
+        given(redisUtil.getData(startsWith("account:refresh:lock:"))).willReturn(null);
+
+        // when
+        long startedAt = System.currentTimeMillis();
+        Optional<RefreshedTokens> refreshedTokens = tokenRefreshCoordinator.refresh(refreshJwt);
+
+        // then
+        assertFalse(refreshedTokens.isPresent());
+        assertTrue(System.currentTimeMillis() - startedAt < 1000);
+        then(redisUtil).should(never()).getData(refreshJwt);
+    }
+}
@@ -0,0 +1,109 @@
+package com.community.soob.service;
+
+import com.community.soob.account.exception.RevokedTokenException;
+import com.community.soob.account.service.VerifiedTokenCache;
+import com.community.soob.util.JwtUtil;
+import com.community.soob.util.RedisUtil;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class VerifiedTokenCacheTest {
+    private static final String EMAIL = "test@test.com";
+
+    @Mock private RedisUtil redisUtil;
+    private JwtUtil jwtUtil;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        this.jwtUtil = spy(new JwtUtil("test-secret-key-test-secret-key-0123456789"));
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.verifiedTokenCache = new VerifiedTokenCache(jwtUtil, redisUtil, meterRegistry, 100);
+    }
+
+    @DisplayName("토큰 검사 성공 - 캐시된 토큰은 다시 파싱하지 않음")
+    @Test
+    void testVerifySuccessFromCache() {
+        // given
+        String token = jwtUtil.generateToken(EMAIL);
+
+        // when
+        verifiedTokenCache.verify(token);
+        String accountEmail = verifiedTokenCache.verify(token).getAccountEmail();
+
+        // then
+        assertEquals(EMAIL, accountEmail);
+        then(jwtUtil).should(times(1)).verify(token);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "account.token").tag("result", "hit").functionCounter().count());
+    }
+
+    @DisplayName("토큰 검사 실패 - 만료된 토큰은 캐시하지 않고 ExpiredJwtException")
+    @Test
+    void testVerifyFailureByExpiredToken() {
+        // given
+        String token = jwtUtil.doGenerateToken(EMAIL, -1000L);
+
+        // when
+        // then
+        assertThrows(ExpiredJwtException.class, () -> verifiedTokenCache.verify(token));
+        assertThrows(ExpiredJwtException.class, () -> verifiedTokenCache.verify(token));
+        then(jwtUtil).should(times(2)).verify(token);
+    }
+
+    @DisplayName("토큰 검사 실패 - 폐기된 토큰은 캐시되어 있어도 사용할 수 없고, 다른 노드에는 digest 만 알림")
+    @Test
+    void testVerifyFailureByRevokedToken() {
+        // given
+        String token = jwtUtil.generateToken(EMAIL);
+        verifiedTokenCache.verify(token);
+
+        // when
+        verifiedTokenCache.revoke(token);
+
+        // then
+        assertThrows(RevokedTokenException.class, () -> verifiedTokenCache.verify(token));
+
+        ArgumentCaptor<String> digestCaptor = ArgumentCaptor.forClass(String.class);
+        then(redisUtil).should().publish(eq(VerifiedTokenCache.REVOKE_CHANNEL), digestCaptor.capture());
+        assertFalse(token.contains(digestCaptor.getValue()));
+    }
+
+    @DisplayName("토큰 검사 실패 - 다른 노드의 폐기 알림을 받은 토큰")
+    @Test
+    void testVerifyFailureByRevokedMessage() {
+        // given
+        String token = jwtUtil.generateToken(EMAIL);
+        VerifiedTokenCache otherNode = new VerifiedTokenCache(jwtUtil, redisUtil, new SimpleMeterRegistry(), 100);
+        otherNode.revoke(token);
+
+        ArgumentCaptor<String> digestCaptor = ArgumentCaptor.forClass(String.class);
+        then(redisUtil).should().publish(eq(VerifiedTokenCache.REVOKE_CHANNEL), digestCaptor.capture());
+
+        // when
+        verifiedTokenCache.onMessage(new DefaultMessage(
+                VerifiedTokenCache.REVOKE_CHANNEL.getBytes(StandardCharsets.UTF_8), digestCaptor.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        assertThrows(RevokedTokenException.class, () -> verifiedTokenCache.verify(token));
+    }
+}